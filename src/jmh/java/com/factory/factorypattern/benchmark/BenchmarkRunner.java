@@ -0,0 +1,183 @@
+package com.factory.factorypattern.benchmark;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 🏁 Benchmark runner (Main-Class of target/benchmarks.jar)
+ *
+ * Runs the selected benchmarks once per thread count, writes the scores to a
+ * CSV file and compares them with a saved baseline.
+ *
+ * Each CSV starts with a "# machine:" line (cores, OS, JVM) so a baseline says
+ * where it was recorded; comparing runs from different machines is flagged.
+ * Thread counts above the core count only measure time slicing - average
+ * times grow with the thread count - so they are skipped by default and
+ * warned about when asked for.
+ *
+ * System properties:
+ * - bench.threads: comma-separated thread counts (default 1,2,4,8 up to the core count)
+ * - bench.results: results CSV (default target/benchmarks/results.csv)
+ * - bench.baseline: baseline CSV (default benchmarks/baseline.csv)
+ * - bench.tolerance: allowed slowdown before a result is flagged (default 0.10)
+ * - bench.saveBaseline: true to overwrite the baseline with this run
+ *
+ * Any regular JMH arguments (include pattern, -wi, -i, -f, ...) are passed through.
+ */
+public final class BenchmarkRunner {
+
+    private static final String HEADER = "benchmark,threads,mode,score,error,unit";
+    private static final String MACHINE = "# machine: ";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, IOException, CommandLineOptionException {
+        Options commandLine = new CommandLineOptions(args);
+        Path resultsFile = Paths.get(System.getProperty("bench.results", "target/benchmarks/results.csv"));
+        Path baselineFile = Paths.get(System.getProperty("bench.baseline", "benchmarks/baseline.csv"));
+        double tolerance = Double.parseDouble(System.getProperty("bench.tolerance", "0.10"));
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        String machine = machine();
+        System.out.println("🖥️ " + machine);
+
+        List<String> rows = new ArrayList<>();
+        rows.add(MACHINE + machine);
+        rows.add(HEADER);
+        for (int threads : threadCounts(System.getProperty("bench.threads"), cores)) {
+            if (threads > cores) {
+                System.out.println("⚠️ " + threads + " threads on " + cores + " cores: scores measure time slicing, not scaling");
+            }
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .build();
+            for (RunResult run : new Runner(options).run()) {
+                Result<?> result = run.getPrimaryResult();
+                rows.add(String.format(Locale.ROOT, "%s,%d,%s,%.3f,%.3f,%s",
+                        shortName(run.getParams().getBenchmark()),
+                        run.getParams().getThreads(),
+                        run.getParams().getMode().shortLabel(),
+                        result.getScore(),
+                        result.getScoreError(),
+                        result.getScoreUnit()));
+            }
+        }
+
+        Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        Files.write(resultsFile, rows);
+        System.out.println("📄 Results written to " + resultsFile);
+
+        if (Files.exists(baselineFile)) {
+            String recordedOn = machineOf(baselineFile);
+            if (!machine.equals(recordedOn)) {
+                System.out.println("⚠️ Baseline was recorded on another machine (" + recordedOn + ")");
+            }
+            compare(read(baselineFile), read(resultsFile), tolerance);
+        }
+        if (Boolean.getBoolean("bench.saveBaseline")) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.write(baselineFile, rows);
+            System.out.println("💾 Baseline saved to " + baselineFile);
+        }
+    }
+
+    /**
+     * Explicit thread counts as given, else 1,2,4,8 up to the core count
+     */
+    private static List<Integer> threadCounts(String requested, int cores) {
+        List<Integer> counts = new ArrayList<>();
+        if (requested != null) {
+            for (String threads : requested.split(",")) {
+                counts.add(Integer.parseInt(threads.trim()));
+            }
+            return counts;
+        }
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            if (threads == 1 || threads <= cores) {
+                counts.add(threads);
+            }
+        }
+        return counts;
+    }
+
+    private static String machine() {
+        return String.format(Locale.ROOT, "%d cores, %s %s, %s %s",
+                Runtime.getRuntime().availableProcessors(),
+                System.getProperty("os.name"),
+                System.getProperty("os.arch"),
+                System.getProperty("java.vm.name"),
+                System.getProperty("java.version"));
+    }
+
+    /**
+     * The machine line of a CSV, or "unknown" for files written before it was recorded
+     */
+    private static String machineOf(Path csv) throws IOException {
+        for (String line : Files.readAllLines(csv)) {
+            if (line.startsWith(MACHINE)) {
+                return line.substring(MACHINE.length());
+            }
+        }
+        return "unknown";
+    }
+
+    private static String shortName(String benchmark) {
+        String prefix = BenchmarkRunner.class.getPackageName() + ".";
+        return benchmark.startsWith(prefix) ? benchmark.substring(prefix.length()) : benchmark;
+    }
+
+    /**
+     * benchmark@threads -> score
+     */
+    private static Map<String, Double> read(Path csv) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(csv)) {
+            if (line.isBlank() || line.startsWith("#") || line.equals(HEADER)) {
+                continue;
+            }
+            String[] columns = line.split(",");
+            scores.put(columns[0] + "@" + columns[1], Double.parseDouble(columns[3]));
+        }
+        return scores;
+    }
+
+    /**
+     * Scores are average times, so a higher score is a slowdown
+     */
+    private static void compare(Map<String, Double> baseline, Map<String, Double> current, double tolerance) {
+        System.out.println("📊 Comparison with baseline (tolerance " + Math.round(tolerance * 100) + "%)");
+        int regressions = 0;
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double previous = baseline.get(entry.getKey());
+            if (previous == null || previous == 0.0) {
+                System.out.printf(Locale.ROOT, "   %-55s %12.3f   (no baseline)%n", entry.getKey(), entry.getValue());
+                continue;
+            }
+            double change = (entry.getValue() - previous) / previous;
+            boolean regressed = change > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%s %-55s %12.3f -> %12.3f  %+7.1f%%%n",
+                    regressed ? "❌" : "  ", entry.getKey(), previous, entry.getValue(), change * 100);
+        }
+        System.out.println(regressions == 0 ? "✅ No regressions" : "⚠️ Regressions: " + regressions);
+    }
+}
@@ -0,0 +1,77 @@
+package com.factory.factorypattern.benchmark;
+
+import com.factory.factorypattern.journal.JournalRecord;
+import com.factory.factorypattern.journal.PayoutJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 🏁 Payout journal append benchmarks
+ *
+ * - append: cost on the request thread (copy into the mapped segment)
+ * - appendDurable: append and wait for the group commit; with more threads
+ *   each fsync covers more appends. Aggregate rate = threads / average time,
+ *   e.g. 8 threads at 160µs each is 50k durable appends/s
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    // Roughly the size of a serialized PayoutRequest
+    private static final byte[] PAYLOAD = ("{\"payoutMethod\":\"mobile_wallet\",\"destinationCountry\":\"philippines\"," +
+            "\"amount\":1000,\"currency\":\"PHP\",\"recipientName\":\"Juan Dela Cruz\"," +
+            "\"recipientPhone\":\"+639171234567\",\"purpose\":\"Family support\"}").getBytes(StandardCharsets.UTF_8);
+
+    private Path directory;
+    private PayoutJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = new PayoutJournal(new ObjectMapper(), true, directory.toString(), 64, 1_000_000, 168, 720);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public CompletableFuture<JournalRecord> append() {
+        return journal.append(JournalRecord.Type.REQUEST, 0, PAYLOAD);
+    }
+
+    @Benchmark
+    public JournalRecord appendDurable() {
+        return journal.append(JournalRecord.Type.REQUEST, 0, PAYLOAD).join();
+    }
+}
@@ -0,0 +1,67 @@
+package com.factory.factorypattern.benchmark;
+
+import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.metrics.PayoutMetrics;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.BankTransferProcessor;
+import com.factory.factorypattern.service.GCashProcessor;
+import com.factory.factorypattern.service.PaytmProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🏁 Micrometer instrumentation overhead benchmarks
+ *
+ * The per-request instrumentation (route resolution + recordOutcome) with and
+ * without meters; the difference between the two is the overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private PayoutMethodFactory plain;
+    private PayoutMethodFactory instrumented;
+    private PayoutResponse response;
+
+    @Setup
+    public void setUp() {
+        List<PayoutProcessor> processors = List.of(new GCashProcessor(), new PaytmProcessor(), new BankTransferProcessor());
+        plain = new PayoutMethodFactory(processors);
+        instrumented = new PayoutMethodFactory(processors, new PayoutMetrics(new SimpleMeterRegistry(), processors));
+        response = PayoutResponse.success("GC1", "GCash Philippines", BigDecimal.TEN);
+    }
+
+    @Benchmark
+    public PayoutProcessor plainRequestPath() {
+        return requestPath(plain);
+    }
+
+    @Benchmark
+    public PayoutProcessor instrumentedRequestPath() {
+        return requestPath(instrumented);
+    }
+
+    private PayoutProcessor requestPath(PayoutMethodFactory factory) {
+        PayoutProcessor processor = factory.resolve("mobile_wallet", "ph").getProcessor();
+        factory.recordOutcome(processor, 1_000_000, response);
+        return processor;
+    }
+}
@@ -0,0 +1,85 @@
+package com.factory.factorypattern.benchmark;
+
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.GCashProcessor;
+import com.factory.factorypattern.service.PaytmProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🏁 Processor validation benchmarks (GCash / Paytm phone checks)
+ *
+ * Validation is private to each processor, so it is measured through
+ * processTransfer with requests that are rejected before the simulated
+ * provider call:
+ * - invalidPhone: fails on the phone pattern
+ * - validPhone: passes the phone pattern, then fails on the amount limit
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessorValidationBenchmark {
+
+    private final GCashProcessor gCashProcessor = new GCashProcessor();
+    private final PaytmProcessor paytmProcessor = new PaytmProcessor();
+
+    private PayoutRequest gCashValidPhone;
+    private PayoutRequest gCashInvalidPhone;
+    private PayoutRequest paytmValidPhone;
+    private PayoutRequest paytmInvalidPhone;
+
+    @Setup
+    public void setUp() {
+        gCashValidPhone = request("+639171234567", "mobile_wallet", "philippines", "PHP", "60000");
+        gCashInvalidPhone = request("12345", "mobile_wallet", "philippines", "PHP", "1000");
+        paytmValidPhone = request("+919876543210", "mobile_wallet", "india", "INR", "150000");
+        paytmInvalidPhone = request("+911234567890", "mobile_wallet", "india", "INR", "1000");
+    }
+
+    @Benchmark
+    public PayoutResponse gCashValidPhone() {
+        return gCashProcessor.processTransfer(gCashValidPhone);
+    }
+
+    @Benchmark
+    public PayoutResponse gCashInvalidPhone() {
+        return gCashProcessor.processTransfer(gCashInvalidPhone);
+    }
+
+    @Benchmark
+    public PayoutResponse paytmValidPhone() {
+        return paytmProcessor.processTransfer(paytmValidPhone);
+    }
+
+    @Benchmark
+    public PayoutResponse paytmInvalidPhone() {
+        return paytmProcessor.processTransfer(paytmInvalidPhone);
+    }
+
+    private static PayoutRequest request(String phone, String method, String country,
+                                         String currency, String amount) {
+        PayoutRequest request = new PayoutRequest();
+        request.setRecipientName("Benchmark Recipient");
+        request.setRecipientPhone(phone);
+        request.setPayoutMethod(method);
+        request.setDestinationCountry(country);
+        request.setCurrency(currency);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
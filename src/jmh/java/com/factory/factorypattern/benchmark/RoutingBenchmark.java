@@ -0,0 +1,98 @@
+package com.factory.factorypattern.benchmark;
+
+import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.factory.RouteResolution;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.service.BankTransferProcessor;
+import com.factory.factorypattern.service.GCashProcessor;
+import com.factory.factorypattern.service.PaytmProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🏁 Factory routing benchmarks
+ *
+ * Every thread cycles through its own list of inputs so the JIT cannot fold a
+ * single constant lookup. Thread counts are swept by BenchmarkRunner.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoutingBenchmark {
+
+    private static final String[][] HITS = {
+            {"mobile_wallet", "philippines"},
+            {"mobile_wallet", "IN"},
+            {"bank_transfer", "Bangladesh"},
+            {"wire_transfer", "LKA"},
+            {"bank_transfer", " sri lanka "}
+    };
+
+    private static final String[][] MISSES = {
+            {"cash_pickup", "philippines"},
+            {"mobile_wallet", "nepal"},
+            {"crypto", "india"},
+            {"bank_transfer", "atlantis"},
+            {"", null}
+    };
+
+    private PayoutMethodFactory payoutFactory;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) % HITS.length;
+            return next;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        payoutFactory = new PayoutMethodFactory(
+                List.of(new GCashProcessor(), new PaytmProcessor(), new BankTransferProcessor()));
+    }
+
+    @Benchmark
+    public PayoutProcessor createProcessorHit(Cursor cursor) {
+        String[] pair = HITS[cursor.advance()];
+        return payoutFactory.createProcessor(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public RouteResolution resolveHit(Cursor cursor) {
+        String[] pair = HITS[cursor.advance()];
+        return payoutFactory.resolve(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public boolean isSupportedMiss(Cursor cursor) {
+        String[] pair = MISSES[cursor.advance()];
+        return payoutFactory.isSupported(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public Object createProcessorMiss(Cursor cursor) {
+        String[] pair = MISSES[cursor.advance()];
+        try {
+            return payoutFactory.createProcessor(pair[0], pair[1]);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -1,16 +1,38 @@
 package com.factory.factorypattern.controller;
 
+import com.factory.factorypattern.dispatch.DeadlinePolicy;
+import com.factory.factorypattern.dispatch.IdempotencyStore;
+import com.factory.factorypattern.dispatch.NdjsonPayoutStream;
+import com.factory.factorypattern.dispatch.PayoutDispatcher;
+import com.factory.factorypattern.dispatch.ProviderBatchAccumulators;
+import com.factory.factorypattern.dispatch.ProviderBulkheads;
+import com.factory.factorypattern.dispatch.ProviderCircuitBreakers;
+import com.factory.factorypattern.dispatch.ProviderLimiters;
 import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.factory.RouteResolution;
+import com.factory.factorypattern.journal.PayoutJournal;
+import com.factory.factorypattern.logging.PayoutEvent;
+import com.factory.factorypattern.logging.PayoutEventLog;
+import com.factory.factorypattern.model.BatchPayoutResponse;
 import com.factory.factorypattern.model.PayoutProcessor;
 import com.factory.factorypattern.model.PayoutRequest;
 import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.model.RouteQuery;
+import com.factory.factorypattern.reconcile.PendingPayoutReconciler;
+import com.factory.factorypattern.service.TransactionIdGenerator;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 🎯 FACTORY PATTERN - Client/Consumer
@@ -26,14 +48,54 @@ import java.util.Map;
  * - Easy to test (can mock factory)
  * - Automatic support for new processors when added to factory
  * - Separation of concerns: controller handles HTTP, factory handles creation
+ *
+ * Servlet edition; the -Preactive build serves the same endpoints from
+ * ReactiveTransferController on Netty instead.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/transfer")
 public class TransferController {
 
+    private static final int MAX_BULK_VALIDATE = 50_000;
+    private static final int MAX_BATCH_SIZE = 50_000;
+
     @Autowired
     private PayoutMethodFactory payoutFactory;
 
+    @Autowired(required = false)
+    private PayoutEventLog events = PayoutEventLog.disabled();
+
+    @Autowired
+    private PayoutDispatcher payoutDispatcher;
+
+    @Autowired(required = false)
+    private DeadlinePolicy deadlines = DeadlinePolicy.none();
+
+    @Autowired
+    private NdjsonPayoutStream payoutStream;
+
+    @Autowired(required = false)
+    private ProviderBulkheads bulkheads;
+
+    @Autowired(required = false)
+    private ProviderLimiters limiters;
+
+    @Autowired(required = false)
+    private ProviderCircuitBreakers circuitBreakers;
+
+    @Autowired(required = false)
+    private ProviderBatchAccumulators batchAccumulators;
+
+    @Autowired(required = false)
+    private IdempotencyStore idempotency = IdempotencyStore.disabled();
+
+    @Autowired(required = false)
+    private PayoutJournal journal = PayoutJournal.disabled();
+
+    @Autowired(required = false)
+    private PendingPayoutReconciler reconciler = PendingPayoutReconciler.disabled();
+
     /**
      * 🎯 MAIN ENDPOINT - Demonstrates Factory Pattern Usage
      *
@@ -43,53 +105,136 @@ public class TransferController {
      * 3. Return result
      *
      * No complex logic, no knowledge of concrete classes!
+     *
+     * The request thread is released as soon as the processor call has been
+     * started; the response is written when the returned future completes.
+     * The whole call is bounded by the X-Deadline-Ms header (or the method's
+     * default deadline) and answers 504 with status TIMEOUT once it passes.
+     * Retries carrying the same Idempotency-Key get the first outcome back
+     * instead of a second payout.
      */
     @PostMapping("/send")
-    public ResponseEntity<PayoutResponse> sendMoney(@Valid @RequestBody PayoutRequest request) {
+    public CompletableFuture<ResponseEntity<PayoutResponse>> sendMoney(
+            @Valid @RequestBody PayoutRequest request,
+            @RequestHeader(value = DeadlinePolicy.HEADER, required = false) Long deadlineMillis,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         try {
-            System.out.println("📨 Received transfer request: " + request);
+            request.setDeadline(deadlines.deadlineFor(request.getPayoutMethod(), deadlineMillis));
 
-            // 🏭 FACTORY PATTERN IN ACTION
-            // Factory handles all the complex creation logic
-            PayoutProcessor processor = payoutFactory.createProcessor(
-                    request.getPayoutMethod(),
-                    request.getDestinationCountry()
-            );
+            events.log(PayoutEvent.TRANSFER_RECEIVED, null, request.getPayoutMethod(), request.getRecipientName(),
+                    request.getDestinationCountry(), request.getAmount(), 0L);
 
-            // 🔧 INTERFACE USAGE
-            // Work with processor through interface - don't care about concrete type
-            PayoutResponse response = processor.processTransfer(request);
+            // 🔑 Replays never reach the factory or a processor
+            return idempotency.execute(idempotencyKey, request, () -> route(request)).handle((response, error) -> {
+                if (error != null) {
+                    return internalError(error);
+                }
 
-            // Return appropriate HTTP status based on response
-            HttpStatus status = response.getStatus() == PayoutResponse.Status.SUCCESS ?
-                    HttpStatus.OK : HttpStatus.BAD_REQUEST;
+                // Return appropriate HTTP status based on response
+                return new ResponseEntity<>(response, statusOf(response));
+            });
 
-            return new ResponseEntity<>(response, status);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(internalError(e));
+        }
+    }
 
-        } catch (IllegalArgumentException e) {
-            // Handle unsupported method/country combinations
-            System.err.println("❌ Unsupported combination: " + e.getMessage());
+    /**
+     * Resolve the processor through the factory and dispatch the payout
+     */
+    private CompletableFuture<PayoutResponse> route(PayoutRequest request) {
+        // 🏭 FACTORY PATTERN IN ACTION
+        // Factory handles all the complex creation logic
+        RouteResolution route = payoutFactory.resolve(
+                request.getPayoutMethod(),
+                request.getDestinationCountry()
+        );
 
-            PayoutResponse errorResponse = PayoutResponse.failed(
-                    "Unsupported payment method or country: " + e.getMessage(),
+        if (!route.isResolved()) {
+            // Unsupported method/country: prebuilt rejection, no exception
+            events.log(PayoutEvent.UNSUPPORTED_COMBINATION, null, request.getPayoutMethod(), null,
+                    request.getDestinationCountry(), null, 0L);
+
+            return CompletableFuture.completedFuture(PayoutResponse.failed(
+                    route.getRejectionMessage(),
                     "System",
                     "UNSUPPORTED_COMBINATION"
-            );
+            ));
+        }
 
-            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        // 🔧 INTERFACE USAGE
+        // Work with processor through interface - don't care about concrete type
+        PayoutProcessor processor = route.getProcessor();
+        return payoutDispatcher.dispatch(processor, request);
+    }
 
-        } catch (Exception e) {
-            // Handle unexpected errors
-            System.err.println("❌ Unexpected error: " + e.getMessage());
+    /**
+     * HTTP status for a processor response
+     */
+    private static HttpStatus statusOf(PayoutResponse response) {
+        if (response.getStatus() == PayoutResponse.Status.SUCCESS) {
+            return HttpStatus.OK;
+        }
+        if (response.getStatus() == PayoutResponse.Status.PENDING) {
+            return HttpStatus.ACCEPTED;
+        }
+        if (response.getStatus() == PayoutResponse.Status.TIMEOUT) {
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+        if (PayoutDispatcher.isShed(response) || IdempotencyStore.STORE_FULL.equals(response.getErrorCode())) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (IdempotencyStore.KEY_REUSED.equals(response.getErrorCode())) {
+            return HttpStatus.UNPROCESSABLE_ENTITY;
+        }
+        return HttpStatus.BAD_REQUEST;
+    }
 
-            PayoutResponse errorResponse = PayoutResponse.failed(
-                    "Internal server error occurred",
-                    "System",
-                    "INTERNAL_ERROR"
-            );
+    /**
+     * Handle unexpected errors
+     */
+    private ResponseEntity<PayoutResponse> internalError(Throwable e) {
+        events.log(PayoutEvent.INTERNAL_ERROR, null, e.getClass().getSimpleName(), null,
+                e.getMessage(), null, 0L);
+
+        PayoutResponse errorResponse = PayoutResponse.failed(
+                "Internal server error occurred",
+                "System",
+                "INTERNAL_ERROR"
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 
-            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    /**
+     * 📦 BATCH ENDPOINT: Many payouts in one call
+     *
+     * Payouts are grouped by method + country so each group asks the factory
+     * for its processor once; provider groups run in parallel, each capped in
+     * concurrency. Results come back in request order with a summary.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<BatchPayoutResponse>> sendBatch(@RequestBody List<PayoutRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build());
         }
+        return payoutDispatcher.dispatchBatch(requests).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * 🌊 STREAMING ENDPOINT: Unbounded bulk payouts as NDJSON
+     *
+     * One PayoutRequest per input line, one result line per payout written as
+     * soon as it completes (tagged with its input line number). Input is read
+     * only as fast as payouts complete, so memory stays flat for any length.
+     */
+    @PostMapping(value = "/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPayouts(InputStream body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> payoutStream.process(body, output));
     }
 
     /**
@@ -126,6 +271,74 @@ public class TransferController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 🔍 BULK VALIDATION ENDPOINT: Check many combinations in one call
+     *
+     * Results are positional (same order as the request). Each pair is resolved
+     * without exceptions and failures reuse shared outcome constants, so the only
+     * allocations are the two result arrays.
+     */
+    @PostMapping("/validate")
+    public ResponseEntity<Map<String, Object>> validateCombinations(@RequestBody List<RouteQuery> queries) {
+        if (queries.size() > MAX_BULK_VALIDATE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of(
+                    "message", "At most " + MAX_BULK_VALIDATE + " combinations per request"));
+        }
+
+        int count = queries.size();
+        boolean[] supported = new boolean[count];
+        RouteResolution.Outcome[] outcomes = new RouteResolution.Outcome[count];
+        int supportedCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            RouteQuery query = queries.get(i);
+            RouteResolution resolution = payoutFactory.resolve(query.getMethod(), query.getCountry());
+            outcomes[i] = resolution.getOutcome();
+            if (resolution.isResolved()) {
+                supported[i] = true;
+                supportedCount++;
+            }
+        }
+
+        Map<String, Object> result = Map.of(
+                "total", count,
+                "supportedCount", supportedCount,
+                "supported", supported,
+                "outcomes", outcomes
+        );
+
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 🔎 STATUS ENDPOINT: Latest recorded outcome of a transaction
+     *
+     * Served from the payout journal's transaction index; 400 when the path is
+     * not a transaction ID at all (e.g. a mistyped endpoint), 404 when the ID
+     * is unknown or the journal is switched off.
+     */
+    @GetMapping("/{transactionId}")
+    public ResponseEntity<PayoutResponse> getTransaction(@PathVariable String transactionId) {
+        if (TransactionIdGenerator.decode(transactionId) == null) {
+            PayoutResponse invalid = PayoutResponse.failed(
+                    "Not a transaction ID: " + transactionId,
+                    "System",
+                    "INVALID_TRANSACTION_ID"
+            );
+            return ResponseEntity.badRequest().body(invalid);
+        }
+        PayoutResponse response = journal.findTransaction(transactionId);
+        if (response == null) {
+            PayoutResponse notFound = PayoutResponse.failed(
+                    "Unknown transaction: " + transactionId,
+                    "System",
+                    "TRANSACTION_NOT_FOUND"
+            );
+            return new ResponseEntity<>(notFound, HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 📊 ADMIN ENDPOINT: Get factory statistics
      */
@@ -133,6 +346,21 @@ public class TransferController {
     public ResponseEntity<Map<String, Object>> getFactoryStats() {
         try {
             Map<String, Object> stats = payoutFactory.getCacheStats();
+            if (bulkheads != null) {
+                stats.put("bulkheads", bulkheads.getStats());
+            }
+            if (limiters != null) {
+                stats.put("limiters", limiters.getStats());
+            }
+            if (circuitBreakers != null) {
+                stats.put("circuitBreakers", circuitBreakers.getStats());
+            }
+            if (batchAccumulators != null) {
+                stats.put("microBatches", batchAccumulators.getStats());
+            }
+            stats.put("idempotency", idempotency.getStats());
+            stats.put("journal", journal.getStats());
+            stats.put("reconciliation", reconciler.getStats());
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -0,0 +1,166 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 📐 Adaptive concurrency limit for one provider (gradient algorithm)
+ *
+ * Two moving averages of call latency are kept: a fast one for "now" and a
+ * slow one as the no-load baseline. Their ratio (the gradient) shrinks the
+ * limit as soon as latency rises above the baseline, before any queue builds
+ * up; while latency stays flat the limit grows by about sqrt(limit) per step.
+ *
+ *   gradient = clamp(TOLERANCE * longRtt / shortRtt, 0.5, 1.0)
+ *   target   = limit * gradient + sqrt(limit)
+ *   limit    = limit + SMOOTHING * (target - limit), within [min, max]
+ *
+ * Calls over the limit are rejected instead of waiting.
+ *
+ * CONCURRENCY CONTRACT:
+ * - Acquire and release are CAS loops on atomics, never locks
+ * - Averages and the limit are stored as double bits and updated with CAS;
+ *   concurrent samples may interleave, which only adds noise to an estimate
+ */
+final class AdaptiveLimiter {
+
+    // Weights of the newest sample in the short / long latency averages
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.01;
+
+    // Latency may rise this much above the baseline before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+
+    // Fraction of the distance to the target covered per sample
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong shortRttBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final AtomicLong longRttBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final LongAdder rejected = new LongAdder();
+
+    AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(
+                Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit))));
+    }
+
+    /**
+     * Start the call if it fits under the current limit, otherwise reject it
+     *
+     * Works the same whether the call completes inline (blocking-only
+     * processors) or later (async processors): the slot is held until the
+     * returned future completes. Only answers from a provider call that
+     * really started and reached the provider are sampled, timed from that
+     * start: rejections by inner guards, time spent queued in the bulkhead and
+     * the processor's own validation failures say nothing about the
+     * provider's latency.
+     */
+    CompletableFuture<PayoutResponse> execute(ProviderCall providerCall,
+                                              Supplier<CompletableFuture<PayoutResponse>> call,
+                                              Supplier<PayoutResponse> rejection) {
+        int observedInFlight = tryAcquire();
+        if (observedInFlight < 0) {
+            rejected.increment();
+            return CompletableFuture.completedFuture(rejection.get());
+        }
+        CompletableFuture<PayoutResponse> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        return started.whenComplete((response, error) -> release(providerCall.elapsedNanos(), observedInFlight,
+                error == null && providerCall.started() && !PayoutDispatcher.isValidationFailure(response)));
+    }
+
+    /**
+     * @return calls in flight including this one, or -1 when at the limit
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Give the slot back; answered provider calls feed their latency to the estimate
+     */
+    void release(long rttNanos, int observedInFlight, boolean sample) {
+        inFlight.decrementAndGet();
+        if (!sample || rttNanos <= 0) {
+            return;
+        }
+        double shortRtt = update(shortRttBits, rttNanos, SHORT_ALPHA);
+        double longRtt = update(longRttBits, rttNanos, LONG_ALPHA);
+
+        // Latency has settled well below the baseline: follow it down quickly
+        if (longRtt > 2 * shortRtt) {
+            longRttBits.set(Double.doubleToRawLongBits(longRtt * 0.95));
+        }
+
+        while (true) {
+            long current = limitBits.get();
+            double limit = Double.longBitsToDouble(current);
+
+            // App-limited: too little traffic to tell whether more would fit
+            if (observedInFlight < limit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            double target = limit * gradient + Math.sqrt(limit);
+            double next = Math.max(minLimit, Math.min(maxLimit, limit + SMOOTHING * (target - limit)));
+            if (limitBits.compareAndSet(current, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    double shortRttMillis() {
+        return Double.longBitsToDouble(shortRttBits.get()) / 1_000_000.0;
+    }
+
+    double longRttMillis() {
+        return Double.longBitsToDouble(longRttBits.get()) / 1_000_000.0;
+    }
+
+    private static double update(AtomicLong bits, double sample, double alpha) {
+        while (true) {
+            long current = bits.get();
+            double average = Double.longBitsToDouble(current);
+            double next = average == 0.0 ? sample : average + alpha * (sample - average);
+            if (bits.compareAndSet(current, Double.doubleToRawLongBits(next))) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.Deadline;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 🧺 Micro-batch accumulator for one provider
+ *
+ * Single payouts wait here until maxItems have gathered or maxWait has passed
+ * since the first of them arrived, whichever comes first; they then go to the
+ * provider as one bulk call and each caller's future completes with its own
+ * response.
+ *
+ * Lock-free: callers append to a concurrent queue, the caller that fills a
+ * batch flushes it, and a single armed timer flushes whatever is left. An
+ * item always finds either an armed timer that has not yet drained, or arms
+ * one itself. Items whose deadline passed while waiting are answered TIMEOUT
+ * and left out of the bulk call.
+ *
+ * A bulk call is bounded by the earliest deadline it carries, so a flushed
+ * batch is split by deadline: items go out together only when their time
+ * left is within DEADLINE_SPREAD of the earliest among them, and items
+ * without a deadline go out on their own. A short deadline then never cuts
+ * short a call carrying items with much more time left.
+ */
+final class BatchAccumulator {
+
+    // Items share a bulk call only while their time left is within this factor of the earliest
+    private static final long DEADLINE_SPREAD = 2;
+
+    private final int maxItems;
+    private final long maxWaitNanos;
+    private final ScheduledExecutorService timer;
+    private final Function<List<PayoutRequest>, CompletableFuture<List<PayoutResponse>>> bulkCall;
+    private final Supplier<PayoutResponse> timeout;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean timerArmed = new AtomicBoolean();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+
+    BatchAccumulator(int maxItems, long maxWaitMillis, ScheduledExecutorService timer,
+                     Function<List<PayoutRequest>, CompletableFuture<List<PayoutResponse>>> bulkCall,
+                     Supplier<PayoutResponse> timeout) {
+        this.maxItems = Math.max(1, maxItems);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+        this.timer = timer;
+        this.bulkCall = bulkCall;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Queue one payout; completes when its batch is answered
+     */
+    CompletableFuture<PayoutResponse> submit(PayoutRequest request) {
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        queue.offer(pending);
+        if (size.incrementAndGet() >= maxItems) {
+            flush();
+        } else if (timerArmed.compareAndSet(false, true)) {
+            timer.schedule(this::onTimer, maxWaitNanos, TimeUnit.NANOSECONDS);
+        }
+        return pending.response;
+    }
+
+    /**
+     * Disarm before draining, so items arriving during the drain arm a new timer
+     */
+    private void onTimer() {
+        timerArmed.set(false);
+        while (flush() > 0) {
+            // drain everything queued, maxItems at a time
+        }
+    }
+
+    /**
+     * Send up to maxItems queued payouts as one batch; returns how many were taken
+     */
+    private int flush() {
+        List<Pending> batch = new ArrayList<>(Math.min(maxItems, 64));
+        Pending pending;
+        while (batch.size() < maxItems && (pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+        if (!batch.isEmpty()) {
+            size.addAndGet(-batch.size());
+            send(batch);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Answer expired items, then send the rest in groups of compatible deadlines
+     */
+    private void send(List<Pending> batch) {
+        List<Timed> live = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            Deadline deadline = pending.request.getDeadline();
+            if (deadline == null) {
+                live.add(new Timed(pending, Long.MAX_VALUE));
+            } else if (deadline.isExpired()) {
+                pending.response.complete(timeout.get());
+            } else {
+                live.add(new Timed(pending, deadline.remainingNanos()));
+            }
+        }
+        live.sort(Comparator.comparingLong(Timed::remainingNanos));
+
+        int from = 0;
+        while (from < live.size()) {
+            long earliest = live.get(from).remainingNanos;
+            int to = from + 1;
+            while (to < live.size() && fits(live.get(to).remainingNanos, earliest)) {
+                to++;
+            }
+            List<Pending> group = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                group.add(live.get(i).pending);
+            }
+            call(group);
+            from = to;
+        }
+    }
+
+    private static boolean fits(long remainingNanos, long earliestNanos) {
+        if (earliestNanos == Long.MAX_VALUE) {
+            return remainingNanos == Long.MAX_VALUE;
+        }
+        return remainingNanos != Long.MAX_VALUE && remainingNanos / DEADLINE_SPREAD <= earliestNanos;
+    }
+
+    /**
+     * One bulk call for the group, fanned back out to its callers
+     */
+    private void call(List<Pending> live) {
+        List<PayoutRequest> requests = new ArrayList<>(live.size());
+        for (Pending pending : live) {
+            requests.add(pending.request);
+        }
+        batches.increment();
+        items.add(live.size());
+
+        CompletableFuture<List<PayoutResponse>> call;
+        try {
+            call = bulkCall.apply(requests);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((responses, error) -> {
+            // 📬 Fan the batch back out, one response per waiting caller
+            for (int i = 0; i < live.size(); i++) {
+                CompletableFuture<PayoutResponse> response = live.get(i).response;
+                if (error != null) {
+                    response.completeExceptionally(error);
+                } else if (responses == null || i >= responses.size() || responses.get(i) == null) {
+                    response.completeExceptionally(new IllegalStateException("Bulk call returned no response for item " + i));
+                } else {
+                    response.complete(responses.get(i));
+                }
+            }
+        });
+    }
+
+    int queued() {
+        return size.get();
+    }
+
+    long batches() {
+        return batches.sum();
+    }
+
+    long items() {
+        return items.sum();
+    }
+
+    int maxItems() {
+        return maxItems;
+    }
+
+    private record Pending(PayoutRequest request, CompletableFuture<PayoutResponse> response) {
+    }
+
+    // Time left snapshotted once per flush (Long.MAX_VALUE = no deadline), so sorting is stable
+    private record Timed(Pending pending, long remainingNanos) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutResponse;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 🧱 Bulkhead for one provider
+ *
+ * At most maxConcurrent calls run at once; up to maxQueue more wait for a
+ * slot, anything beyond that is rejected immediately. Waiting calls hold no
+ * thread: whichever call frees a slot submits the next one to its handoff
+ * executor, so the releasing thread (often a provider's timer thread) never
+ * runs queued work itself and handoffs do not nest.
+ *
+ * CONCURRENCY CONTRACT:
+ * - Slots and queue places are claimed with CAS, never with locks
+ * - A finishing call hands its slot straight to the next waiting call, so
+ *   queued work cannot be overtaken by new arrivals while it waits
+ */
+final class Bulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Waiting> waiting = new ConcurrentLinkedQueue<>();
+    private final LongAdder rejected = new LongAdder();
+
+    Bulkhead(int maxConcurrent, int maxQueue) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueue = Math.max(0, maxQueue);
+    }
+
+    /**
+     * Start the call now, once a slot frees up, or not at all
+     *
+     * @param call      starts the provider call; invoked at most once
+     * @param rejection builds the response when the bulkhead is full
+     * @param handoff   where the call is started if it had to wait for a slot
+     */
+    CompletableFuture<PayoutResponse> execute(Supplier<CompletableFuture<PayoutResponse>> call,
+                                              Supplier<PayoutResponse> rejection, Executor handoff) {
+        if (!waiting.isEmpty() || !tryAcquire()) {
+            if (!tryClaim(queued, maxQueue)) {
+                rejected.increment();
+                return CompletableFuture.completedFuture(rejection.get());
+            }
+            CompletableFuture<PayoutResponse> result = new CompletableFuture<>();
+            waiting.offer(new Waiting(() -> run(call).whenComplete((response, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(response);
+                }
+            }), handoff));
+            // A slot may have been freed between the checks and the offer
+            if (tryAcquire()) {
+                release();
+            }
+            return result;
+        }
+        return run(call);
+    }
+
+    int active() {
+        return active.get();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    int maxQueue() {
+        return maxQueue;
+    }
+
+    /**
+     * Run the call in a slot already held; the slot is released on completion
+     */
+    private CompletableFuture<PayoutResponse> run(Supplier<CompletableFuture<PayoutResponse>> call) {
+        CompletableFuture<PayoutResponse> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        return started.whenComplete((response, error) -> release());
+    }
+
+    /**
+     * Hand the slot to the next waiting call, or give it back
+     */
+    private void release() {
+        while (true) {
+            Waiting next = waiting.poll();
+            if (next != null) {
+                queued.decrementAndGet();
+                next.start();
+                return;
+            }
+            active.decrementAndGet();
+            // Re-check: a call may have queued after the poll
+            if (waiting.isEmpty() || !tryAcquire()) {
+                return;
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        return tryClaim(active, maxConcurrent);
+    }
+
+    private static boolean tryClaim(AtomicInteger counter, int limit) {
+        while (true) {
+            int current = counter.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * A queued call and the executor it is started on once it holds a slot
+     */
+    private record Waiting(Runnable call, Executor handoff) {
+
+        private void start() {
+            try {
+                handoff.execute(call);
+            } catch (RejectedExecutionException e) {
+                // Executor shut down: starting it here beats leaking the slot
+                call.run();
+            }
+        }
+    }
+}
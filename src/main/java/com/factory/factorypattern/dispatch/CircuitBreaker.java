@@ -0,0 +1,235 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 🔌 Circuit breaker for one provider
+ *
+ * CLOSED     every call goes through; outcomes fill a sliding window of the
+ *            last windowSize calls. Once minimumCalls are in it and the
+ *            failure or slow-call ratio reaches its threshold -> OPEN
+ * OPEN       calls fail fast without touching the provider; after openNanos
+ *            the next caller moves the breaker -> HALF_OPEN
+ * HALF_OPEN  at most maxProbes calls go through; one failed or slow probe
+ *            -> OPEN again, maxProbes good probes -> CLOSED with a new window
+ *
+ * CONCURRENCY CONTRACT:
+ * - Each state is an immutable epoch object swapped with CAS; the window and
+ *   probe counters belong to their epoch, so a transition resets them by
+ *   simply replacing the epoch
+ * - Calls remember the epoch they started in; outcomes from an older epoch
+ *   are ignored, so late answers cannot flip a newer state
+ * - Nothing locks; the window is an array of outcome codes updated with
+ *   getAndSet plus counters adjusted by the difference
+ */
+final class CircuitBreaker {
+
+    enum Phase { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int FAILED = 1;
+    private static final int SLOW = 2;
+    private static final int RECORDED = 4;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int maxProbes;
+    private final LongSupplier clock;
+
+    private final AtomicReference<Epoch> state;
+    private final LongAdder rejected = new LongAdder();
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, double slowCallRateThreshold,
+                   long slowCallNanos, long openNanos, int maxProbes, LongSupplier clock) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(this.windowSize, minimumCalls));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+        this.maxProbes = Math.max(1, maxProbes);
+        this.clock = clock;
+        this.state = new AtomicReference<>(closed());
+    }
+
+    /**
+     * Run the call unless the circuit is open
+     *
+     * Slowness is timed from when the provider call started, not from here:
+     * waits in the limiter, the bulkhead queue or a micro-batch are not the
+     * provider's, and calls that never started are never slow.
+     *
+     * @param failed  which responses count as provider failures
+     * @param ignored which responses say nothing about the provider (e.g. shed by another guard)
+     */
+    CompletableFuture<PayoutResponse> execute(ProviderCall providerCall,
+                                              Supplier<CompletableFuture<PayoutResponse>> call,
+                                              Predicate<PayoutResponse> failed,
+                                              Predicate<PayoutResponse> ignored,
+                                              Supplier<PayoutResponse> rejection) {
+        Epoch epoch = tryAcquire();
+        if (epoch == null) {
+            rejected.increment();
+            return CompletableFuture.completedFuture(rejection.get());
+        }
+        CompletableFuture<PayoutResponse> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        return started.whenComplete((response, error) -> {
+            if (error == null && ignored.test(response)) {
+                release(epoch);
+                return;
+            }
+            int outcome = RECORDED;
+            if (error != null || failed.test(response)) {
+                outcome |= FAILED;
+            }
+            if (providerCall.started() && providerCall.elapsedNanos() >= slowCallNanos) {
+                outcome |= SLOW;
+            }
+            onComplete(epoch, outcome);
+        });
+    }
+
+    /**
+     * @return the epoch the call runs in, or null when it must fail fast
+     */
+    Epoch tryAcquire() {
+        while (true) {
+            Epoch epoch = state.get();
+            switch (epoch.phase) {
+                case CLOSED:
+                    return epoch;
+                case OPEN:
+                    if (clock.getAsLong() - epoch.sinceNanos < openNanos) {
+                        return null;
+                    }
+                    state.compareAndSet(epoch, new Epoch(Phase.HALF_OPEN, clock.getAsLong(), 0));
+                    continue;
+                default:
+                    // HALF_OPEN: only a bounded number of probes
+                    while (true) {
+                        int probes = epoch.probes.get();
+                        if (probes >= maxProbes) {
+                            return null;
+                        }
+                        if (epoch.probes.compareAndSet(probes, probes + 1)) {
+                            return epoch;
+                        }
+                    }
+            }
+        }
+    }
+
+    /**
+     * Record a finished call of the given epoch
+     */
+    void onComplete(Epoch epoch, int outcome) {
+        if (state.get() != epoch) {
+            return;
+        }
+        boolean bad = (outcome & (FAILED | SLOW)) != 0;
+        if (epoch.phase == Phase.HALF_OPEN) {
+            if (bad) {
+                state.compareAndSet(epoch, new Epoch(Phase.OPEN, clock.getAsLong(), 0));
+            } else if (epoch.probeSuccesses.incrementAndGet() >= maxProbes) {
+                state.compareAndSet(epoch, closed());
+            }
+            return;
+        }
+
+        // CLOSED: slide the window, trip when a ratio reaches its threshold
+        int slot = (int) (epoch.cursor.getAndIncrement() % windowSize);
+        int previous = epoch.window.getAndSet(slot, outcome);
+        int calls = previous == 0 ? epoch.calls.incrementAndGet() : epoch.calls.get();
+        int failures = epoch.failures.addAndGet(bit(outcome, FAILED) - bit(previous, FAILED));
+        int slowCalls = epoch.slowCalls.addAndGet(bit(outcome, SLOW) - bit(previous, SLOW));
+        if (calls >= minimumCalls &&
+                ((double) failures / calls >= failureRateThreshold ||
+                        (double) slowCalls / calls >= slowCallRateThreshold)) {
+            state.compareAndSet(epoch, new Epoch(Phase.OPEN, clock.getAsLong(), 0));
+        }
+    }
+
+    /**
+     * Give back a probe slot without recording an outcome
+     */
+    void release(Epoch epoch) {
+        if (epoch.phase == Phase.HALF_OPEN) {
+            epoch.probes.decrementAndGet();
+        }
+    }
+
+    Phase phase() {
+        return state.get().phase;
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Failure ratio of the current window (0 unless CLOSED)
+     */
+    double failureRate() {
+        Epoch epoch = state.get();
+        int calls = epoch.calls.get();
+        return calls == 0 ? 0.0 : (double) epoch.failures.get() / calls;
+    }
+
+    double slowCallRate() {
+        Epoch epoch = state.get();
+        int calls = epoch.calls.get();
+        return calls == 0 ? 0.0 : (double) epoch.slowCalls.get() / calls;
+    }
+
+    private Epoch closed() {
+        return new Epoch(Phase.CLOSED, clock.getAsLong(), windowSize);
+    }
+
+    private static int bit(int outcome, int flag) {
+        return (outcome & flag) != 0 ? 1 : 0;
+    }
+
+    /**
+     * One stay in a phase, with the counters that belong to it
+     */
+    static final class Epoch {
+
+        private final Phase phase;
+        private final long sinceNanos;
+
+        // CLOSED only
+        private final AtomicIntegerArray window;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        // HALF_OPEN only
+        private final AtomicInteger probes = new AtomicInteger();
+        private final AtomicInteger probeSuccesses = new AtomicInteger();
+
+        private Epoch(Phase phase, long sinceNanos, int windowSize) {
+            this.phase = phase;
+            this.sinceNanos = sinceNanos;
+            this.window = new AtomicIntegerArray(windowSize);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.Deadline;
+import com.factory.factorypattern.model.PayoutMethod;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * ⏳ Where a payout's deadline comes from
+ *
+ * 1. The X-Deadline-Ms request header (milliseconds from now), within
+ *    [min-millis, max-millis]
+ * 2. Otherwise the default for the payout method, then the global default
+ *
+ * The method's default is also the provider's own budget: a timeout only
+ * says something about the provider when the call was given at least that
+ * long (see budgetMillis()).
+ *
+ * CONFIGURATION (remittance.deadline):
+ * - default-millis                 for every method without its own (0 = none)
+ * - methods.<method>               per canonical method, e.g. methods.bank_transfer
+ * - min-millis / max-millis        bounds for header values
+ */
+@Component
+public class DeadlinePolicy {
+
+    public static final String HEADER = "X-Deadline-Ms";
+
+    private static final String PREFIX = "remittance.deadline.";
+
+    // Default per PayoutMethod ordinal (0 = no deadline)
+    private final long[] methodDefaults = new long[PayoutMethod.values().length];
+    private final long defaultMillis;
+    private final long minMillis;
+    private final long maxMillis;
+
+    @Autowired
+    public DeadlinePolicy(Environment environment) {
+        this(environment.getProperty(PREFIX + "default-millis", Long.class, 5_000L),
+                environment.getProperty(PREFIX + "min-millis", Long.class, 100L),
+                environment.getProperty(PREFIX + "max-millis", Long.class, 30_000L));
+        for (PayoutMethod method : PayoutMethod.values()) {
+            methodDefaults[method.ordinal()] = environment.getProperty(
+                    PREFIX + "methods." + method.getValue(), Long.class, defaultMillis);
+        }
+    }
+
+    DeadlinePolicy(long defaultMillis, long minMillis, long maxMillis) {
+        this.defaultMillis = Math.max(0, defaultMillis);
+        this.maxMillis = Math.max(1, maxMillis);
+        this.minMillis = Math.min(this.maxMillis, Math.max(1, minMillis));
+        Arrays.fill(methodDefaults, this.defaultMillis);
+    }
+
+    /**
+     * No default deadlines; header values are still honoured (for use outside Spring)
+     */
+    public static DeadlinePolicy none() {
+        return new DeadlinePolicy(0, 100L, 30_000L);
+    }
+
+    /**
+     * Deadline for a payout, or null when neither a header nor a default applies
+     *
+     * @param requestedMillis the header value, if the caller sent one
+     */
+    public Deadline deadlineFor(String payoutMethod, Long requestedMillis) {
+        if (requestedMillis != null) {
+            return Deadline.afterMillis(Math.min(Math.max(minMillis, requestedMillis), maxMillis));
+        }
+        long millis = defaultMillis(payoutMethod);
+        return millis > 0 ? Deadline.afterMillis(millis) : null;
+    }
+
+    /**
+     * How long the provider behind a method is given on its own terms: the
+     * method's default deadline, or max-millis when it has none
+     */
+    public long budgetMillis(String payoutMethod) {
+        long millis = defaultMillis(payoutMethod);
+        return millis > 0 ? millis : maxMillis;
+    }
+
+    private long defaultMillis(String payoutMethod) {
+        PayoutMethod method = PayoutMethod.resolve(payoutMethod);
+        return method != null ? methodDefaults[method.ordinal()] : defaultMillis;
+    }
+}
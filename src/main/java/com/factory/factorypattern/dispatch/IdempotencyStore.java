@@ -0,0 +1,456 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 🔑 Idempotency-Key store - retried payouts replay the first outcome
+ *
+ * The first request with a key runs; duplicates arriving while it is in
+ * flight wait on the same future (single flight), later ones get the stored
+ * PayoutResponse without reaching the factory or a processor. A key reused
+ * with a different payload is refused (IDEMPOTENCY_KEY_REUSED, 422).
+ *
+ * Transient outcomes are not stored, so a retry runs again: shed responses
+ * (bulkhead / limiter / circuit breaker), TIMEOUT, provider API errors and
+ * internal errors. Every other outcome is replayed until the TTL passes.
+ *
+ * Layout: keys and payloads are each reduced to a 128-bit SHA-256
+ * fingerprint and kept with the expiry in direct (off-heap) memory, 40 bytes
+ * per slot, in one linear-probing table per stripe; only the response futures
+ * live on the heap. Each stripe has its own lock and a fixed capacity;
+ * expired entries are reused on lookup and purged when a stripe fills up. If
+ * it is still full, the oldest eighth of its completed outcomes is evicted
+ * before their TTL. Only a stripe full of payouts still in flight refuses new
+ * keys (IDEMPOTENCY_STORE_FULL, 503).
+ *
+ * CONFIGURATION (remittance.idempotency):
+ * - enabled                  false = the header is ignored
+ * - ttl-seconds              how long a completed outcome is replayed
+ * - max-entries              keys held at once, across all stripes; size it
+ *                            for ttl-seconds x peak keyed payouts per second
+ * - stripes                  independent locks (rounded up to a power of two)
+ *
+ * Meters: payout.idempotency.entries, payout.idempotency.replayed,
+ * payout.idempotency.joined, payout.idempotency.rejected,
+ * payout.idempotency.evicted
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String KEY_REUSED = "IDEMPOTENCY_KEY_REUSED";
+    public static final String STORE_FULL = "IDEMPOTENCY_STORE_FULL";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Stripe[] stripes;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public IdempotencyStore(MeterRegistry registry,
+                            @Value("${remittance.idempotency.enabled:true}") boolean enabled,
+                            @Value("${remittance.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${remittance.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${remittance.idempotency.stripes:64}") int stripes) {
+        this(enabled ? maxEntries : 0, stripes, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+        if (enabled) {
+            register(registry, this);
+        }
+    }
+
+    IdempotencyStore(int maxEntries, int stripes, long ttlNanos, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            this.stripes = new Stripe[0];
+        } else {
+            int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+            count = Math.min(count, Integer.highestOneBit(maxEntries));
+            this.stripes = new Stripe[Math.max(1, count)];
+            int perStripe = (maxEntries + this.stripes.length - 1) / this.stripes.length;
+            for (int i = 0; i < this.stripes.length; i++) {
+                this.stripes[i] = new Stripe(perStripe);
+            }
+        }
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * No store (for controllers built outside Spring)
+     */
+    public static IdempotencyStore disabled() {
+        return new IdempotencyStore(0, 1, 0, System::nanoTime);
+    }
+
+    /**
+     * Run the call once per key; requests without a key always run
+     */
+    public CompletableFuture<PayoutResponse> execute(String key, PayoutRequest request,
+                                                     Supplier<CompletableFuture<PayoutResponse>> call) {
+        if (stripes.length == 0 || key == null || key.isBlank()) {
+            return call.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return CompletableFuture.completedFuture(PayoutResponse.failed(
+                    HEADER + " must be at most " + MAX_KEY_LENGTH + " characters", "System", "VALIDATION_ERROR"));
+        }
+
+        ByteBuffer digest = ByteBuffer.wrap(sha256(key));
+        long hi = digest.getLong(0) | Long.MIN_VALUE;   // never 0: 0 marks an empty slot
+        long lo = digest.getLong(8);
+        ByteBuffer payload = ByteBuffer.wrap(payloadFingerprint(request));
+        long payloadHi = payload.getLong(0);
+        long payloadLo = payload.getLong(8);
+        Stripe stripe = stripes[(int) lo & (stripes.length - 1)];
+        CompletableFuture<PayoutResponse> mine = new CompletableFuture<>();
+
+        CompletableFuture<PayoutResponse> existing;
+        synchronized (stripe) {
+            long now = clock.getAsLong();
+            int slot = stripe.find(hi, lo);
+            if (slot >= 0 && stripe.isLive(slot, now)) {
+                if (!stripe.hasPayload(slot, payloadHi, payloadLo)) {
+                    rejected.increment();
+                    return CompletableFuture.completedFuture(PayoutResponse.failed(
+                            HEADER + " was already used for a different payout", "System", KEY_REUSED));
+                }
+                existing = stripe.value(slot);
+            } else {
+                if (slot >= 0) {
+                    stripe.remove(slot);
+                }
+                if (!stripe.insert(hi, lo, payloadHi, payloadLo, mine, now)) {
+                    rejected.increment();
+                    return CompletableFuture.completedFuture(PayoutResponse.failed(
+                            "Too many payouts in flight, please retry later", "System", STORE_FULL));
+                }
+                existing = null;
+            }
+        }
+        if (existing != null) {
+            (existing.isDone() ? replayed : joined).increment();
+            return existing;
+        }
+
+        // 🚀 First with this key: run it, then keep or drop the outcome before anyone sees it
+        CompletableFuture<PayoutResponse> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> {
+            synchronized (stripe) {
+                int slot = stripe.find(hi, lo);
+                if (slot >= 0 && stripe.value(slot) == mine) {
+                    if (error != null || isTransient(response)) {
+                        stripe.remove(slot);
+                    } else {
+                        stripe.expire(slot, clock.getAsLong() + ttlNanos);
+                    }
+                }
+            }
+            if (error != null) {
+                mine.completeExceptionally(error);
+            } else {
+                mine.complete(response);
+            }
+        });
+        return mine;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    long replayed() {
+        return replayed.sum();
+    }
+
+    long joined() {
+        return joined.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long evicted() {
+        long evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                evicted += stripe.evicted;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 📊 Store usage (for the stats endpoint)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long capacity = 0;
+        for (Stripe stripe : stripes) {
+            capacity += stripe.maxEntries;
+        }
+        stats.put("enabled", stripes.length > 0);
+        stats.put("entries", size());
+        stats.put("maxEntries", capacity);
+        stats.put("stripes", stripes.length);
+        stats.put("ttlSeconds", TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        stats.put("replayed", replayed());
+        stats.put("joined", joined());
+        stats.put("rejected", rejected());
+        stats.put("evicted", evicted());
+        return stats;
+    }
+
+    /**
+     * True when a retry could get a different answer, so the outcome must not be replayed
+     */
+    static boolean isTransient(PayoutResponse response) {
+        if (PayoutDispatcher.isShed(response) || response.getStatus() == PayoutResponse.Status.TIMEOUT) {
+            return true;
+        }
+        String errorCode = response.getErrorCode();
+        return response.getStatus() == PayoutResponse.Status.FAILED && errorCode != null &&
+                (errorCode.endsWith("_API_ERROR") || errorCode.equals("INTERNAL_ERROR"));
+    }
+
+    /**
+     * SHA-256 of the fields a client must repeat unchanged when retrying with
+     * the same key, each length-prefixed so no two payloads share an encoding
+     */
+    static byte[] payloadFingerprint(PayoutRequest request) {
+        StringBuilder canonical = new StringBuilder(256);
+        for (Object field : new Object[]{request.getPayoutMethod(), request.getDestinationCountry(),
+                request.getAmount() == null ? null : request.getAmount().stripTrailingZeros().toPlainString(),
+                request.getCurrency(), request.getRecipientName(), request.getRecipientPhone(),
+                request.getRecipientEmail(), request.getBankAccount(), request.getBankCode(), request.getPurpose()}) {
+            if (field == null) {
+                canonical.append("-1:");
+            } else {
+                String value = field.toString();
+                canonical.append(value.length()).append(':').append(value);
+            }
+        }
+        return sha256(canonical.toString());
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void register(MeterRegistry registry, IdempotencyStore store) {
+        Gauge.builder("payout.idempotency.entries", store, IdempotencyStore::size)
+                .description("Idempotency keys held (in flight or replayable)")
+                .register(registry);
+        FunctionCounter.builder("payout.idempotency.replayed", store, IdempotencyStore::replayed)
+                .description("Retries answered from a stored outcome")
+                .register(registry);
+        FunctionCounter.builder("payout.idempotency.joined", store, IdempotencyStore::joined)
+                .description("Duplicates that waited on the in-flight original")
+                .register(registry);
+        FunctionCounter.builder("payout.idempotency.rejected", store, IdempotencyStore::rejected)
+                .description("Requests refused for key reuse or a full store")
+                .register(registry);
+        FunctionCounter.builder("payout.idempotency.evicted", store, IdempotencyStore::evicted)
+                .description("Completed outcomes evicted before their TTL to make room")
+                .register(registry);
+    }
+
+    /**
+     * One linear-probing table: [key fingerprint hi, lo, payload fingerprint
+     * hi, lo, expires-at nanos] per slot off-heap, the future at the same
+     * index on-heap
+     * Guarded by the stripe's monitor
+     */
+    private static final class Stripe {
+
+        private static final int LONGS_PER_SLOT = 5;
+        private static final int EXPIRES_AT = 4;
+        private static final long IN_FLIGHT = Long.MAX_VALUE;
+
+        private final int maxEntries;
+        private final int mask;
+        private final ByteBuffer slots;
+        private final Object[] values;
+        private int size;
+        private long evicted;
+
+        private Stripe(int maxEntries) {
+            this.maxEntries = maxEntries;
+            int capacity = Integer.highestOneBit(Math.max(2, maxEntries * 2 - 1)) << 1;   // load factor <= 0.5
+            this.mask = capacity - 1;
+            this.slots = ByteBuffer.allocateDirect(capacity * LONGS_PER_SLOT * Long.BYTES).order(ByteOrder.nativeOrder());
+            this.values = new Object[capacity];
+        }
+
+        private int find(long hi, long lo) {
+            for (int slot = home(hi); ; slot = (slot + 1) & mask) {
+                long slotHi = get(slot, 0);
+                if (slotHi == 0) {
+                    return -1;
+                }
+                if (slotHi == hi && get(slot, 1) == lo) {
+                    return slot;
+                }
+            }
+        }
+
+        /**
+         * @return false only when the stripe is full of payouts still in flight
+         */
+        private boolean insert(long hi, long lo, long payloadHi, long payloadLo,
+                               CompletableFuture<PayoutResponse> value, long now) {
+            if (size >= maxEntries) {
+                purge(now);
+                if (size >= maxEntries && !evictOldest()) {
+                    return false;
+                }
+            }
+            int slot = home(hi);
+            while (get(slot, 0) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            write(slot, hi, lo, payloadHi, payloadLo, IN_FLIGHT, value);
+            size++;
+            return true;
+        }
+
+        /**
+         * Backward-shift deletion: pull later entries of the probe run into the hole
+         */
+        private void remove(int slot) {
+            int hole = slot;
+            for (int i = (slot + 1) & mask; get(i, 0) != 0; i = (i + 1) & mask) {
+                int home = home(get(i, 0));
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    write(hole, get(i, 0), get(i, 1), get(i, 2), get(i, 3), get(i, EXPIRES_AT), values[i]);
+                    hole = i;
+                }
+            }
+            write(hole, 0, 0, 0, 0, 0, null);
+            size--;
+        }
+
+        /**
+         * Drop every expired entry; in-flight entries never expire
+         */
+        private void purge(long now) {
+            for (int slot = 0; slot <= mask; ) {
+                if (get(slot, 0) != 0 && !isLive(slot, now)) {
+                    remove(slot);   // may shift a later entry into this slot: look again
+                } else {
+                    slot++;
+                }
+            }
+        }
+
+        /**
+         * Make room by dropping the oldest eighth of the completed entries
+         * (earliest expiry = completed first); in-flight entries are kept
+         *
+         * @return false when every entry is in flight
+         */
+        private boolean evictOldest() {
+            long[] expiries = new long[size];
+            int completed = 0;
+            for (int slot = 0; slot <= mask; slot++) {
+                if (get(slot, 0) != 0 && get(slot, EXPIRES_AT) != IN_FLIGHT) {
+                    expiries[completed++] = get(slot, EXPIRES_AT);
+                }
+            }
+            if (completed == 0) {
+                return false;
+            }
+            Arrays.sort(expiries, 0, completed);
+            long threshold = expiries[Math.max(1, completed / 8) - 1];
+            for (int slot = 0; slot <= mask; ) {
+                long expiresAt = get(slot, EXPIRES_AT);
+                if (get(slot, 0) != 0 && expiresAt != IN_FLIGHT && expiresAt - threshold <= 0) {
+                    remove(slot);   // may shift a later entry into this slot: look again
+                    evicted++;
+                } else {
+                    slot++;
+                }
+            }
+            return true;
+        }
+
+        private void expire(int slot, long expiresAt) {
+            slots.putLong(offset(slot, EXPIRES_AT), expiresAt);
+        }
+
+        private boolean isLive(int slot, long now) {
+            long expiresAt = get(slot, EXPIRES_AT);
+            return expiresAt == IN_FLIGHT || expiresAt - now > 0;
+        }
+
+        private boolean hasPayload(int slot, long payloadHi, long payloadLo) {
+            return get(slot, 2) == payloadHi && get(slot, 3) == payloadLo;
+        }
+
+        @SuppressWarnings("unchecked")
+        private CompletableFuture<PayoutResponse> value(int slot) {
+            return (CompletableFuture<PayoutResponse>) values[slot];
+        }
+
+        private int home(long hi) {
+            return (int) hi & mask;
+        }
+
+        private long get(int slot, int field) {
+            return slots.getLong(offset(slot, field));
+        }
+
+        private void write(int slot, long hi, long lo, long payloadHi, long payloadLo, long expiresAt,
+                           Object value) {
+            slots.putLong(offset(slot, 0), hi);
+            slots.putLong(offset(slot, 1), lo);
+            slots.putLong(offset(slot, 2), payloadHi);
+            slots.putLong(offset(slot, 3), payloadLo);
+            slots.putLong(offset(slot, EXPIRES_AT), expiresAt);
+            values[slot] = value;
+        }
+
+        private static int offset(int slot, int field) {
+            return (slot * LONGS_PER_SLOT + field) * Long.BYTES;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 🌊 Streaming NDJSON payouts
+ *
+ * Reads one PayoutRequest per line, dispatches it and writes one result line
+ * per payout as soon as it completes (completion order, tagged with the input
+ * line number).
+ *
+ * MEMORY CONTRACT:
+ * - At most remittance.stream.max-in-flight payouts are dispatched but not
+ *   yet written; when the limit is reached the stream stops reading input
+ *   until a result has been written, so a fast client is throttled by TCP
+ *   backpressure and a slow reader throttles dispatching
+ * - Nothing else is retained per line, so heap use does not depend on the
+ *   number of lines
+ *
+ * All reading and writing happens on the calling thread; completion callbacks
+ * only enqueue results and never touch the client connection.
+ */
+@Component
+public class NdjsonPayoutStream {
+
+    private final PayoutDispatcher payoutDispatcher;
+    private final ObjectReader requestReader;
+    private final ObjectWriter lineWriter;
+    private final int maxInFlight;
+
+    public NdjsonPayoutStream(PayoutDispatcher payoutDispatcher,
+                              ObjectMapper objectMapper,
+                              @Value("${remittance.stream.max-in-flight:256}") int maxInFlight) {
+        this.payoutDispatcher = payoutDispatcher;
+        this.requestReader = objectMapper.readerFor(PayoutRequest.class);
+        this.lineWriter = objectMapper.writerFor(StreamedPayout.class);
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * Process every line of input; returns once all results have been written
+     *
+     * @return number of payout lines processed
+     */
+    public long process(InputStream input, OutputStream output) throws IOException {
+        BlockingQueue<StreamedPayout> completed = new ArrayBlockingQueue<>(maxInFlight);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        long payouts = 0;
+        int inFlight = 0;
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                // 🚦 At the limit: wait for a result before reading more input
+                while (inFlight >= maxInFlight) {
+                    write(take(completed), output);
+                    inFlight--;
+                }
+                inFlight -= drain(completed, output);
+
+                submit(line, lineNumber, completed);
+                inFlight++;
+                payouts++;
+            }
+
+            while (inFlight > 0) {
+                write(take(completed), output);
+                inFlight--;
+                if (completed.isEmpty()) {
+                    output.flush();
+                }
+            }
+            output.flush();
+            return payouts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming payouts", e);
+        }
+    }
+
+    private void submit(String line, long lineNumber, BlockingQueue<StreamedPayout> completed) {
+        PayoutRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            completed.add(new StreamedPayout(lineNumber,
+                    PayoutResponse.failed("Malformed JSON line", "System", "VALIDATION_ERROR")));
+            return;
+        }
+
+        payoutDispatcher.submit(request).whenComplete((response, error) ->
+                completed.add(new StreamedPayout(lineNumber, error == null
+                        ? response
+                        : PayoutResponse.failed("Internal server error occurred", "System", "INTERNAL_ERROR"))));
+    }
+
+    /**
+     * Write every result that is already available, flush once when done
+     */
+    private int drain(BlockingQueue<StreamedPayout> completed, OutputStream output) throws IOException {
+        int written = 0;
+        StreamedPayout result;
+        while ((result = completed.poll()) != null) {
+            write(result, output);
+            written++;
+        }
+        if (written > 0) {
+            output.flush();
+        }
+        return written;
+    }
+
+    private static StreamedPayout take(BlockingQueue<StreamedPayout> completed) throws InterruptedException {
+        return completed.take();
+    }
+
+    private void write(StreamedPayout result, OutputStream output) throws IOException {
+        output.write(lineWriter.writeValueAsBytes(result));
+        output.write('\n');
+    }
+
+    /**
+     * One output line: the payout response plus the input line it answers
+     */
+    public static class StreamedPayout {
+
+        private final long line;
+        private final PayoutResponse response;
+
+        StreamedPayout(long line, PayoutResponse response) {
+            this.line = line;
+            this.response = response;
+        }
+
+        public long getLine() { return line; }
+
+        @JsonUnwrapped
+        public PayoutResponse getResponse() { return response; }
+    }
+}
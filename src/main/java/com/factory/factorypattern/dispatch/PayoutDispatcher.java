@@ -0,0 +1,419 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.factory.RouteResolution;
+import com.factory.factorypattern.journal.PayoutJournal;
+import com.factory.factorypattern.model.BatchPayoutResponse;
+import com.factory.factorypattern.model.Deadline;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.reconcile.PendingPayoutReconciler;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 🚚 Payout dispatch - the one place processor calls are made
+ *
+ * - dispatch(): a single payout through the processor's async path, behind
+ *   the provider's circuit breaker, adaptive limiter and bulkhead, with
+ *   outcome metrics / health recorded on completion. Providers with a bulk
+ *   API get their single payouts gathered into micro-batches behind the
+ *   guards. With the journal on, the request is on disk before the provider
+ *   is called (journaled inside the guards, so shed payouts never touch the
+ *   disk) and its outcome is appended after. Every call is bounded by
+ *   the request's deadline (header or per-method default) and answers TIMEOUT
+ *   once it has passed. PENDING outcomes are handed to the reconciler
+ * - submit(): validate + route + dispatch for callers holding raw requests
+ * - dispatchBatch(): many payouts, resolved once per method + country group
+ *   and run in parallel per provider, each provider capped at
+ *   remittance.batch.max-concurrency-per-provider calls in flight (never
+ *   more than the provider's bulkhead can hold)
+ */
+@Component
+public class PayoutDispatcher {
+
+    private final PayoutMethodFactory payoutFactory;
+    private final int maxConcurrencyPerProvider;
+    private final ProviderBulkheads bulkheads;
+    private final ProviderLimiters limiters;
+    private final ProviderCircuitBreakers breakers;
+
+    // Work handed off by other threads (a bulkhead slot freed on a provider's
+    // timer thread) when there is no processor executor; no more threads than
+    // the bulkheads can queue calls
+    private final ExecutorService handoffExecutor;
+
+    // Provided by the Java 21 build (virtual threads); otherwise processors run on the caller's thread
+    @Autowired(required = false)
+    @Qualifier("processorExecutor")
+    private Executor processorExecutor;
+
+    @Autowired(required = false)
+    private Validator validator;
+
+    @Autowired(required = false)
+    private DeadlinePolicy deadlines = DeadlinePolicy.none();
+
+    @Autowired(required = false)
+    private ProviderBatchAccumulators accumulators = ProviderBatchAccumulators.disabled();
+
+    @Autowired(required = false)
+    private PayoutJournal journal = PayoutJournal.disabled();
+
+    @Autowired(required = false)
+    private PendingPayoutReconciler reconciler = PendingPayoutReconciler.disabled();
+
+    public PayoutDispatcher(PayoutMethodFactory payoutFactory, int maxConcurrencyPerProvider) {
+        this(payoutFactory, maxConcurrencyPerProvider, ProviderBulkheads.disabled(), ProviderLimiters.disabled(),
+                ProviderCircuitBreakers.disabled());
+    }
+
+    @Autowired
+    public PayoutDispatcher(PayoutMethodFactory payoutFactory,
+                            @Value("${remittance.batch.max-concurrency-per-provider:64}") int maxConcurrencyPerProvider,
+                            ProviderBulkheads bulkheads,
+                            ProviderLimiters limiters,
+                            ProviderCircuitBreakers breakers) {
+        this.payoutFactory = payoutFactory;
+        this.maxConcurrencyPerProvider = Math.max(1, maxConcurrencyPerProvider);
+        this.bulkheads = bulkheads;
+        this.limiters = limiters;
+        this.breakers = breakers;
+        this.handoffExecutor = handoffPool(Math.max(1, bulkheads.totalQueue()));
+    }
+
+    private static ExecutorService handoffPool(int maxThreads) {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "payout-handoff-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Threads start on demand and go away when idle
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @PreDestroy
+    public void close() {
+        handoffExecutor.shutdown();
+    }
+
+    /**
+     * True when a provider guard answered instead of the provider (retry later)
+     */
+    public static boolean isShed(PayoutResponse response) {
+        String errorCode = response.getErrorCode();
+        return ProviderBulkheads.ERROR_CODE.equals(errorCode) || ProviderLimiters.ERROR_CODE.equals(errorCode) ||
+                ProviderCircuitBreakers.ERROR_CODE.equals(errorCode);
+    }
+
+    /**
+     * True when the processor turned the request down before calling its
+     * provider (e.g. GCASH_VALIDATION_ERROR); such answers say nothing about
+     * the provider's latency
+     */
+    public static boolean isValidationFailure(PayoutResponse response) {
+        String errorCode = response.getErrorCode();
+        return errorCode != null && errorCode.endsWith("VALIDATION_ERROR");
+    }
+
+    /**
+     * Process one payout; completes when the provider answers
+     */
+    public CompletableFuture<PayoutResponse> dispatch(PayoutProcessor processor, PayoutRequest request) {
+        return dispatch(processor, request, call -> startCall(processor, call));
+    }
+
+    /**
+     * Process one payout with a caller-supplied way of invoking the processor
+     * (e.g. the reactive edition's Mono adapter); guards and metrics still apply
+     */
+    public CompletableFuture<PayoutResponse> dispatch(PayoutProcessor processor, PayoutRequest request,
+                                                      Function<PayoutRequest, CompletableFuture<PayoutResponse>> invoke) {
+        Deadline deadline = request.getDeadline();
+        if (deadline == null) {
+            deadline = deadlines.deadlineFor(request.getPayoutMethod(), null);
+            request.setDeadline(deadline);
+        }
+        if (deadline != null && deadline.isExpired()) {
+            return CompletableFuture.completedFuture(PayoutResponse.timeout(processor.getProviderName()));
+        }
+
+        // Outermost guard first: open circuit -> over the limit -> bulkhead full -> 📒 journal -> provider
+        // A caller who asked for less than the provider's budget cannot blame the provider for a timeout
+        ProviderCall providerCall = new ProviderCall(
+                deadline == null || deadline.lengthMillis() >= deadlines.budgetMillis(request.getPayoutMethod()));
+        CompletableFuture<PayoutResponse> guarded = breakers.execute(processor, providerCall, () ->
+                limiters.execute(processor, providerCall, () ->
+                        bulkheads.execute(processor, executor(), () ->
+                                timedCall(processor, request, providerCall, invoke))))
+                // 🔄 PENDING payouts are polled until the provider reports a final status
+                .whenComplete((response, error) -> reconciler.track(processor, response));
+        return deadline == null ? guarded : withDeadline(guarded, deadline, processor);
+    }
+
+    /**
+     * Answer TIMEOUT at the deadline even if the processor does not honour it
+     * The guards keep their slot until the provider really answers
+     */
+    private static CompletableFuture<PayoutResponse> withDeadline(CompletableFuture<PayoutResponse> guarded,
+                                                                  Deadline deadline, PayoutProcessor processor) {
+        if (guarded.isDone()) {
+            return guarded;
+        }
+        return guarded.orTimeout(deadline.remainingNanos(), TimeUnit.NANOSECONDS).exceptionally(error -> {
+            if (error instanceof TimeoutException) {
+                return PayoutResponse.timeout(processor.getProviderName());
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+        });
+    }
+
+    /**
+     * Journal the request, then invoke the processor, recording latency and
+     * outcome when it completes
+     */
+    private CompletableFuture<PayoutResponse> timedCall(PayoutProcessor processor, PayoutRequest request,
+                                                        ProviderCall providerCall,
+                                                        Function<PayoutRequest, CompletableFuture<PayoutResponse>> invoke) {
+        // Waited in the bulkhead queue past the deadline: do not start the call
+        Deadline deadline = request.getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            return CompletableFuture.completedFuture(PayoutResponse.timeout(processor.getProviderName()));
+        }
+        return journal.record(request, executor(), () -> {
+            providerCall.start();
+            long start = System.nanoTime();
+            CompletableFuture<PayoutResponse> call;
+            try {
+                call = invoke.apply(request);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            return call.whenComplete((response, error) ->
+                    payoutFactory.recordOutcome(processor, System.nanoTime() - start, error == null ? response : null));
+        });
+    }
+
+    /**
+     * Validate, route and process one payout; rejections complete immediately
+     */
+    public CompletableFuture<PayoutResponse> submit(PayoutRequest request) {
+        PayoutResponse invalid = validate(request);
+        if (invalid != null) {
+            return CompletableFuture.completedFuture(invalid);
+        }
+        RouteResolution route = payoutFactory.resolve(request.getPayoutMethod(), request.getDestinationCountry());
+        if (!route.isResolved()) {
+            return CompletableFuture.completedFuture(
+                    PayoutResponse.failed(route.getRejectionMessage(), "System", "UNSUPPORTED_COMBINATION"));
+        }
+        return dispatch(route.getProcessor(), request);
+    }
+
+    /**
+     * Process a batch; results come back in input order
+     */
+    public CompletableFuture<BatchPayoutResponse> dispatchBatch(List<PayoutRequest> requests) {
+        long start = System.nanoTime();
+        int count = requests.size();
+        PayoutResponse[] results = new PayoutResponse[count];
+
+        // 🗂️ Group by canonical route; each group resolves its processor once
+        Map<RouteResolution, PayoutProcessor> groups = new IdentityHashMap<>();
+        Map<PayoutProcessor, Lane> lanes = new IdentityHashMap<>();
+        Map<RouteResolution, PayoutResponse> rejections = new IdentityHashMap<>();
+        int rejected = 0;
+
+        for (int i = 0; i < count; i++) {
+            PayoutRequest request = requests.get(i);
+            PayoutResponse invalid = validate(request);
+            if (invalid != null) {
+                results[i] = invalid;
+                rejected++;
+                continue;
+            }
+
+            RouteResolution route = payoutFactory.resolve(request.getPayoutMethod(), request.getDestinationCountry());
+            if (!route.isResolved()) {
+                results[i] = rejections.computeIfAbsent(route, r ->
+                        PayoutResponse.failed(r.getRejectionMessage(), "System", "UNSUPPORTED_COMBINATION"));
+                rejected++;
+                continue;
+            }
+
+            PayoutProcessor processor = groups.computeIfAbsent(route, RouteResolution::getProcessor);
+            lanes.computeIfAbsent(processor, p -> new Lane(p, requests, results)).add(i);
+        }
+
+        // 🚀 Run every provider lane in parallel, capped per provider
+        CompletableFuture<?>[] running = new CompletableFuture<?>[lanes.size()];
+        int lane = 0;
+        for (Lane providerLane : lanes.values()) {
+            running[lane++] = providerLane.start(
+                    Math.min(maxConcurrencyPerProvider, bulkheads.capacity(providerLane.processor)));
+        }
+
+        int groupCount = groups.size() + rejections.size();
+        int rejectedCount = rejected;
+        return CompletableFuture.allOf(running).thenApply(done ->
+                new BatchPayoutResponse(summarize(results, groupCount, rejectedCount, start), Arrays.asList(results)));
+    }
+
+    /**
+     * Queue the call for the provider's next micro-batch, or start it on the
+     * processor executor when there is one
+     */
+    private CompletableFuture<PayoutResponse> startCall(PayoutProcessor processor, PayoutRequest request) {
+        if (accumulators.accumulates(processor)) {
+            return accumulators.submit(processor, request);
+        }
+        return processorExecutor == null
+                ? processor.processTransferAsync(request)
+                : CompletableFuture.supplyAsync(() -> processor.processTransferAsync(request), processorExecutor)
+                        .thenCompose(Function.identity());
+    }
+
+    /**
+     * Where handed-off provider calls start: the processor executor, or the handoff pool
+     */
+    private Executor executor() {
+        return processorExecutor != null ? processorExecutor : handoffExecutor;
+    }
+
+    private PayoutResponse validate(PayoutRequest request) {
+        if (request == null) {
+            return PayoutResponse.failed("Request is required", "System", "VALIDATION_ERROR");
+        }
+        if (validator == null) {
+            return null;
+        }
+        Set<ConstraintViolation<PayoutRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return PayoutResponse.failed(violations.iterator().next().getMessage(), "System", "VALIDATION_ERROR");
+    }
+
+    private static BatchPayoutResponse.Summary summarize(PayoutResponse[] results, int groups, int rejected,
+                                                         long startNanos) {
+        BatchPayoutResponse.Summary summary = new BatchPayoutResponse.Summary();
+        Map<String, Integer> byProvider = new TreeMap<>();
+        int succeeded = 0;
+        int failed = 0;
+        int pending = 0;
+        for (PayoutResponse response : results) {
+            switch (response.getStatus()) {
+                case SUCCESS -> succeeded++;
+                case PENDING -> pending++;
+                default -> failed++;
+            }
+            if (response.getProviderName() != null) {
+                byProvider.merge(response.getProviderName(), 1, Integer::sum);
+            }
+        }
+        summary.setTotal(results.length);
+        summary.setSucceeded(succeeded);
+        summary.setFailed(failed);
+        summary.setPending(pending);
+        summary.setRejected(rejected);
+        summary.setGroups(groups);
+        summary.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        summary.setByProvider(byProvider);
+        return summary;
+    }
+
+    /**
+     * All batch items for one provider, run by at most N concurrent workers
+     *
+     * Each worker takes the next index, starts the call and continues from the
+     * call's completion. Calls that complete inline are looped over instead of
+     * chained, so blocking-only processors cannot overflow the stack.
+     */
+    private final class Lane {
+
+        private final PayoutProcessor processor;
+        private final List<PayoutRequest> requests;
+        private final PayoutResponse[] results;
+        private final List<Integer> indexes = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private AtomicInteger activeWorkers;
+
+        private Lane(PayoutProcessor processor, List<PayoutRequest> requests, PayoutResponse[] results) {
+            this.processor = processor;
+            this.requests = requests;
+            this.results = results;
+        }
+
+        private void add(int index) {
+            indexes.add(index);
+        }
+
+        private CompletableFuture<Void> start(int maxConcurrency) {
+            int workers = Math.min(maxConcurrency, indexes.size());
+            activeWorkers = new AtomicInteger(workers);
+            for (int i = 0; i < workers; i++) {
+                work();
+            }
+            return done;
+        }
+
+        private void work() {
+            while (true) {
+                int position = next.getAndIncrement();
+                if (position >= indexes.size()) {
+                    if (activeWorkers.decrementAndGet() == 0) {
+                        done.complete(null);
+                    }
+                    return;
+                }
+                int index = indexes.get(position);
+                CompletableFuture<PayoutResponse> call = dispatch(processor, requests.get(index));
+                if (!call.isDone()) {
+                    call.whenComplete((response, error) -> {
+                        store(index, error == null ? response : null);
+                        work();
+                    });
+                    return;
+                }
+                store(index, call.exceptionally(error -> null).join());
+            }
+        }
+
+        /**
+         * A null response means the call failed with an exception
+         */
+        private void store(int index, PayoutResponse response) {
+            results[index] = response != null
+                    ? response
+                    : PayoutResponse.failed("Internal server error occurred", processor.getProviderName(), "INTERNAL_ERROR");
+        }
+    }
+}
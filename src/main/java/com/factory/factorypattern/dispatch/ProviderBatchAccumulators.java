@@ -0,0 +1,137 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * 🧺 One micro-batch accumulator per processor with a bulk API
+ *
+ * Single payouts for a provider that overrides processBatchAsync() are
+ * gathered and sent as one bulk call; providers answering item by item are
+ * left alone, since batching them would only add the wait. The accumulator
+ * sits behind the provider guards, so every item still counts against the
+ * circuit breaker, limiter and bulkhead individually.
+ *
+ * CONFIGURATION (remittance.micro-batch):
+ * - enabled                  false = every payout is its own provider call
+ * - max-items                batch size that triggers an immediate flush
+ * - max-wait-millis          longest a payout waits for its batch to fill
+ *
+ * Meters (per provider): payout.batch.queued, payout.batch.flushed,
+ * payout.batch.items
+ */
+@Component
+public class ProviderBatchAccumulators {
+
+    // Flush timer only; the bulk calls themselves must not block it
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, task -> {
+        Thread thread = new Thread(task, "payout-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Read-only after construction
+    private final Map<PayoutProcessor, BatchAccumulator> accumulators;
+
+    @Autowired
+    public ProviderBatchAccumulators(List<PayoutProcessor> processors, MeterRegistry registry,
+                                     @Value("${remittance.micro-batch.enabled:true}") boolean enabled,
+                                     @Value("${remittance.micro-batch.max-items:50}") int maxItems,
+                                     @Value("${remittance.micro-batch.max-wait-millis:10}") long maxWaitMillis) {
+        Map<PayoutProcessor, BatchAccumulator> accumulators = new IdentityHashMap<>();
+        if (enabled) {
+            for (PayoutProcessor processor : processors) {
+                if (!hasBulkApi(processor)) {
+                    continue;
+                }
+                BatchAccumulator accumulator = new BatchAccumulator(maxItems, maxWaitMillis, TIMER,
+                        processor::processBatchAsync, () -> PayoutResponse.timeout(processor.getProviderName()));
+                accumulators.put(processor, accumulator);
+                register(registry, processor.getProviderName(), accumulator);
+            }
+        }
+        this.accumulators = Collections.unmodifiableMap(accumulators);
+    }
+
+    /**
+     * No accumulators (for dispatchers built outside Spring)
+     */
+    public static ProviderBatchAccumulators disabled() {
+        return new ProviderBatchAccumulators(List.of(), null, false, 1, 0);
+    }
+
+    /**
+     * True when the processor's single payouts are gathered into batches
+     */
+    boolean accumulates(PayoutProcessor processor) {
+        return accumulators.containsKey(processor);
+    }
+
+    /**
+     * Queue one payout for the processor's next batch
+     */
+    CompletableFuture<PayoutResponse> submit(PayoutProcessor processor, PayoutRequest request) {
+        return accumulators.get(processor).submit(request);
+    }
+
+    /**
+     * 📊 Batching per provider (for the stats endpoint)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        accumulators.forEach((processor, accumulator) -> {
+            Map<String, Object> provider = new LinkedHashMap<>();
+            long batches = accumulator.batches();
+            provider.put("maxItems", accumulator.maxItems());
+            provider.put("queued", accumulator.queued());
+            provider.put("batches", batches);
+            provider.put("items", accumulator.items());
+            provider.put("averageBatchSize", batches == 0 ? 0.0 : (double) accumulator.items() / batches);
+            stats.put(processor.getProviderName(), provider);
+        });
+        return stats;
+    }
+
+    /**
+     * Only processors overriding the bulk API benefit from batching
+     */
+    static boolean hasBulkApi(PayoutProcessor processor) {
+        try {
+            return processor.getClass().getMethod("processBatchAsync", List.class).getDeclaringClass()
+                    != PayoutProcessor.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static void register(MeterRegistry registry, String provider, BatchAccumulator accumulator) {
+        Gauge.builder("payout.batch.queued", accumulator, BatchAccumulator::queued)
+                .description("Payouts waiting for their micro-batch")
+                .tag("provider", provider)
+                .register(registry);
+        FunctionCounter.builder("payout.batch.flushed", accumulator, BatchAccumulator::batches)
+                .description("Micro-batches sent to the provider")
+                .tag("provider", provider)
+                .register(registry);
+        FunctionCounter.builder("payout.batch.items", accumulator, BatchAccumulator::items)
+                .description("Payouts sent in micro-batches")
+                .tag("provider", provider)
+                .register(registry);
+    }
+}
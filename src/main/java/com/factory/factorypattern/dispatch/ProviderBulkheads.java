@@ -0,0 +1,150 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 🧱 One bulkhead per registered processor
+ *
+ * A slow provider can only fill its own bulkhead; once that is full its
+ * callers get BULKHEAD_FULL straight away while other providers keep their
+ * full capacity.
+ *
+ * CONFIGURATION (remittance.bulkhead):
+ * - max-concurrent / max-queue                       defaults for every provider
+ * - providers.<provider-key>.max-concurrent / ...    per-provider overrides, keyed
+ *   by the lower-case, dash-separated provider name (e.g. international-bank-transfer)
+ *
+ * Meters (per provider): payout.bulkhead.active, payout.bulkhead.queued,
+ * payout.bulkhead.rejected
+ */
+@Component
+public class ProviderBulkheads {
+
+    public static final String ERROR_CODE = "BULKHEAD_FULL";
+
+    private static final String PREFIX = "remittance.bulkhead.";
+
+    // Read-only after construction
+    private final Map<PayoutProcessor, Bulkhead> bulkheads;
+
+    @Autowired
+    public ProviderBulkheads(List<PayoutProcessor> processors, Environment environment, MeterRegistry registry) {
+        this(processors, processor -> {
+            String key = PREFIX + "providers." + providerKey(processor.getProviderName()) + ".";
+            int maxConcurrent = environment.getProperty(PREFIX + "max-concurrent", Integer.class, 100);
+            int maxQueue = environment.getProperty(PREFIX + "max-queue", Integer.class, 100);
+            return new Bulkhead(
+                    environment.getProperty(key + "max-concurrent", Integer.class, maxConcurrent),
+                    environment.getProperty(key + "max-queue", Integer.class, maxQueue));
+        }, registry);
+    }
+
+    ProviderBulkheads(List<PayoutProcessor> processors, int maxConcurrent, int maxQueue) {
+        this(processors, processor -> new Bulkhead(maxConcurrent, maxQueue), new CompositeMeterRegistry());
+    }
+
+    private ProviderBulkheads(List<PayoutProcessor> processors,
+                              Function<PayoutProcessor, Bulkhead> bulkheadOf,
+                              MeterRegistry registry) {
+        Map<PayoutProcessor, Bulkhead> bulkheads = new IdentityHashMap<>();
+        for (PayoutProcessor processor : processors) {
+            Bulkhead bulkhead = bulkheadOf.apply(processor);
+            bulkheads.put(processor, bulkhead);
+            register(registry, processor.getProviderName(), bulkhead);
+        }
+        this.bulkheads = Collections.unmodifiableMap(bulkheads);
+    }
+
+    /**
+     * No bulkheads (for dispatchers built outside Spring)
+     */
+    public static ProviderBulkheads disabled() {
+        return new ProviderBulkheads(List.of(), 1, 0);
+    }
+
+    /**
+     * Run the call inside the processor's bulkhead; unknown processors run unguarded
+     * Calls that had to wait for a slot are started on the handoff executor
+     */
+    CompletableFuture<PayoutResponse> execute(PayoutProcessor processor, Executor handoff,
+                                              Supplier<CompletableFuture<PayoutResponse>> call) {
+        Bulkhead bulkhead = bulkheads.get(processor);
+        if (bulkhead == null) {
+            return call.get();
+        }
+        return bulkhead.execute(call, () -> PayoutResponse.failed(
+                processor.getProviderName() + " is at capacity, please retry later",
+                processor.getProviderName(), ERROR_CODE), handoff);
+    }
+
+    /**
+     * Calls one processor can hold (running + waiting), or Integer.MAX_VALUE when unguarded
+     */
+    int capacity(PayoutProcessor processor) {
+        Bulkhead bulkhead = bulkheads.get(processor);
+        return bulkhead == null ? Integer.MAX_VALUE : bulkhead.maxConcurrent() + bulkhead.maxQueue();
+    }
+
+    /**
+     * Calls all providers together can hold waiting for a slot
+     */
+    int totalQueue() {
+        return (int) Math.min(Integer.MAX_VALUE, bulkheads.values().stream().mapToLong(Bulkhead::maxQueue).sum());
+    }
+
+    /**
+     * 📊 Occupancy per provider (for the stats endpoint)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        bulkheads.forEach((processor, bulkhead) -> {
+            Map<String, Object> provider = new LinkedHashMap<>();
+            provider.put("active", bulkhead.active());
+            provider.put("maxConcurrent", bulkhead.maxConcurrent());
+            provider.put("queued", bulkhead.queued());
+            provider.put("maxQueue", bulkhead.maxQueue());
+            provider.put("rejected", bulkhead.rejected());
+            stats.put(processor.getProviderName(), provider);
+        });
+        return stats;
+    }
+
+    static String providerKey(String providerName) {
+        return providerName.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+
+    private static void register(MeterRegistry registry, String provider, Bulkhead bulkhead) {
+        Gauge.builder("payout.bulkhead.active", bulkhead, Bulkhead::active)
+                .description("Calls running inside the provider bulkhead")
+                .tag("provider", provider)
+                .register(registry);
+        Gauge.builder("payout.bulkhead.queued", bulkhead, Bulkhead::queued)
+                .description("Calls waiting for a bulkhead slot")
+                .tag("provider", provider)
+                .register(registry);
+        FunctionCounter.builder("payout.bulkhead.rejected", bulkhead, Bulkhead::rejected)
+                .description("Calls rejected because the bulkhead was full")
+                .tag("provider", provider)
+                .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.factory.factorypattern.dispatch;
+
+import java.util.function.LongSupplier;
+
+/**
+ * ⏱️ The provider call behind one dispatch, shared with the guards around it
+ *
+ * The dispatcher marks it started right before the processor is invoked, so
+ * a guard can tell a real provider answer from a rejection by an inner guard
+ * or a call that timed out while still queued, and time only the provider's
+ * part of the round trip. It also carries whether a TIMEOUT from this call
+ * is the provider's fault: not when the caller asked for less than the
+ * provider's own budget.
+ */
+final class ProviderCall {
+
+    private final boolean fullBudget;
+    private final LongSupplier clock;
+    private volatile long startNanos;
+    private volatile boolean started;
+
+    /**
+     * @param fullBudget the deadline gave the provider at least its configured budget
+     */
+    ProviderCall(boolean fullBudget) {
+        this(fullBudget, System::nanoTime);
+    }
+
+    /**
+     * @param clock nanosecond clock the call is timed with (a guard's own clock in tests)
+     */
+    ProviderCall(boolean fullBudget, LongSupplier clock) {
+        this.fullBudget = fullBudget;
+        this.clock = clock;
+    }
+
+    /**
+     * The processor is being invoked now
+     */
+    void start() {
+        startNanos = clock.getAsLong();
+        started = true;
+    }
+
+    /**
+     * True once the processor was invoked; false for calls that never left a guard
+     */
+    boolean started() {
+        return started;
+    }
+
+    /**
+     * True when a TIMEOUT means the provider itself ran past its budget,
+     * rather than a short caller deadline or a wait in a guard's queue
+     */
+    boolean timeoutIsProviders() {
+        return started && fullBudget;
+    }
+
+    /**
+     * Time since the processor was invoked, or 0 when it never was
+     */
+    long elapsedNanos() {
+        return started ? clock.getAsLong() - startNanos : 0;
+    }
+}
@@ -0,0 +1,148 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 🔌 One circuit breaker per registered processor
+ *
+ * Outermost provider guard: an open circuit answers CIRCUIT_OPEN before the
+ * limiter, the bulkhead or the provider are touched. Provider errors
+ * (*_API_ERROR), internal errors and exceptions count as failures; rejections
+ * by the other guards are not counted at all. A TIMEOUT counts only when the
+ * provider call started and was given the provider's full budget: timeouts
+ * from a caller's short X-Deadline-Ms, or from a deadline that ran out while
+ * the call was queued behind the limiter or bulkhead, are not counted.
+ *
+ * CONFIGURATION (remittance.circuit-breaker):
+ * - enabled                                      false = no breakers
+ * - window-size / minimum-calls                  sliding window of recent calls
+ * - failure-rate-threshold / slow-call-rate-threshold (0..1)
+ * - slow-call-millis                             calls at least this slow are "slow"
+ * - open-millis                                  how long an open circuit fails fast
+ * - half-open-probes                             probe calls let through when half-open
+ *
+ * Meters (per provider): payout.circuit.state (0 closed, 1 open, 2 half-open),
+ * payout.circuit.rejected
+ */
+@Component
+public class ProviderCircuitBreakers {
+
+    public static final String ERROR_CODE = "CIRCUIT_OPEN";
+
+    // Read-only after construction
+    private final Map<PayoutProcessor, CircuitBreaker> breakers;
+
+    @Autowired
+    public ProviderCircuitBreakers(List<PayoutProcessor> processors, MeterRegistry registry,
+                                   @Value("${remittance.circuit-breaker.enabled:true}") boolean enabled,
+                                   @Value("${remittance.circuit-breaker.window-size:50}") int windowSize,
+                                   @Value("${remittance.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                                   @Value("${remittance.circuit-breaker.failure-rate-threshold:0.5}") double failureRate,
+                                   @Value("${remittance.circuit-breaker.slow-call-rate-threshold:0.8}") double slowCallRate,
+                                   @Value("${remittance.circuit-breaker.slow-call-millis:5000}") long slowCallMillis,
+                                   @Value("${remittance.circuit-breaker.open-millis:10000}") long openMillis,
+                                   @Value("${remittance.circuit-breaker.half-open-probes:3}") int halfOpenProbes) {
+        this(enabled ? processors : List.of(), processor -> new CircuitBreaker(windowSize, minimumCalls,
+                failureRate, slowCallRate, TimeUnit.MILLISECONDS.toNanos(slowCallMillis),
+                TimeUnit.MILLISECONDS.toNanos(openMillis), halfOpenProbes, System::nanoTime), registry);
+    }
+
+    ProviderCircuitBreakers(List<PayoutProcessor> processors, Function<PayoutProcessor, CircuitBreaker> breakerOf) {
+        this(processors, breakerOf, new CompositeMeterRegistry());
+    }
+
+    private ProviderCircuitBreakers(List<PayoutProcessor> processors,
+                                    Function<PayoutProcessor, CircuitBreaker> breakerOf,
+                                    MeterRegistry registry) {
+        Map<PayoutProcessor, CircuitBreaker> breakers = new IdentityHashMap<>();
+        for (PayoutProcessor processor : processors) {
+            CircuitBreaker breaker = breakerOf.apply(processor);
+            breakers.put(processor, breaker);
+            register(registry, processor.getProviderName(), breaker);
+        }
+        this.breakers = Collections.unmodifiableMap(breakers);
+    }
+
+    /**
+     * No breakers (for dispatchers built outside Spring)
+     */
+    public static ProviderCircuitBreakers disabled() {
+        return new ProviderCircuitBreakers(List.of(), processor -> null);
+    }
+
+    /**
+     * Run the call unless the processor's circuit is open; unknown processors run unguarded
+     */
+    CompletableFuture<PayoutResponse> execute(PayoutProcessor processor, ProviderCall providerCall,
+                                              Supplier<CompletableFuture<PayoutResponse>> call) {
+        CircuitBreaker breaker = breakers.get(processor);
+        if (breaker == null) {
+            return call.get();
+        }
+        return breaker.execute(providerCall, call,
+                ProviderCircuitBreakers::isProviderFailure,
+                response -> PayoutDispatcher.isShed(response) ||
+                        (response.getStatus() == PayoutResponse.Status.TIMEOUT && !providerCall.timeoutIsProviders()),
+                () -> PayoutResponse.failed(
+                        processor.getProviderName() + " is temporarily unavailable, please retry later",
+                        processor.getProviderName(), ERROR_CODE));
+    }
+
+    /**
+     * 📊 Breaker state per provider (for the stats endpoint)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        breakers.forEach((processor, breaker) -> {
+            Map<String, Object> provider = new LinkedHashMap<>();
+            provider.put("state", breaker.phase().name());
+            provider.put("failureRate", breaker.failureRate());
+            provider.put("slowCallRate", breaker.slowCallRate());
+            provider.put("rejected", breaker.rejected());
+            stats.put(processor.getProviderName(), provider);
+        });
+        return stats;
+    }
+
+    /**
+     * Timeouts that reach this point were not ignored, so they are the provider's
+     */
+    private static boolean isProviderFailure(PayoutResponse response) {
+        if (response.getStatus() == PayoutResponse.Status.TIMEOUT) {
+            return true;
+        }
+        String errorCode = response.getErrorCode();
+        return response.getStatus() == PayoutResponse.Status.FAILED && errorCode != null &&
+                (errorCode.endsWith("_API_ERROR") || errorCode.equals("INTERNAL_ERROR"));
+    }
+
+    private static void register(MeterRegistry registry, String provider, CircuitBreaker breaker) {
+        Gauge.builder("payout.circuit.state", breaker, b -> b.phase().ordinal())
+                .description("Circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .tag("provider", provider)
+                .register(registry);
+        FunctionCounter.builder("payout.circuit.rejected", breaker, CircuitBreaker::rejected)
+                .description("Calls failed fast by an open circuit")
+                .tag("provider", provider)
+                .register(registry);
+    }
+}
@@ -0,0 +1,112 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 📐 One adaptive concurrency limiter per registered processor
+ *
+ * Sits in front of the provider's bulkhead: the limiter follows observed
+ * latency and sheds calls over its current limit (CONCURRENCY_LIMIT), the
+ * bulkhead stays the hard ceiling behind it.
+ *
+ * CONFIGURATION (remittance.limiter):
+ * - enabled                                      false = no limiters
+ * - initial-limit / min-limit / max-limit        bounds for every provider
+ *
+ * Meters (per provider): payout.limiter.limit, payout.limiter.inflight,
+ * payout.limiter.rejected
+ */
+@Component
+public class ProviderLimiters {
+
+    public static final String ERROR_CODE = "CONCURRENCY_LIMIT";
+
+    // Read-only after construction
+    private final Map<PayoutProcessor, AdaptiveLimiter> limiters;
+
+    @Autowired
+    public ProviderLimiters(List<PayoutProcessor> processors, MeterRegistry registry,
+                            @Value("${remittance.limiter.enabled:true}") boolean enabled,
+                            @Value("${remittance.limiter.initial-limit:20}") int initialLimit,
+                            @Value("${remittance.limiter.min-limit:4}") int minLimit,
+                            @Value("${remittance.limiter.max-limit:200}") int maxLimit) {
+        Map<PayoutProcessor, AdaptiveLimiter> limiters = new IdentityHashMap<>();
+        if (enabled) {
+            for (PayoutProcessor processor : processors) {
+                AdaptiveLimiter limiter = new AdaptiveLimiter(initialLimit, minLimit, maxLimit);
+                limiters.put(processor, limiter);
+                register(registry, processor.getProviderName(), limiter);
+            }
+        }
+        this.limiters = Collections.unmodifiableMap(limiters);
+    }
+
+    /**
+     * No limiters (for dispatchers built outside Spring)
+     */
+    public static ProviderLimiters disabled() {
+        return new ProviderLimiters(List.of(), null, false, 1, 1, 1);
+    }
+
+    /**
+     * Run the call under the processor's limit; unknown processors run unguarded
+     */
+    CompletableFuture<PayoutResponse> execute(PayoutProcessor processor, ProviderCall providerCall,
+                                              Supplier<CompletableFuture<PayoutResponse>> call) {
+        AdaptiveLimiter limiter = limiters.get(processor);
+        if (limiter == null) {
+            return call.get();
+        }
+        return limiter.execute(providerCall, call, () -> PayoutResponse.failed(
+                processor.getProviderName() + " is shedding load, please retry later",
+                processor.getProviderName(), ERROR_CODE));
+    }
+
+    /**
+     * 📊 Current limits per provider (for the stats endpoint)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        limiters.forEach((processor, limiter) -> {
+            Map<String, Object> provider = new LinkedHashMap<>();
+            provider.put("limit", limiter.limit());
+            provider.put("inFlight", limiter.inFlight());
+            provider.put("rejected", limiter.rejected());
+            provider.put("shortRttMillis", limiter.shortRttMillis());
+            provider.put("longRttMillis", limiter.longRttMillis());
+            stats.put(processor.getProviderName(), provider);
+        });
+        return stats;
+    }
+
+    private static void register(MeterRegistry registry, String provider, AdaptiveLimiter limiter) {
+        Gauge.builder("payout.limiter.limit", limiter, AdaptiveLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("provider", provider)
+                .register(registry);
+        Gauge.builder("payout.limiter.inflight", limiter, AdaptiveLimiter::inFlight)
+                .description("Calls counted against the adaptive limit")
+                .tag("provider", provider)
+                .register(registry);
+        FunctionCounter.builder("payout.limiter.rejected", limiter, AdaptiveLimiter::rejected)
+                .description("Calls shed by the adaptive limiter")
+                .tag("provider", provider)
+                .register(registry);
+    }
+}
@@ -1,13 +1,21 @@
 package com.factory.factorypattern.factory;
+import com.factory.factorypattern.metrics.PayoutMetrics;
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
 import com.factory.factorypattern.model.PayoutProcessor;
-import com.factory.factorypattern.service.BankTransferProcessor;
-import com.factory.factorypattern.service.GCashProcessor;
-import com.factory.factorypattern.service.PaytmProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 🎯 FACTORY PATTERN - The Factory Class
@@ -18,7 +26,7 @@ import java.util.Map;
  * 1. Encapsulates object creation logic
  * 2. Provides a single point for creating processors
  * 3. Hides concrete class instantiation from clients
- * 4. Makes adding new processors easy (just add to switch/map)
+ * 4. Makes adding new processors easy (just register a processor bean)
  * 5. Reduces coupling between client and concrete classes
  *
  * KEY BENEFITS DEMONSTRATED:
@@ -29,18 +37,31 @@ import java.util.Map;
 @Component
 public class PayoutMethodFactory {
 
-    // Spring will inject all PayoutProcessor implementations
-    @Autowired
-    private GCashProcessor gCashProcessor;
+    // Capability matrix derived from every registered processor's descriptors
+    private final ProcessorRegistry registry;
 
-    @Autowired
-    private PaytmProcessor paytmProcessor;
+    // Immutable, pre-resolved routing snapshot (swapped atomically, never mutated)
+    private volatile RoutingTable routingTable;
 
-    @Autowired
-    private BankTransferProcessor bankTransferProcessor;
+    // Externalized rules behind the current snapshot (null = processor descriptors)
+    private volatile RoutingRules activeRules;
+    private volatile long routingVersion;
+    private volatile long lastSwapNanos;
 
-    // Cache for processor mappings (performance optimization)
-    private final Map<String, PayoutProcessor> processorCache = new HashMap<>();
+    // Pre-registered meters (route hit/miss, per-provider timers and error codes)
+    private final PayoutMetrics metrics;
+
+    public PayoutMethodFactory(List<PayoutProcessor> processors) {
+        this(processors, PayoutMetrics.disabled());
+    }
+
+    // Spring will inject all PayoutProcessor implementations
+    @Autowired
+    public PayoutMethodFactory(List<PayoutProcessor> processors, PayoutMetrics metrics) {
+        this.registry = ProcessorRegistry.discover(processors);
+        this.metrics = metrics;
+        this.routingTable = buildRoutingTable();
+    }
 
     /**
      * 🎯 MAIN FACTORY METHOD
@@ -50,80 +71,99 @@ public class PayoutMethodFactory {
      * - Uses creation logic to select appropriate concrete class
      * - Returns interface type (PayoutProcessor) not concrete type
      * - Client code doesn't need to know which concrete class is returned
+     *
+     * Lookups read the current routing snapshot without locking, so any number
+     * of request threads can resolve processors concurrently. When a route has
+     * several candidates, the healthier of two sampled candidates is returned.
      */
     public PayoutProcessor createProcessor(String method, String country) {
-        // Normalize inputs
-        String normalizedMethod = method != null ? method.toLowerCase().trim() : "";
-        String normalizedCountry = country != null ? country.toLowerCase().trim() : "";
-
-        // Create cache key
-        String cacheKey = normalizedMethod + "_" + normalizedCountry;
-
-        // Check cache first (performance optimization)
-        if (processorCache.containsKey(cacheKey)) {
-            System.out.println("🎯 Factory: Retrieved from cache - " + cacheKey);
-            return processorCache.get(cacheKey);
+        RouteResolution resolution = resolve(method, country);
+        if (!resolution.isResolved()) {
+            throw unsupported(method, country);
         }
+        return resolution.getProcessor();
+    }
 
-        // 🏭 FACTORY CREATION LOGIC
-        PayoutProcessor processor = createProcessorInternal(normalizedMethod, normalizedCountry);
-
-        // Cache the result
-        processorCache.put(cacheKey, processor);
-
-        System.out.println("🏭 Factory created: " + processor.getProviderName() +
-                " for " + normalizedMethod + " in " + normalizedCountry);
+    /**
+     * 🧭 NON-THROWING FACTORY METHOD
+     *
+     * Resolves a raw method + country pair without exceptions. Failures are
+     * shared, prebuilt rejections (one per canonical pair, plus the UNKNOWN_*
+     * constants for unparseable input), so probing unsupported combinations
+     * allocates nothing and cannot grow any cache.
+     */
+    public RouteResolution resolve(String method, String country) {
+        // 🗺️ Canonicalize inputs (case/whitespace/alias folding without allocation)
+        PayoutMethod payoutMethod = PayoutMethod.resolve(method);
+        if (payoutMethod == null) {
+            metrics.routeMiss();
+            return RouteResolution.UNKNOWN_METHOD;
+        }
+        Country destination = Country.resolve(country);
+        if (destination == null) {
+            metrics.routeMiss();
+            return RouteResolution.UNKNOWN_COUNTRY;
+        }
+        RouteResolution resolution = routingTable.resolve(payoutMethod, destination);
+        if (resolution.isResolved()) {
+            metrics.routeHit();
+        } else {
+            metrics.routeMiss();
+        }
+        return resolution;
+    }
 
+    /**
+     * 🎯 ENUM FACTORY METHOD: For callers that already hold canonical values
+     */
+    public PayoutProcessor getProcessor(PayoutMethod method, Country country) {
+        PayoutProcessor processor = method != null && country != null
+                ? routingTable.lookup(method, country)
+                : null;
+        if (processor == null) {
+            metrics.routeMiss();
+            throw unsupported(method != null ? method.getValue() : null,
+                    country != null ? country.getValue() : null);
+        }
+        metrics.routeHit();
         return processor;
     }
 
+    /**
+     * Builds the unsupported-combination error (failure path only)
+     */
+    private IllegalArgumentException unsupported(String method, String country) {
+        String normalizedMethod = method != null ? method.trim().toLowerCase(Locale.ROOT) : "";
+        String normalizedCountry = country != null ? country.trim().toLowerCase(Locale.ROOT) : "";
+        String errorMsg = "Unsupported combination: " + normalizedMethod + " in " + normalizedCountry;
+        return new IllegalArgumentException(errorMsg +
+                ". Supported: mobile_wallet(ph,in), bank_transfer(multiple countries)");
+    }
+
     /**
      * Internal creation logic - this is where the magic happens!
      *
      * 🎯 FACTORY PATTERN CORE LOGIC:
      * - Uses method + country combination to determine processor
-     * - Switch statement provides clear, maintainable creation rules
-     * - Easy to extend: just add new case for new processor
-     * - Fails fast with clear error message for unsupported combinations
+     * - Routes come from the processors' own descriptors, no hand-written rules
+     * - Easy to extend: a new PayoutProcessor bean is picked up automatically
+     * - Every combination is resolved once, up front, into an immutable snapshot
      */
-    private PayoutProcessor createProcessorInternal(String method, String country) {
-        // Create decision key
-        String key = method + "_" + country;
-
-        return switch (key) {
-            // 🇵🇭 Philippines Mobile Wallet -> GCash
-            case "mobile_wallet_philippines", "mobile_wallet_ph" -> {
-                System.out.println("🏭 Creating GCash processor for Philippines");
-                yield gCashProcessor;
-            }
-
-            // 🇮🇳 India Mobile/Digital Wallet -> Paytm
-            case "mobile_wallet_india", "mobile_wallet_in",
-                 "digital_wallet_india", "digital_wallet_in" -> {
-                System.out.println("🏭 Creating Paytm processor for India");
-                yield paytmProcessor;
-            }
-
-            // 🏦 Bank Transfer for multiple countries
-            case "bank_transfer_india", "bank_transfer_in",
-                 "bank_transfer_philippines", "bank_transfer_ph",
-                 "bank_transfer_bangladesh", "bank_transfer_bd",
-                 "bank_transfer_nepal", "bank_transfer_np",
-                 "bank_transfer_sri lanka", "bank_transfer_lk",
-                 "wire_transfer_india", "wire_transfer_in",
-                 "wire_transfer_philippines", "wire_transfer_ph" -> {
-                System.out.println("🏭 Creating Bank Transfer processor for " + country);
-                yield bankTransferProcessor;
-            }
+    private RoutingTable buildRoutingTable() {
+        RoutingTable table = registry.toRoutingTable();
 
-            // ❌ Unsupported combination
-            default -> {
-                String errorMsg = "Unsupported combination: " + method + " in " + country;
-                System.err.println("❌ Factory Error: " + errorMsg);
-                throw new IllegalArgumentException(errorMsg +
-                        ". Supported: mobile_wallet(ph,in), bank_transfer(multiple countries)");
-            }
-        };
+        for (ProcessorRegistry.Capability capability : registry.capabilities()) {
+            System.out.println("🏭 Factory registered " + capability.processor().getProviderName() +
+                    ": " + capability.routeCount() + " routes");
+        }
+        if (!registry.sharedRoutes().isEmpty()) {
+            System.out.println("🔀 Factory multi-provider routes: " + registry.sharedRoutes());
+        }
+        if (!registry.uncoveredMethods().isEmpty()) {
+            System.out.println("⚠️ Factory has no processor for: " + registry.uncoveredMethods());
+        }
+        System.out.println("🏭 Factory routing table built: " + table.size() + " routes");
+        return table;
     }
 
     /**
@@ -131,19 +171,19 @@ public class PayoutMethodFactory {
      * Helpful for API documentation and validation
      */
     public Map<String, String> getSupportedCombinations() {
+        RoutingTable table = routingTable;
         Map<String, String> supported = new HashMap<>();
 
-        // Mobile Wallets
-        supported.put("mobile_wallet_philippines", "GCash Philippines");
-        supported.put("mobile_wallet_india", "Paytm India");
-        supported.put("digital_wallet_india", "Paytm India");
-
-        // Bank Transfers
-        supported.put("bank_transfer_india", "International Bank Transfer");
-        supported.put("bank_transfer_philippines", "International Bank Transfer");
-        supported.put("bank_transfer_bangladesh", "International Bank Transfer");
-        supported.put("bank_transfer_nepal", "International Bank Transfer");
-        supported.put("bank_transfer_sri_lanka", "International Bank Transfer");
+        for (PayoutMethod method : PayoutMethod.values()) {
+            for (Country country : Country.values()) {
+                List<PayoutProcessor> candidates = table.candidates(method, country);
+                if (!candidates.isEmpty()) {
+                    supported.put(method.getValue() + "_" + country.getValue(), candidates.stream()
+                            .map(PayoutProcessor::getProviderName)
+                            .collect(Collectors.joining(", ")));
+                }
+            }
+        }
 
         return supported;
     }
@@ -153,29 +193,91 @@ public class PayoutMethodFactory {
      * Client can validate before calling createProcessor
      */
     public boolean isSupported(String method, String country) {
-        try {
-            createProcessor(method, country);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
+        return resolve(method, country).isResolved();
+    }
+
+    /**
+     * 📈 FEEDBACK: Record how a processor call went
+     *
+     * Feeds the latency/error averages used to choose between candidate
+     * processors and the per-provider meters. Provider errors (*_API_ERROR)
+     * count against a provider, request validation failures do not. Lock-free.
+     */
+    public void recordOutcome(PayoutProcessor processor, long latencyNanos, PayoutResponse response) {
+        metrics.recordTransfer(processor, latencyNanos, response);
+
+        ProviderHealth health = registry.healthOf(processor);
+        if (health == null) {
+            return;
         }
+        boolean providerError = response == null ||
+                (response.getStatus() == PayoutResponse.Status.FAILED &&
+                        response.getErrorCode() != null &&
+                        response.getErrorCode().endsWith("_API_ERROR"));
+        health.record(latencyNanos, providerError);
     }
 
     /**
-     * 🧹 CACHE MANAGEMENT: Clear cache (useful for testing)
+     * 🔄 HOT RELOAD: Compile rules into a new snapshot and swap it in atomically
+     *
+     * Validation happens before the swap, so an invalid rule set leaves the
+     * current snapshot in place. In-flight lookups never block and see either
+     * the old or the new table, never a half-built one.
+     *
+     * @return how long compiling and swapping took
      */
-    public void clearCache() {
-        processorCache.clear();
-        System.out.println("🧹 Factory cache cleared");
+    public synchronized Duration applyRules(RoutingRules rules) {
+        long start = System.nanoTime();
+        RoutingTable table = registry.compile(rules);
+        routingTable = table;
+        activeRules = rules;
+        long elapsed = System.nanoTime() - start;
+
+        lastSwapNanos = elapsed;
+        routingVersion++;
+        System.out.println("🔄 Factory routing rules applied: " + table.size() + " routes, swapped in " +
+                TimeUnit.NANOSECONDS.toMicros(elapsed) + "µs");
+        return Duration.ofNanos(elapsed);
     }
 
     /**
-     * 📊 CACHE STATS: Get cache information
+     * 🧹 CACHE MANAGEMENT: Rebuild the routing snapshot from its current source
+     * In-flight lookups keep using the previous snapshot until the swap
+     */
+    public synchronized void clearCache() {
+        RoutingRules rules = activeRules;
+        routingTable = rules != null ? registry.compile(rules) : buildRoutingTable();
+        System.out.println("🧹 Factory routing table rebuilt");
+    }
+
+    /**
+     * 📊 CACHE STATS: Get routing table information
      */
     public Map<String, Object> getCacheStats() {
+        RoutingTable table = routingTable;
         Map<String, Object> stats = new HashMap<>();
-        stats.put("cacheSize", processorCache.size());
-        stats.put("cachedKeys", processorCache.keySet());
+        stats.put("cacheSize", table.size());
+        stats.put("cachedKeys", table.keys());
+        stats.put("routingSource", activeRules != null ? "rules-file" : "processor-descriptors");
+        stats.put("routingVersion", routingVersion);
+        stats.put("lastSwapMicros", TimeUnit.NANOSECONDS.toMicros(lastSwapNanos));
+        stats.put("providers", getProviderStats());
         return stats;
     }
+
+    /**
+     * 📊 PROVIDER STATS: Live scores used for multi-provider selection
+     */
+    private Map<String, Object> getProviderStats() {
+        Map<String, Object> providers = new TreeMap<>();
+        for (ProcessorRegistry.Capability capability : registry.capabilities()) {
+            ProviderHealth health = registry.healthOf(capability.processor());
+            Map<String, Object> provider = new LinkedHashMap<>();
+            provider.put("latencyEwmaMicros", health.latencyEwmaNanos() / 1_000.0);
+            provider.put("errorRateEwma", health.errorRateEwma());
+            provider.put("selections", health.selections());
+            providers.put(capability.processor().getProviderName(), provider);
+        }
+        return providers;
+    }
 }
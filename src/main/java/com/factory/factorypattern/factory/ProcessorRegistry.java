@@ -0,0 +1,220 @@
+package com.factory.factorypattern.factory;
+
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
+import com.factory.factorypattern.model.PayoutProcessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔎 FACTORY PATTERN - Processor Discovery
+ *
+ * Turns the descriptors every processor already exposes
+ * (getSupportedMethods / getSupportedCountries) into a compact capability
+ * matrix: one method bitset and one country bitset per processor.
+ *
+ * Validation happens here, once, at startup:
+ * - Gaps: a descriptor that is not a known method/country, or a processor
+ *   that declares no routes at all
+ * - Overlaps: several processors claiming the same method + country pair
+ *   become candidates for that route and are reported as shared routes
+ */
+final class ProcessorRegistry {
+
+    static {
+        // Bitsets are an int of methods and a long of countries
+        if (PayoutMethod.values().length > Integer.SIZE || Country.values().length > Long.SIZE) {
+            throw new ExceptionInInitializerError("Capability bitsets too small for registry");
+        }
+    }
+
+    /**
+     * Capability bitsets for one processor
+     */
+    record Capability(PayoutProcessor processor, int methodBits, long countryBits) {
+
+        int routeCount() {
+            return Integer.bitCount(methodBits) * Long.bitCount(countryBits);
+        }
+    }
+
+    private final List<Capability> capabilities;
+
+    // Live scores per processor, shared by every snapshot compiled from this registry
+    private final Map<PayoutProcessor, ProviderHealth> health;
+
+    private ProcessorRegistry(List<Capability> capabilities) {
+        this.capabilities = List.copyOf(capabilities);
+        Map<PayoutProcessor, ProviderHealth> health = new IdentityHashMap<>();
+        for (Capability capability : capabilities) {
+            health.put(capability.processor(), new ProviderHealth());
+        }
+        this.health = Collections.unmodifiableMap(health);
+    }
+
+    /**
+     * Resolve and validate the capability matrix for the given processors
+     */
+    static ProcessorRegistry discover(List<? extends PayoutProcessor> processors) {
+        if (processors == null || processors.isEmpty()) {
+            throw new IllegalStateException("No PayoutProcessor beans registered");
+        }
+
+        List<Capability> capabilities = new ArrayList<>(processors.size());
+        for (PayoutProcessor processor : processors) {
+            capabilities.add(capabilityOf(processor));
+        }
+        return new ProcessorRegistry(capabilities);
+    }
+
+    private static Capability capabilityOf(PayoutProcessor processor) {
+        String name = processor.getProviderName();
+
+        int methodBits = 0;
+        for (String value : descriptors(processor.getSupportedMethods())) {
+            PayoutMethod method = PayoutMethod.resolve(value);
+            if (method == null) {
+                throw new IllegalStateException("Routing gap: " + name + " declares unknown method '" + value + "'");
+            }
+            methodBits |= 1 << method.ordinal();
+        }
+
+        long countryBits = 0L;
+        for (String value : descriptors(processor.getSupportedCountries())) {
+            Country country = Country.resolve(value);
+            if (country == null) {
+                throw new IllegalStateException("Routing gap: " + name + " declares unknown country '" + value + "'");
+            }
+            countryBits |= 1L << country.ordinal();
+        }
+
+        if (methodBits == 0 || countryBits == 0L) {
+            throw new IllegalStateException("Routing gap: " + name + " declares no supported routes");
+        }
+        return new Capability(processor, methodBits, countryBits);
+    }
+
+    private static String[] descriptors(String[] values) {
+        return values != null ? values : new String[0];
+    }
+
+    List<Capability> capabilities() {
+        return capabilities;
+    }
+
+    /**
+     * Live score of a registered processor (null for unknown processors)
+     */
+    ProviderHealth healthOf(PayoutProcessor processor) {
+        return health.get(processor);
+    }
+
+    /**
+     * Compile the matrix into an immutable routing snapshot
+     */
+    RoutingTable toRoutingTable() {
+        RoutingTable.Builder builder = RoutingTable.builder();
+        for (Capability capability : capabilities) {
+            builder.candidate(capability.processor(), capability.methodBits(), capability.countryBits());
+        }
+        return builder.build(this::healthOf);
+    }
+
+    /**
+     * Compile externalized rules into a routing snapshot
+     *
+     * Every rule is validated against the registered processors: each provider
+     * must exist and may only be routed pairs its own descriptors declare.
+     * Rules that name several providers, or that overlap, make those providers
+     * candidates for the same route.
+     */
+    RoutingTable compile(RoutingRules rules) {
+        RoutingTable.Builder builder = RoutingTable.builder();
+        for (RoutingRules.Route route : rules.getRoutes()) {
+            List<String> providers = route.providerNames();
+            if (providers.isEmpty()) {
+                throw new IllegalArgumentException("Rule for " + route.getMethods() + " names no provider");
+            }
+
+            int methodBits = 0;
+            for (String value : route.getMethods()) {
+                PayoutMethod method = PayoutMethod.resolve(value);
+                if (method == null) {
+                    throw new IllegalArgumentException("Unknown method '" + value + "' for " + providers);
+                }
+                methodBits |= 1 << method.ordinal();
+            }
+
+            long countryBits = 0L;
+            for (String value : route.getCountries()) {
+                Country country = Country.resolve(value);
+                if (country == null) {
+                    throw new IllegalArgumentException("Unknown country '" + value + "' for " + providers);
+                }
+                countryBits |= 1L << country.ordinal();
+            }
+
+            for (String provider : providers) {
+                Capability capability = capabilityOf(provider);
+                if ((methodBits & ~capability.methodBits()) != 0 || (countryBits & ~capability.countryBits()) != 0) {
+                    throw new IllegalArgumentException("Rule routes " + route.getMethods() + " in " +
+                            route.getCountries() + " to " + provider + ", which does not support it");
+                }
+                builder.candidate(capability.processor(), methodBits, countryBits);
+            }
+        }
+        return builder.build(this::healthOf);
+    }
+
+    private Capability capabilityOf(String providerName) {
+        for (Capability capability : capabilities) {
+            if (capability.processor().getProviderName().equals(providerName)) {
+                return capability;
+            }
+        }
+        throw new IllegalArgumentException("Unknown provider in routing rules: " + providerName);
+    }
+
+    /**
+     * Routes claimed by more than one processor, as "method_country" keys
+     */
+    List<String> sharedRoutes() {
+        List<String> shared = new ArrayList<>();
+        for (PayoutMethod method : PayoutMethod.values()) {
+            for (Country country : Country.values()) {
+                int claims = 0;
+                for (Capability capability : capabilities) {
+                    if ((capability.methodBits() & (1 << method.ordinal())) != 0 &&
+                            (capability.countryBits() & (1L << country.ordinal())) != 0) {
+                        claims++;
+                    }
+                }
+                if (claims > 1) {
+                    shared.add(method.getValue() + "_" + country.getValue());
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Canonical methods no processor serves anywhere (reported, not fatal)
+     */
+    List<PayoutMethod> uncoveredMethods() {
+        int covered = 0;
+        for (Capability capability : capabilities) {
+            covered |= capability.methodBits();
+        }
+        List<PayoutMethod> uncovered = new ArrayList<>();
+        for (PayoutMethod method : PayoutMethod.values()) {
+            if ((covered & (1 << method.ordinal())) == 0) {
+                uncovered.add(method);
+            }
+        }
+        return uncovered;
+    }
+}
@@ -0,0 +1,95 @@
+package com.factory.factorypattern.factory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📈 FACTORY PATTERN - Live Provider Health
+ *
+ * Exponentially weighted moving averages of call latency and provider error
+ * rate for one processor, used to pick between candidate processors.
+ *
+ * - Averages are stored as double bits in atomics and updated with CAS, so
+ *   recording and scoring are lock-free
+ * - Scores decay while a provider is not being called, so a provider that was
+ *   slow gets probed again once it has been idle for a while
+ */
+final class ProviderHealth {
+
+    // Weight of the newest sample
+    private static final double ALPHA = 0.2;
+
+    // Idle time after which a provider's score has decayed by ~63%
+    private static final double DECAY_NANOS = 10_000_000_000d;
+
+    // A provider failing every call costs this many times its latency
+    private static final double ERROR_PENALTY = 10.0;
+
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final AtomicLong errorBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final LongAdder selections = new LongAdder();
+    private volatile long lastUpdateNanos = System.nanoTime();
+
+    /**
+     * Record one completed call
+     */
+    void record(long latencyNanos, boolean providerError) {
+        update(latencyBits, latencyNanos, true);
+        update(errorBits, providerError ? 1.0 : 0.0, false);
+        lastUpdateNanos = System.nanoTime();
+    }
+
+    /**
+     * Expected cost of the next call (lower is better)
+     */
+    double cost(long nowNanos) {
+        double decay = Math.exp(-(nowNanos - lastUpdateNanos) / DECAY_NANOS);
+        double latency = Double.longBitsToDouble(latencyBits.get()) * decay;
+        double errors = Double.longBitsToDouble(errorBits.get()) * decay;
+        return latency * (1.0 + ERROR_PENALTY * errors);
+    }
+
+    double latencyEwmaNanos() {
+        return Double.longBitsToDouble(latencyBits.get());
+    }
+
+    double errorRateEwma() {
+        return Double.longBitsToDouble(errorBits.get());
+    }
+
+    long selections() {
+        return selections.sum();
+    }
+
+    /**
+     * Power-of-two-choices: sample two distinct candidates, keep the cheaper one
+     */
+    static int choose(ProviderHealth[] candidates) {
+        int n = candidates.length;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(n);
+        int b = random.nextInt(n - 1);
+        if (b >= a) {
+            b++;
+        }
+
+        long now = System.nanoTime();
+        int pick = candidates[a].cost(now) <= candidates[b].cost(now) ? a : b;
+        candidates[pick].selections.increment();
+        return pick;
+    }
+
+    private static void update(AtomicLong bits, double sample, boolean seedWithFirstSample) {
+        while (true) {
+            long current = bits.get();
+            double average = Double.longBitsToDouble(current);
+            double next = seedWithFirstSample && average == 0.0
+                    ? sample
+                    : average + ALPHA * (sample - average);
+            if (bits.compareAndSet(current, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
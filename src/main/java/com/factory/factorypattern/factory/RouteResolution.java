@@ -0,0 +1,105 @@
+package com.factory.factorypattern.factory;
+
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
+import com.factory.factorypattern.model.PayoutProcessor;
+
+import java.util.List;
+
+/**
+ * 🧭 FACTORY PATTERN - Route Resolution Result
+ *
+ * Non-throwing answer to "which processor handles this method + country?".
+ *
+ * - Successful resolutions are built once per route with the routing snapshot
+ * - Failures are shared constants, so probing unsupported combinations never
+ *   allocates, builds error strings or captures a stack trace
+ * - Each routing snapshot holds one rejection per canonical method + country
+ *   pair with its error message prebuilt; unparseable input maps to the
+ *   UNKNOWN_* constants, so the set of rejections is bounded by the enums
+ * - A route may have several candidate processors; getProcessor() picks one
+ *   per call from live latency/error scores (power-of-two-choices)
+ */
+public final class RouteResolution {
+
+    public enum Outcome {
+        RESOLVED, UNKNOWN_METHOD, UNKNOWN_COUNTRY, UNSUPPORTED
+    }
+
+    public static final RouteResolution UNKNOWN_METHOD =
+            new RouteResolution(Outcome.UNKNOWN_METHOD, null, null, null, null, "Unknown payout method");
+    public static final RouteResolution UNKNOWN_COUNTRY =
+            new RouteResolution(Outcome.UNKNOWN_COUNTRY, null, null, null, null, "Unknown destination country");
+    public static final RouteResolution UNSUPPORTED =
+            new RouteResolution(Outcome.UNSUPPORTED, null, null, null, null, "Unsupported combination");
+
+    private final Outcome outcome;
+    private final PayoutMethod method;
+    private final Country country;
+    private final PayoutProcessor[] candidates;
+    private final ProviderHealth[] health;
+    private final String rejectionMessage;
+
+    private RouteResolution(Outcome outcome, PayoutMethod method, Country country,
+                            PayoutProcessor[] candidates, ProviderHealth[] health, String rejectionMessage) {
+        this.outcome = outcome;
+        this.method = method;
+        this.country = country;
+        this.candidates = candidates;
+        this.health = health;
+        this.rejectionMessage = rejectionMessage;
+    }
+
+    public static RouteResolution resolved(PayoutMethod method, Country country, PayoutProcessor processor) {
+        return new RouteResolution(Outcome.RESOLVED, method, country, new PayoutProcessor[]{processor}, null, null);
+    }
+
+    /**
+     * Rejection for a known method + country pair that has no route
+     */
+    static RouteResolution unsupported(PayoutMethod method, Country country) {
+        return new RouteResolution(Outcome.UNSUPPORTED, method, country, null, null,
+                "Unsupported combination: " + method.getValue() + " in " + country.getValue());
+    }
+
+    /**
+     * Multi-provider route; health[i] scores candidates[i]
+     */
+    static RouteResolution resolved(PayoutMethod method, Country country,
+                                    PayoutProcessor[] candidates, ProviderHealth[] health) {
+        if (candidates.length == 1) {
+            return resolved(method, country, candidates[0]);
+        }
+        return new RouteResolution(Outcome.RESOLVED, method, country, candidates.clone(), health.clone(), null);
+    }
+
+    public boolean isResolved() {
+        return outcome == Outcome.RESOLVED;
+    }
+
+    public Outcome getOutcome() { return outcome; }
+
+    public PayoutMethod getMethod() { return method; }
+
+    public Country getCountry() { return country; }
+
+    /**
+     * Prebuilt error message (null when resolved)
+     */
+    public String getRejectionMessage() { return rejectionMessage; }
+
+    /**
+     * Processor for this call: the only candidate, or the healthier of two sampled ones
+     */
+    public PayoutProcessor getProcessor() {
+        PayoutProcessor[] routed = candidates;
+        if (routed == null) {
+            return null;
+        }
+        return routed.length == 1 ? routed[0] : routed[ProviderHealth.choose(health)];
+    }
+
+    public List<PayoutProcessor> getCandidates() {
+        return candidates != null ? List.of(candidates) : List.of();
+    }
+}
@@ -0,0 +1,105 @@
+package com.factory.factorypattern.factory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 📜 FACTORY PATTERN - Externalized Routing Rules
+ *
+ * Routing rules loaded from a local YAML or JSON file, e.g.
+ *
+ * <pre>
+ * routes:
+ *   - provider: GCash Philippines
+ *     methods: [mobile_wallet]
+ *     countries: [ph]
+ *   - providers: [International Bank Transfer, Backup Bank Rail]
+ *     methods: [bank_transfer, wire_transfer]
+ *     countries: [in, ph, bd, np, lk]
+ * </pre>
+ *
+ * Providers are matched by PayoutProcessor.getProviderName(); methods and
+ * countries accept any alias the canonical registry knows. Listing several
+ * providers makes them candidates, picked per call by live health.
+ */
+public class RoutingRules {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private List<Route> routes = new ArrayList<>();
+
+    public List<Route> getRoutes() { return routes; }
+    public void setRoutes(List<Route> routes) { this.routes = routes; }
+
+    /**
+     * Parse a rules file, picking the format from its extension (.yml/.yaml or JSON)
+     */
+    public static RoutingRules load(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        ObjectMapper mapper = name.endsWith(".yml") || name.endsWith(".yaml") ? YAML : JSON;
+        try (InputStream in = Files.newInputStream(file)) {
+            RoutingRules rules = mapper.readValue(in, RoutingRules.class);
+            if (rules == null || rules.getRoutes() == null || rules.getRoutes().isEmpty()) {
+                throw new IOException("Routing rules file has no routes: " + file);
+            }
+            return rules;
+        }
+    }
+
+    /**
+     * One provider serving a set of methods in a set of countries
+     */
+    public static class Route {
+
+        private String provider;
+        private List<String> providers = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        private List<String> countries = new ArrayList<>();
+
+        public Route() {}
+
+        public Route(String provider, List<String> methods, List<String> countries) {
+            this.provider = provider;
+            this.methods = methods;
+            this.countries = countries;
+        }
+
+        public String getProvider() { return provider; }
+        public void setProvider(String provider) { this.provider = provider; }
+
+        public List<String> getProviders() { return providers; }
+        public void setProviders(List<String> providers) { this.providers = providers; }
+
+        public List<String> getMethods() { return methods; }
+        public void setMethods(List<String> methods) { this.methods = methods; }
+
+        public List<String> getCountries() { return countries; }
+        public void setCountries(List<String> countries) { this.countries = countries; }
+
+        /**
+         * provider and providers combined, in declaration order
+         */
+        List<String> providerNames() {
+            List<String> names = new ArrayList<>();
+            if (provider != null) {
+                names.add(provider);
+            }
+            if (providers != null) {
+                names.addAll(providers);
+            }
+            return names;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.factory.factorypattern.factory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * 👀 FACTORY PATTERN - Routing Rules Hot Reload
+ *
+ * Loads routing rules from remittance.routing.rules-file at startup and
+ * watches the file for changes. Every change is parsed, validated against the
+ * registered processors and swapped into the factory atomically. A broken
+ * file is reported and the previous snapshot stays active.
+ *
+ * Disabled when no rules file is configured (routes then come from the
+ * processors' own descriptors).
+ */
+@Component
+public class RoutingRulesWatcher {
+
+    private final PayoutMethodFactory payoutFactory;
+    private final Path rulesFile;
+
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public RoutingRulesWatcher(PayoutMethodFactory payoutFactory,
+                               @Value("${remittance.routing.rules-file:}") String rulesFile) {
+        this.payoutFactory = payoutFactory;
+        this.rulesFile = rulesFile == null || rulesFile.isBlank()
+                ? null
+                : Paths.get(rulesFile).toAbsolutePath().normalize();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (rulesFile == null) {
+            return;
+        }
+
+        // Fail startup on an invalid initial rule set
+        payoutFactory.applyRules(RoutingRules.load(rulesFile));
+
+        watchService = FileSystems.getDefault().newWatchService();
+        rulesFile.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcherThread = new Thread(this::watch, "routing-rules-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        System.out.println("👀 Watching routing rules: " + rulesFile);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (context instanceof Path path && rulesFile.getFileName().equals(path)) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    reload();
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Reload and swap; on any error the current snapshot stays active
+     */
+    boolean reload() {
+        try {
+            payoutFactory.applyRules(RoutingRules.load(rulesFile));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Routing rules rejected, keeping current routes: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.factory.factorypattern.factory;
+
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
+import com.factory.factorypattern.model.PayoutProcessor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 🗺️ FACTORY PATTERN - Immutable Routing Snapshot
+ *
+ * Pre-resolved method + country -> processor table built once by the factory.
+ * Slots are addressed by enum ordinals, so a lookup is a single array read,
+ * and each slot holds a resolution built once with the snapshot. Slots without
+ * a route hold a prebuilt rejection, so the snapshot doubles as a bounded
+ * negative cache that is rebuilt together with the routes.
+ *
+ * CONCURRENCY CONTRACT:
+ * - Every field is final and the slot array is never written after build(),
+ *   so a snapshot is safely published to any thread that reads the reference
+ * - Lookups never lock, never allocate and never write
+ * - Changing routes means building a new snapshot and swapping the reference
+ */
+final class RoutingTable {
+
+    private static final int COUNTRY_COUNT = Country.values().length;
+    private static final int SLOT_COUNT = PayoutMethod.values().length * COUNTRY_COUNT;
+
+    private final RouteResolution[] slots;
+    private final int size;
+
+    private RoutingTable(RouteResolution[] slots, int size) {
+        this.slots = slots;
+        this.size = size;
+    }
+
+    /**
+     * Wait-free resolution, returns the pair's prebuilt rejection for missing routes
+     */
+    RouteResolution resolve(PayoutMethod method, Country country) {
+        return slots[slot(method, country)];
+    }
+
+    /**
+     * Wait-free lookup, returns null for unsupported combinations
+     */
+    PayoutProcessor lookup(PayoutMethod method, Country country) {
+        return slots[slot(method, country)].getProcessor();
+    }
+
+    /**
+     * All candidate processors for a route (empty when unsupported)
+     */
+    List<PayoutProcessor> candidates(PayoutMethod method, Country country) {
+        return resolve(method, country).getCandidates();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Route keys in "method_country" form (built on demand, not on the hot path)
+     */
+    Set<String> keys() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (PayoutMethod method : PayoutMethod.values()) {
+            for (Country country : Country.values()) {
+                if (slots[slot(method, country)].isResolved()) {
+                    keys.add(method.getValue() + "_" + country.getValue());
+                }
+            }
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    private static int slot(PayoutMethod method, Country country) {
+        return method.ordinal() * COUNTRY_COUNT + country.ordinal();
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Mutable builder, confined to the thread that builds the snapshot
+     */
+    static final class Builder {
+
+        private final PayoutProcessor[][] slots = new PayoutProcessor[SLOT_COUNT][];
+        private int size;
+
+        private Builder() {}
+
+        /**
+         * Add the processor as a candidate for every method bit x country bit pair
+         * A pair claimed by several processors gets several candidates
+         */
+        Builder candidate(PayoutProcessor processor, int methodBits, long countryBits) {
+            for (PayoutMethod method : PayoutMethod.values()) {
+                if ((methodBits & (1 << method.ordinal())) == 0) {
+                    continue;
+                }
+                for (Country country : Country.values()) {
+                    if ((countryBits & (1L << country.ordinal())) == 0) {
+                        continue;
+                    }
+                    int slot = slot(method, country);
+                    PayoutProcessor[] existing = slots[slot];
+                    if (existing == null) {
+                        slots[slot] = new PayoutProcessor[]{processor};
+                        size++;
+                    } else if (!contains(existing, processor)) {
+                        PayoutProcessor[] grown = Arrays.copyOf(existing, existing.length + 1);
+                        grown[existing.length] = processor;
+                        slots[slot] = grown;
+                    }
+                }
+            }
+            return this;
+        }
+
+        private static boolean contains(PayoutProcessor[] processors, PayoutProcessor processor) {
+            for (PayoutProcessor candidate : processors) {
+                if (candidate == processor) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Freeze the table; healthOf supplies the live score of each processor
+         */
+        RoutingTable build(Function<PayoutProcessor, ProviderHealth> healthOf) {
+            RouteResolution[] resolutions = new RouteResolution[SLOT_COUNT];
+            for (PayoutMethod method : PayoutMethod.values()) {
+                for (Country country : Country.values()) {
+                    PayoutProcessor[] candidates = slots[slot(method, country)];
+                    if (candidates == null) {
+                        resolutions[slot(method, country)] = RouteResolution.unsupported(method, country);
+                        continue;
+                    }
+                    ProviderHealth[] health = new ProviderHealth[candidates.length];
+                    for (int i = 0; i < candidates.length; i++) {
+                        health[i] = healthOf.apply(candidates[i]);
+                    }
+                    resolutions[slot(method, country)] =
+                            RouteResolution.resolved(method, country, candidates, health);
+                }
+            }
+            return new RoutingTable(resolutions, size);
+        }
+    }
+}
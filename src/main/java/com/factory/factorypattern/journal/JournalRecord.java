@@ -0,0 +1,39 @@
+package com.factory.factorypattern.journal;
+
+/**
+ * 📒 One journal entry as read back from (or just written to) a segment
+ *
+ * @param address   segment number in the high 32 bits, byte offset in the low 32
+ * @param sequence  position in the journal, strictly increasing from 1
+ * @param reference for a RESPONSE or UPDATE, the sequence of the REQUEST it answers (0 if unknown); for a REQUEST, 0
+ * @param payload   JSON of the PayoutRequest / PayoutResponse
+ */
+public record JournalRecord(long address, long sequence, Type type, long reference, byte[] payload) {
+
+    public enum Type {
+        REQUEST,
+        RESPONSE,
+        // A later outcome for an already answered request, e.g. a PENDING payout settling
+        UPDATE;
+
+        byte code() {
+            return (byte) (ordinal() + 1);
+        }
+
+        static Type of(byte code) {
+            return code == 1 ? REQUEST : code == 2 ? RESPONSE : code == 3 ? UPDATE : null;
+        }
+    }
+
+    static long address(long segment, int offset) {
+        return segment << 32 | (offset & 0xFFFF_FFFFL);
+    }
+
+    static long segmentOf(long address) {
+        return address >>> 32;
+    }
+
+    static int offsetOf(long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,215 @@
+package com.factory.factorypattern.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 🗂️ One fixed-size, memory-mapped journal file
+ *
+ * Record layout (big-endian):
+ *   int  payload length
+ *   int  CRC32C of everything below
+ *   long sequence
+ *   byte type
+ *   long reference
+ *   ...  payload
+ *
+ * The file is mapped at full size up front, so unused space reads as zeros
+ * and a zero length marks the end. A record whose length or checksum does
+ * not hold is a torn write from a crash: the scan stops there and the tail is
+ * cleared so later appends cannot be confused with the remains.
+ *
+ * Writes happen under the journal's append lock; force() is called by the
+ * flusher only. Reads of records below the write offset need no lock.
+ *
+ * For retention the journal keeps, per segment, the count of entries not yet
+ * reconciled: requests without an outcome and PENDING outcomes not yet
+ * superseded. A sealed segment whose count is back to 0 holds nothing the
+ * journal still needs once its retention has passed.
+ */
+final class JournalSegment {
+
+    static final int HEADER_BYTES = 4 + 4 + 8 + 1 + 8;
+
+    private final long number;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    // Flusher-owned: bytes below this offset are on disk
+    private int forcedOffset;
+
+    // Write offset when the segment was rolled over (-1 while active), and when (epoch millis)
+    private volatile int sealedOffset = -1;
+    private volatile long sealedAtMillis;
+
+    // Sequence of the first record written here (0 while there is none)
+    private volatile long firstSequence;
+
+    // Guarded by the journal's lock: requests and PENDING outcomes here still awaiting an outcome
+    private long unreconciled;
+
+    private JournalSegment(long number, Path path, MappedByteBuffer buffer) {
+        this.number = number;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Map the file at the given size, creating it when missing
+     * An existing file keeps its own size
+     */
+    static JournalSegment open(Path path, long number, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size() > 0 ? channel.size() : capacity;
+            // The mapping stays valid after the channel is closed
+            return new JournalSegment(number, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    long number() {
+        return number;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    boolean fits(int offset, int payloadLength) {
+        return (long) offset + HEADER_BYTES + payloadLength <= buffer.capacity();
+    }
+
+    /**
+     * Write one record at offset; returns the offset after it
+     */
+    int write(int offset, long sequence, JournalRecord.Type type, long reference, byte[] payload) {
+        buffer.putLong(offset + 8, sequence);
+        buffer.put(offset + 16, type.code());
+        buffer.putLong(offset + 17, reference);
+        buffer.put(offset + HEADER_BYTES, payload);
+        buffer.putInt(offset + 4, checksum(offset, payload.length));
+        buffer.putInt(offset, payload.length);
+        return offset + HEADER_BYTES + payload.length;
+    }
+
+    /**
+     * Read the record at offset, or null when there is no valid record there
+     */
+    JournalRecord read(int offset) {
+        if (offset < 0 || (long) offset + HEADER_BYTES > buffer.capacity()) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || (long) offset + HEADER_BYTES + length > buffer.capacity()
+                || buffer.getInt(offset + 4) != checksum(offset, length)) {
+            return null;
+        }
+        JournalRecord.Type type = JournalRecord.Type.of(buffer.get(offset + 16));
+        if (type == null) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_BYTES, payload);
+        return new JournalRecord(JournalRecord.address(number, offset), buffer.getLong(offset + 8), type,
+                buffer.getLong(offset + 17), payload);
+    }
+
+    /**
+     * Visit every valid record from the start; returns the offset after the
+     * last one, clearing a torn tail if the scan stopped on one
+     */
+    int recover(Consumer<JournalRecord> visitor) {
+        int offset = 0;
+        JournalRecord record;
+        while ((record = read(offset)) != null) {
+            visitor.accept(record);
+            offset += HEADER_BYTES + record.payload().length;
+        }
+        if ((long) offset + 4 <= buffer.capacity() && buffer.getInt(offset) != 0) {
+            clear(offset);
+        }
+        forcedOffset = offset;
+        return offset;
+    }
+
+    /**
+     * Flush [forcedOffset, end) to disk
+     */
+    void force(int end) {
+        if (end > forcedOffset) {
+            buffer.force(forcedOffset, end - forcedOffset);
+            forcedOffset = end;
+        }
+    }
+
+    void seal(int end) {
+        seal(end, System.currentTimeMillis());
+    }
+
+    void seal(int end, long atMillis) {
+        sealedAtMillis = atMillis;
+        sealedOffset = end;
+    }
+
+    int sealedOffset() {
+        return sealedOffset;
+    }
+
+    long sealedAtMillis() {
+        return sealedAtMillis;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    /**
+     * Note a record written (or recovered) here; the first one fixes firstSequence
+     */
+    void wrote(long sequence) {
+        if (firstSequence == 0) {
+            firstSequence = sequence;
+        }
+    }
+
+    long unreconciled() {
+        return unreconciled;
+    }
+
+    void reconcile(long delta) {
+        unreconciled += delta;
+    }
+
+    /**
+     * Remove the file; the mapping stays readable until it is collected
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private void clear(int from) {
+        ByteBuffer zeros = ByteBuffer.allocate(64 * 1024);
+        for (int offset = from; offset < buffer.capacity(); offset += zeros.capacity()) {
+            int length = Math.min(zeros.capacity(), buffer.capacity() - offset);
+            buffer.put(offset, zeros, 0, length);
+        }
+        buffer.force(from, buffer.capacity() - from);
+    }
+
+    private int checksum(int offset, int payloadLength) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + 8, HEADER_BYTES - 8 + payloadLength));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,720 @@
+package com.factory.factorypattern.journal;
+
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 📒 Write-ahead journal of accepted payouts and their outcomes
+ *
+ * - record(): the PayoutRequest is appended and on disk before the provider
+ *   is called (the dispatcher calls it inside the provider guards, so shed
+ *   payouts cost no disk flush); the final PayoutResponse is appended when the
+ *   call completes (flushed by the next group commit, not waited for). A
+ *   request without a response after a crash is in doubt and has to be
+ *   reconciled
+ * - recordUpdate(): later outcomes of answered payouts (a PENDING transfer
+ *   settling) are appended as UPDATE records against the same request
+ * - Append-only segment files (00000000000000000001.journal, ...) mapped into
+ *   memory at a fixed size; appends copy into the mapping under a short lock,
+ *   serialization happens before it
+ * - Group commit: one flusher thread forces everything written since its
+ *   last pass with a single fsync and completes all appends it covered, so
+ *   concurrent requests share the disk flush
+ * - Recovery on start: every segment is scanned and checksummed in order; a
+ *   torn record at the tail of a segment ends it and appends continue there
+ * - findTransaction(): durable outcomes and updates are indexed by transaction ID in an
+ *   off-heap hash index (rebuilt by the startup scan), so a lookup is one
+ *   probe sequence plus one record read
+ * - Retention: the oldest sealed segment is deleted (and its outcomes dropped
+ *   from the index) once every request in it has an outcome, no PENDING
+ *   outcome in it is still unsettled, and it was sealed retention-hours ago.
+ *   A segment still holding unreconciled entries (an outcome that could not
+ *   be appended, a PENDING payout never settled) is deleted anyway once it
+ *   was sealed max-retention-hours ago, with a warning, so one lost outcome
+ *   cannot stop retention for the whole journal.
+ *   Checked by the flusher when idle, at most once a minute
+ *
+ * CONFIGURATION (remittance.journal):
+ * - enabled                  false = nothing is recorded
+ * - directory                where the segment files live
+ * - segment-size-mb          size of each segment file
+ * - expected-transactions    starting transaction index size (16 bytes off-heap per slot, grows)
+ * - retention-hours          how long reconciled segments are kept (and found by ID)
+ * - max-retention-hours      how long segments with unreconciled entries are kept
+ */
+@Component
+public class PayoutJournal {
+
+    private static final String SUFFIX = ".journal";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long RETENTION_CHECK_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long DEFAULT_RETENTION_MILLIS = TimeUnit.HOURS.toMillis(168);
+    private static final long DEFAULT_MAX_RETENTION_MILLIS = TimeUnit.HOURS.toMillis(720);
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long retentionMillis;
+    private final long maxRetentionMillis;
+    private final ObjectMapper objectMapper;
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder retired = new LongAdder();
+    private final TransactionIndex index;
+    private final Recovery recovery;
+
+    // Guarded by this: the active segment, where the next record goes, its sequence
+    private JournalSegment active;
+    private int writeOffset;
+    private long nextSequence;
+
+    // Highest sequence known to be on disk
+    private volatile long durableSequence;
+    private volatile boolean running;
+    private final Thread flusher;
+
+    @Autowired
+    public PayoutJournal(ObjectMapper objectMapper,
+                         @Value("${remittance.journal.enabled:true}") boolean enabled,
+                         @Value("${remittance.journal.directory:data/journal}") String directory,
+                         @Value("${remittance.journal.segment-size-mb:64}") int segmentSizeMb,
+                         @Value("${remittance.journal.expected-transactions:1000000}") long expectedTransactions,
+                         @Value("${remittance.journal.retention-hours:168}") long retentionHours,
+                         @Value("${remittance.journal.max-retention-hours:720}") long maxRetentionHours)
+            throws IOException {
+        this(objectMapper, enabled ? Paths.get(directory) : null, Math.min(segmentSizeMb, 1024) * 1024 * 1024,
+                expectedTransactions, TimeUnit.HOURS.toMillis(retentionHours),
+                TimeUnit.HOURS.toMillis(maxRetentionHours));
+    }
+
+    PayoutJournal(ObjectMapper objectMapper, Path directory, int segmentBytes) throws IOException {
+        this(objectMapper, directory, segmentBytes, 1 << 16, DEFAULT_RETENTION_MILLIS, DEFAULT_MAX_RETENTION_MILLIS);
+    }
+
+    PayoutJournal(ObjectMapper objectMapper, Path directory, int segmentBytes, long expectedTransactions)
+            throws IOException {
+        this(objectMapper, directory, segmentBytes, expectedTransactions, DEFAULT_RETENTION_MILLIS,
+                DEFAULT_MAX_RETENTION_MILLIS);
+    }
+
+    /**
+     * A null directory gives a disabled journal: record() just runs the call
+     */
+    PayoutJournal(ObjectMapper objectMapper, Path directory, int segmentBytes, long expectedTransactions,
+                  long retentionMillis, long maxRetentionMillis) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.retentionMillis = Math.max(0, retentionMillis);
+        this.maxRetentionMillis = Math.max(this.retentionMillis, maxRetentionMillis);
+        this.objectMapper = objectMapper;
+        if (directory == null) {
+            this.index = null;
+            this.recovery = new Recovery(0, 0, 0, 0);
+            this.flusher = null;
+            return;
+        }
+        this.index = new TransactionIndex(expectedTransactions);
+        this.recovery = recover();
+        this.running = true;
+        this.flusher = new Thread(this::flushLoop, "payout-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public static PayoutJournal disabled() {
+        try {
+            return new PayoutJournal(null, null, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return flusher != null;
+    }
+
+    /**
+     * Journal the request, run the call on the executor once it is durable,
+     * journal the outcome
+     */
+    public CompletableFuture<PayoutResponse> record(PayoutRequest request, Executor executor,
+                                                    Supplier<CompletableFuture<PayoutResponse>> call) {
+        if (!isEnabled()) {
+            return call.get();
+        }
+        CompletableFuture<JournalRecord> accepted;
+        try {
+            accepted = append(JournalRecord.Type.REQUEST, 0, objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // Continue off the flusher thread, it has the next group to commit
+        return accepted.thenComposeAsync(entry -> started(call).whenComplete((response, error) -> {
+            // A call that failed is answered too, or its request would stay unreconciled
+            PayoutResponse outcome = error == null ? response
+                    : PayoutResponse.failed("Internal server error occurred", "System", "INTERNAL_ERROR");
+            if (outcome != null) {
+                recordOutcomeOn(executor, entry.sequence(), outcome);
+            }
+        }), executor);
+    }
+
+    private static CompletableFuture<PayoutResponse> started(Supplier<CompletableFuture<PayoutResponse>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Serialize and append the outcome on the executor, not on the thread
+     * that completed the provider call (often a provider's only timer thread)
+     */
+    private void recordOutcomeOn(Executor executor, long requestSequence, PayoutResponse response) {
+        try {
+            executor.execute(() -> recordOutcome(requestSequence, response));
+        } catch (RejectedExecutionException e) {
+            recordOutcome(requestSequence, response);
+        }
+    }
+
+    /**
+     * Append an outcome for a journaled request; once durable it is what
+     * findTransaction() returns for its transaction ID
+     */
+    public CompletableFuture<JournalRecord> recordOutcome(long requestSequence, PayoutResponse response) {
+        return appendOutcome(JournalRecord.Type.RESPONSE, requestSequence, response);
+    }
+
+    /**
+     * Append a later outcome for a transaction already in the journal (e.g. a
+     * PENDING payout that settled), against the request it answered
+     */
+    public CompletableFuture<JournalRecord> recordUpdate(PayoutResponse response) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long address = addressOf(response.getTransactionId());
+        JournalRecord previous = address == 0 ? null : read(address);
+        return appendOutcome(JournalRecord.Type.UPDATE, previous == null ? 0 : previous.reference(), response);
+    }
+
+    private CompletableFuture<JournalRecord> appendOutcome(JournalRecord.Type type, long requestSequence,
+                                                           PayoutResponse response) {
+        CompletableFuture<JournalRecord> appended;
+        try {
+            appended = append(type, requestSequence, objectMapper.writeValueAsBytes(response),
+                    response.getStatus() == PayoutResponse.Status.PENDING,
+                    pendingAddressOf(response.getTransactionId()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            appended = CompletableFuture.failedFuture(e);
+        }
+        String transactionId = response.getTransactionId();
+        return appended.whenComplete((entry, error) -> {
+            if (error != null) {
+                // The request stays in doubt, exactly as after a crash
+                System.err.println("❌ Payout journal could not record outcome of #" + requestSequence +
+                        ": " + error.getMessage());
+            } else if (transactionId != null) {
+                index(transactionId, entry.address());
+            }
+        });
+    }
+
+    /**
+     * Latest durable outcome for a transaction ID, or null
+     */
+    public PayoutResponse findTransaction(String transactionId) {
+        if (!isEnabled() || transactionId == null) {
+            return null;
+        }
+        PayoutResponse[] found = new PayoutResponse[1];
+        index.find(TransactionIndex.hash(transactionId), address -> {
+            PayoutResponse response = responseAt(address);
+            if (response != null && transactionId.equals(response.getTransactionId())) {
+                found[0] = response;
+                return true;
+            }
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Append one record; completes with it once it is on disk
+     */
+    public CompletableFuture<JournalRecord> append(JournalRecord.Type type, long reference, byte[] payload) {
+        return append(type, reference, payload, false, 0);
+    }
+
+    /**
+     * @param pending    the record is a PENDING outcome, still to be reconciled
+     * @param supersedes address of the PENDING outcome this one replaces, or 0
+     */
+    private CompletableFuture<JournalRecord> append(JournalRecord.Type type, long reference, byte[] payload,
+                                                    boolean pending, long supersedes) {
+        if (!isEnabled()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Payout journal is disabled"));
+        }
+        Waiter waiter;
+        synchronized (this) {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Payout journal is closed"));
+            }
+            if (!active.fits(writeOffset, payload.length)) {
+                roll(payload.length);
+            }
+            long sequence = nextSequence++;
+            int offset = writeOffset;
+            writeOffset = active.write(offset, sequence, type, reference, payload);
+            active.wrote(sequence);
+            reconcile(active, type, reference, pending, supersedes);
+            waiter = new Waiter(new JournalRecord(JournalRecord.address(active.number(), offset), sequence, type,
+                    reference, payload));
+            waiters.offer(waiter);
+        }
+        appends.increment();
+        LockSupport.unpark(flusher);
+        return waiter.durable;
+    }
+
+    /**
+     * Read the record at an address handed out by append() or a scan
+     */
+    public JournalRecord read(long address) {
+        JournalSegment segment = segmentAt(address);
+        return segment == null ? null : segment.read(JournalRecord.offsetOf(address));
+    }
+
+    /**
+     * Visit every durable-or-written record, oldest first
+     */
+    public void scan(Consumer<JournalRecord> visitor) {
+        for (JournalSegment segment : segments) {
+            int end;
+            synchronized (this) {
+                end = segment == active ? writeOffset : segment.sealedOffset();
+            }
+            for (int offset = 0; offset < end; ) {
+                JournalRecord record = segment.read(offset);
+                if (record == null) {
+                    break;
+                }
+                visitor.accept(record);
+                offset += JournalSegment.HEADER_BYTES + record.payload().length;
+            }
+        }
+    }
+
+    public <T> T decode(JournalRecord record, Class<T> type) {
+        try {
+            return objectMapper.readValue(record.payload(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Recovery getRecovery() {
+        return recovery;
+    }
+
+    /**
+     * 📊 Journal state (for the stats endpoint)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        if (isEnabled()) {
+            stats.put("directory", directory.toString());
+            stats.put("segments", segments.size());
+            stats.put("retiredSegments", retired.sum());
+            stats.put("retentionHours", TimeUnit.MILLISECONDS.toHours(retentionMillis));
+            stats.put("maxRetentionHours", TimeUnit.MILLISECONDS.toHours(maxRetentionMillis));
+            stats.put("appends", appends.sum());
+            stats.put("groupCommits", commits.sum());
+            stats.put("durableSequence", durableSequence);
+            stats.put("indexedTransactions", index.size());
+            stats.put("indexCapacity", index.capacity());
+            stats.put("indexOffHeapBytes", index.offHeapBytes());
+            stats.put("indexResizes", index.resizes());
+            stats.put("indexMigrating", index.migrating());
+            stats.put("recoveredRecords", recovery.records());
+            stats.put("inDoubtAtStartup", recovery.inDoubt());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        LockSupport.unpark(flusher);
+        flusher.join(5_000);
+    }
+
+    /**
+     * Start a new segment; called under the lock
+     */
+    private void roll(int payloadLength) {
+        int capacity = Math.max(segmentBytes, JournalSegment.HEADER_BYTES + payloadLength);
+        try {
+            JournalSegment next = JournalSegment.open(segmentPath(active.number() + 1), active.number() + 1, capacity);
+            active.seal(writeOffset);
+            segments.add(next);
+            active = next;
+            writeOffset = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment", e);
+        }
+    }
+
+    /**
+     * Delete the oldest segments once everything in them is reconciled and
+     * they were sealed at least the retention ago, or once they were sealed
+     * the max retention ago whatever they hold; returns how many went
+     *
+     * Only ever the oldest, so the remaining segments stay consecutive. Index
+     * entries still pointing into a deleted segment are removed first.
+     */
+    int retire() {
+        int deleted = 0;
+        while (true) {
+            JournalSegment oldest;
+            long unreconciled;
+            synchronized (this) {
+                if (segments.size() < 2) {
+                    return deleted;
+                }
+                oldest = segments.get(0);
+                if (oldest == active || oldest.sealedOffset() < 0) {
+                    return deleted;
+                }
+                long age = System.currentTimeMillis() - oldest.sealedAtMillis();
+                unreconciled = oldest.unreconciled();
+                if (age < (unreconciled > 0 ? maxRetentionMillis : retentionMillis)) {
+                    return deleted;
+                }
+            }
+            if (unreconciled > 0) {
+                System.err.println("⚠️ Payout journal retiring " + oldest.path() + " with " + unreconciled +
+                        " unreconciled entries after the max retention");
+            }
+            for (int offset = 0; offset < oldest.sealedOffset(); ) {
+                JournalRecord record = oldest.read(offset);
+                if (record == null) {
+                    break;
+                }
+                if (record.type() != JournalRecord.Type.REQUEST) {
+                    PayoutResponse response = decodeResponse(record);
+                    if (response != null && response.getTransactionId() != null) {
+                        index.remove(TransactionIndex.hash(response.getTransactionId()), record.address());
+                    }
+                }
+                offset += JournalSegment.HEADER_BYTES + record.payload().length;
+            }
+            segments.remove(0);
+            try {
+                oldest.delete();
+            } catch (IOException e) {
+                System.err.println("❌ Payout journal could not delete " + oldest.path() + ": " + e.getMessage());
+            }
+            retired.increment();
+            deleted++;
+        }
+    }
+
+    /**
+     * Group commit loop: force whatever was written since the last pass, then
+     * complete every append that pass covered; retire old segments when idle
+     */
+    private void flushLoop() {
+        long forcedUpTo = 0;   // number of the last sealed segment forced
+        long lastRetention = System.nanoTime();
+        while (true) {
+            JournalSegment current;
+            int end;
+            long sequence;
+            synchronized (this) {
+                current = active;
+                end = writeOffset;
+                sequence = nextSequence - 1;
+            }
+            if (sequence > durableSequence) {
+                try {
+                    // Segments rolled over since the last pass are forced first
+                    for (JournalSegment sealed : segments) {
+                        if (sealed == current) {
+                            break;
+                        }
+                        if (sealed.number() > forcedUpTo) {
+                            sealed.force(sealed.sealedOffset());
+                            forcedUpTo = sealed.number();
+                        }
+                    }
+                    current.force(end);
+                    durableSequence = sequence;
+                    commits.increment();
+                    complete(sequence, null);
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Payout journal flush failed: " + e.getMessage());
+                    complete(sequence, e);
+                }
+            } else if (!running) {
+                complete(Long.MAX_VALUE, new IllegalStateException("Payout journal is closed"));
+                return;
+            } else if (System.nanoTime() - lastRetention >= RETENTION_CHECK_NANOS) {
+                lastRetention = System.nanoTime();
+                try {
+                    retire();
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Payout journal retention failed: " + e.getMessage());
+                }
+            } else {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void complete(long upToSequence, Throwable error) {
+        Waiter waiter;
+        while ((waiter = waiters.peek()) != null && waiter.record.sequence() <= upToSequence) {
+            waiters.poll();
+            if (error == null) {
+                waiter.durable.complete(waiter.record);
+            } else {
+                waiter.durable.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Scan every segment in order and position the writer after the last valid record
+     */
+    private Recovery recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+
+        long[] counts = new long[4];   // requests, responses, updates, last sequence
+        Consumer<JournalRecord> counter = record -> {
+            // Answers to requests in segments already retired were settled long ago
+            if (record.type() != JournalRecord.Type.RESPONSE || segmentHolding(record.reference()) != null) {
+                counts[record.type().ordinal()]++;
+            }
+            counts[3] = Math.max(counts[3], record.sequence());
+            JournalSegment segment = segments.get(segments.size() - 1);
+            segment.wrote(record.sequence());
+            boolean pending = false;
+            long supersedes = 0;
+            if (record.type() != JournalRecord.Type.REQUEST) {
+                PayoutResponse response = decodeResponse(record);
+                if (response != null && response.getTransactionId() != null) {
+                    pending = response.getStatus() == PayoutResponse.Status.PENDING;
+                    supersedes = pendingAddressOf(response.getTransactionId());
+                    index(response.getTransactionId(), record.address());
+                }
+            }
+            reconcile(segment, record.type(), record.reference(), pending, supersedes);
+        };
+        // Segments are registered before their scan so index updates can read earlier records
+        int end = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            JournalSegment segment = JournalSegment.open(file,
+                    Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), segmentBytes);
+            if (!segments.isEmpty()) {
+                JournalSegment previous = segments.get(segments.size() - 1);
+                previous.seal(end, Files.getLastModifiedTime(previous.path()).toMillis());
+            }
+            segments.add(segment);
+            end = segment.recover(counter);
+        }
+        if (segments.isEmpty()) {
+            JournalSegment first = JournalSegment.open(segmentPath(1), 1, segmentBytes);
+            segments.add(first);
+            first.recover(counter);
+        }
+        active = segments.get(segments.size() - 1);
+        writeOffset = end;
+        nextSequence = counts[3] + 1;
+        durableSequence = counts[3];
+
+        Recovery recovery = new Recovery(segments.size(), counts[0] + counts[1] + counts[2], counts[0], counts[1]);
+        if (recovery.records() > 0) {
+            System.out.println("📒 Payout journal recovered " + recovery.records() + " records from " +
+                    recovery.segments() + " segments, " + recovery.inDoubt() + " payouts in doubt");
+        }
+        return recovery;
+    }
+
+    /**
+     * Keep the segments' unreconciled counts; called under the lock, or by recovery
+     */
+    private void reconcile(JournalSegment segment, JournalRecord.Type type, long reference, boolean pending,
+                           long supersedes) {
+        if (type == JournalRecord.Type.REQUEST || pending) {
+            segment.reconcile(1);
+        }
+        if (type == JournalRecord.Type.RESPONSE) {
+            JournalSegment requested = segmentHolding(reference);
+            if (requested != null) {
+                requested.reconcile(-1);
+            }
+        }
+        JournalSegment superseded = supersedes == 0 ? null : segmentAt(supersedes);
+        if (superseded != null) {
+            superseded.reconcile(-1);
+        }
+    }
+
+    /**
+     * Segment of a record address, or null once retired
+     */
+    private JournalSegment segmentAt(long address) {
+        long number = JournalRecord.segmentOf(address);
+        // Segments are numbered consecutively, so the number locates the segment directly
+        // (unless the oldest was retired in between: then look again)
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                long index = number - segments.get(0).number();
+                if (index < 0 || index >= segments.size()) {
+                    return null;
+                }
+                JournalSegment segment = segments.get((int) index);
+                if (segment.number() == number) {
+                    return segment;
+                }
+            } catch (IndexOutOfBoundsException e) {
+                // retired while we looked
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Segment holding the record with this sequence, or null once retired
+     */
+    private JournalSegment segmentHolding(long sequence) {
+        if (sequence <= 0) {
+            return null;
+        }
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            JournalSegment segment = segments.get(i);
+            long first = segment.firstSequence();
+            if (first != 0 && first <= sequence) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Address of the transaction's latest outcome if it is PENDING, otherwise 0
+     */
+    private long pendingAddressOf(String transactionId) {
+        long address = addressOf(transactionId);
+        if (address == 0) {
+            return 0;
+        }
+        PayoutResponse previous = responseAt(address);
+        return previous != null && previous.getStatus() == PayoutResponse.Status.PENDING ? address : 0;
+    }
+
+    private void index(String transactionId, long address) {
+        index.put(TransactionIndex.hash(transactionId), address,
+                existing -> {
+                    PayoutResponse response = responseAt(existing);
+                    return response != null && transactionId.equals(response.getTransactionId());
+                });
+    }
+
+    /**
+     * Address of the transaction's latest outcome, or 0
+     */
+    private long addressOf(String transactionId) {
+        if (transactionId == null) {
+            return 0;
+        }
+        return index.find(TransactionIndex.hash(transactionId), address -> {
+            PayoutResponse response = responseAt(address);
+            return response != null && transactionId.equals(response.getTransactionId());
+        });
+    }
+
+    private PayoutResponse responseAt(long address) {
+        JournalRecord record = read(address);
+        return record == null || record.type() == JournalRecord.Type.REQUEST ? null : decodeResponse(record);
+    }
+
+    private PayoutResponse decodeResponse(JournalRecord record) {
+        try {
+            return objectMapper.readValue(record.payload(), PayoutResponse.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%020d%s", number, SUFFIX));
+    }
+
+    /**
+     * What the startup scan found
+     */
+    public record Recovery(int segments, long records, long requests, long responses) {
+
+        /**
+         * Requests whose outcome was never recorded (the provider may or may not have paid)
+         */
+        public long inDoubt() {
+            return Math.max(0, requests - responses);
+        }
+    }
+
+    private static final class Waiter {
+
+        private final JournalRecord record;
+        private final CompletableFuture<JournalRecord> durable = new CompletableFuture<>();
+
+        private Waiter(JournalRecord record) {
+            this.record = record;
+        }
+    }
+}
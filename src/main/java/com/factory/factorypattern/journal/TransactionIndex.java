@@ -0,0 +1,322 @@
+package com.factory.factorypattern.journal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+/**
+ * 🗺️ Off-heap open-addressing index: transaction ID -> journal address
+ *
+ * Each slot is 16 bytes of direct memory - the 64-bit hash of the ID and the
+ * journal address of its latest record - in pages of 4M slots, so the table
+ * can outgrow a single ByteBuffer and costs the GC nothing but the page
+ * objects. Linear probing; removed entries leave a tombstone (address -1)
+ * that keeps probe runs intact and is reused by the next new ID passing it.
+ *
+ * Only hashes are stored; the caller confirms a candidate by reading the
+ * record at its address, so two IDs sharing a hash both stay reachable.
+ *
+ * Readers are lock-free: they use acquire loads and treat a slot whose
+ * address is not yet published, or is a tombstone, as absent. Writers are
+ * serialized on the index (one journal outcome each, so never contended for
+ * long) and publish the hash before the address with release semantics.
+ * Address 0 never occurs (segment numbers start at 1).
+ *
+ * The expected size only sets the starting capacity. When a new ID would
+ * push the table past the load limit, a table twice the size (or the same
+ * size, when mostly tombstones filled it) takes over for new IDs and the old
+ * one is migrated into it a bounded number of slots per put, so no single
+ * writer - usually the journal flusher - pays for copying the whole index.
+ * Until the migration ends readers look in the new table, then the old one;
+ * writers keep both copies of a migrated entry in step.
+ */
+final class TransactionIndex {
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_PAGE_SHIFT = 22;
+    private static final double MAX_LOAD = 0.75;
+    private static final long TOMBSTONE = -1L;
+
+    // Old slots migrated per put; a doubled table has room for far more puts than the migration needs
+    private static final int MIGRATE_SLOTS = 1024;
+
+    private final AtomicLong size = new AtomicLong();
+    private final LongAdder resizes = new LongAdder();
+
+    // Where new IDs go, and the table being migrated into it (null when none)
+    private volatile Table table;
+    private volatile Table previous;
+
+    // Guarded by this: next slot of previous to migrate
+    private long migrated;
+
+    TransactionIndex(long expectedEntries) {
+        this.table = new Table(Long.highestOneBit(Math.max(16, (long) (expectedEntries / MAX_LOAD)) - 1) << 1);
+    }
+
+    /**
+     * 64-bit hash of a transaction ID, never 0 (0 marks an empty slot)
+     */
+    static long hash(String transactionId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < transactionId.length(); i++) {
+            h = (h ^ transactionId.charAt(i)) * 0x100000001b3L;
+        }
+        // Final avalanche so the low bits used for the home slot are well mixed
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Address of the ID with this hash that sameId confirms, or 0
+     */
+    long find(long hash, LongPredicate sameId) {
+        // Table before previous: a migration is published old-first and retired last
+        Table current = table;
+        Table old = previous;
+        long address = current.find(hash, sameId);
+        return address != 0 || old == null || old == current ? address : old.find(hash, sameId);
+    }
+
+    /**
+     * Point the ID at a new address, adding it when sameId confirms no
+     * existing entry; true when it was added, false when updated
+     */
+    synchronized boolean put(long hash, long address, LongPredicate sameId) {
+        Table current = table;
+        Table old = previous;
+        boolean added = false;
+        long slot = current.slotOf(hash, sameId);
+        if (slot >= 0) {
+            long existing = current.address(slot);
+            current.setAddress(slot, address);
+            if (old != null) {
+                // Already migrated: the original stays visible to readers, keep it in step
+                old.replace(hash, existing, address);
+            }
+        } else if (old != null && (slot = old.slotOf(hash, sameId)) >= 0) {
+            // Not migrated yet: it moves over with its new address
+            old.setAddress(slot, address);
+        } else {
+            if (current.full()) {
+                if (old != null) {
+                    migrate(Long.MAX_VALUE);
+                }
+                startResize();
+                current = table;
+            }
+            current.insert(hash, address);
+            size.incrementAndGet();
+            added = true;
+        }
+        if (previous != null) {
+            migrate(MIGRATE_SLOTS);
+        }
+        return added;
+    }
+
+    /**
+     * Drop the ID with this hash if its entry still points at address
+     * (a newer record elsewhere keeps it); true when an entry was removed
+     */
+    synchronized boolean remove(long hash, long address) {
+        Table old = previous;
+        boolean removed = table.replace(hash, address, TOMBSTONE);
+        if (old != null && old.replace(hash, address, TOMBSTONE)) {
+            removed = true;
+        }
+        if (removed) {
+            size.decrementAndGet();
+        }
+        return removed;
+    }
+
+    long size() {
+        return size.get();
+    }
+
+    long capacity() {
+        return table.capacity();
+    }
+
+    long resizes() {
+        return resizes.sum();
+    }
+
+    boolean migrating() {
+        return previous != null;
+    }
+
+    long offHeapBytes() {
+        Table old = previous;
+        return (capacity() + (old == null ? 0 : old.capacity())) * SLOT_BYTES;
+    }
+
+    /**
+     * New IDs go to a fresh table from now on; called under the lock
+     */
+    private void startResize() {
+        Table old = table;
+        long capacity = old.capacity();
+        previous = old;
+        table = new Table(size.get() >= old.maxEntries / 2 ? capacity * 2 : capacity);
+        migrated = 0;
+        resizes.increment();
+    }
+
+    /**
+     * Copy up to the given number of old slots into the table; called under the lock
+     */
+    private void migrate(long slots) {
+        Table old = previous;
+        Table current = table;
+        long end = Math.min(old.capacity(), migrated + Math.min(slots, old.capacity()));
+        for (; migrated < end; migrated++) {
+            long key = old.key(migrated);
+            long address = old.address(migrated);
+            if (key != 0 && address != 0 && address != TOMBSTONE) {
+                current.insert(key, address);
+            }
+        }
+        if (migrated == old.capacity()) {
+            previous = null;
+        }
+    }
+
+    /**
+     * One power-of-two table of slots
+     */
+    private static final class Table {
+
+        private final ByteBuffer[] pages;
+        private final int pageShift;
+        private final int pageMask;
+        private final long mask;
+        private final long maxEntries;
+
+        // Guarded by the index: slots holding a hash, live or tombstone (the load that matters for probing)
+        private long used;
+
+        private Table(long capacity) {
+            this.mask = capacity - 1;
+            this.maxEntries = (long) (capacity * MAX_LOAD);
+            this.pageShift = (int) Math.min(MAX_PAGE_SHIFT, Long.numberOfTrailingZeros(capacity));
+            this.pageMask = (1 << pageShift) - 1;
+            this.pages = new ByteBuffer[(int) (capacity >>> pageShift)];
+            for (int i = 0; i < pages.length; i++) {
+                pages[i] = ByteBuffer.allocateDirect((1 << pageShift) * SLOT_BYTES).order(ByteOrder.nativeOrder());
+            }
+        }
+
+        private long capacity() {
+            return mask + 1;
+        }
+
+        private boolean full() {
+            return used >= maxEntries;
+        }
+
+        /**
+         * Address of the live entry with this hash that sameId confirms, or 0
+         */
+        private long find(long hash, LongPredicate sameId) {
+            for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+                long key = key(slot);
+                if (key == 0) {
+                    return 0;
+                }
+                if (key == hash) {
+                    long address = address(slot);
+                    if (address != 0 && address != TOMBSTONE && sameId.test(address)) {
+                        return address;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Slot of the live entry with this hash that sameId confirms, or -1; for writers
+         */
+        private long slotOf(long hash, LongPredicate sameId) {
+            for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+                long key = key(slot);
+                if (key == 0) {
+                    return -1;
+                }
+                if (key == hash) {
+                    long address = address(slot);
+                    if (address != 0 && address != TOMBSTONE && sameId.test(address)) {
+                        return slot;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Point the entry (hash, expected) at address instead; true when there was one
+         */
+        private boolean replace(long hash, long expected, long address) {
+            for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+                long key = key(slot);
+                if (key == 0) {
+                    return false;
+                }
+                if (key == hash && address(slot) == expected) {
+                    setAddress(slot, address);
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Add an entry known to be absent, in the first tombstone or empty slot on its path
+         */
+        private void insert(long hash, long address) {
+            long slot = hash & mask;
+            while (true) {
+                long key = key(slot);
+                if (key == 0) {
+                    used++;
+                    break;
+                }
+                if (address(slot) == TOMBSTONE) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // Hash first, then the address: readers never see the address under another hash
+            setAddress(slot, 0L);
+            LONGS.setRelease(page(slot), offset(slot), hash);
+            setAddress(slot, address);
+        }
+
+        private long key(long slot) {
+            return (long) LONGS.getAcquire(page(slot), offset(slot));
+        }
+
+        private long address(long slot) {
+            return (long) LONGS.getAcquire(page(slot), offset(slot) + 8);
+        }
+
+        private void setAddress(long slot, long address) {
+            LONGS.setRelease(page(slot), offset(slot) + 8, address);
+        }
+
+        private ByteBuffer page(long slot) {
+            return pages[(int) (slot >>> pageShift)];
+        }
+
+        private int offset(long slot) {
+            return (int) (slot & pageMask) * SLOT_BYTES;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.factory.factorypattern.logging;
+
+/**
+ * Event types written by PayoutEventLog
+ * The request path records one of these plus raw field references; all
+ * formatting happens on the background writer
+ */
+public enum PayoutEvent {
+    TRANSFER_RECEIVED,
+    TRANSFER_STARTED,
+    TRANSFER_SUCCEEDED,
+    TRANSFER_PENDING,
+    TRANSFER_FAILED,
+    TRANSFER_TIMED_OUT,
+    VALIDATION_FAILED,
+    UNSUPPORTED_COMBINATION,
+    INTERNAL_ERROR
+}
@@ -0,0 +1,312 @@
+package com.factory.factorypattern.logging;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 📝 Asynchronous structured event log for the request path
+ *
+ * Replaces System.out/System.err on the hot path:
+ * - Request threads claim a pre-allocated slot in a lock-free ring buffer and
+ *   store the event type plus raw field references. No formatting, no locks,
+ *   no I/O, no allocation
+ * - When the ring is full the event is dropped and counted instead of
+ *   blocking the request
+ * - A background writer drains the ring, masks recipient data, formats one
+ *   line per event and appends it to a size-rolled file
+ */
+@Component
+public class PayoutEventLog {
+
+    private static final PayoutEventLog DISABLED = new PayoutEventLog();
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    // Next sequence the writer will consume (written by the writer thread only)
+    private volatile long consumed;
+    private volatile boolean running;
+
+    private final RollingFile file;
+    private final Thread writer;
+
+    /**
+     * Disabled log: every event is ignored
+     */
+    private PayoutEventLog() {
+        this.slots = null;
+        this.mask = 0;
+        this.file = null;
+        this.writer = null;
+    }
+
+    @Autowired
+    public PayoutEventLog(@Value("${remittance.events.file:logs/payout-events.log}") String file,
+                          @Value("${remittance.events.buffer-size:8192}") int bufferSize,
+                          @Value("${remittance.events.max-file-size-mb:10}") long maxFileSizeMb,
+                          @Value("${remittance.events.max-files:5}") int maxFiles) {
+        this(Paths.get(file), bufferSize, maxFileSizeMb * 1024 * 1024, maxFiles);
+    }
+
+    PayoutEventLog(Path file, int bufferSize, long maxFileBytes, int maxFiles) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i - capacity);
+        }
+        this.mask = capacity - 1;
+        this.file = new RollingFile(file, maxFileBytes, maxFiles);
+        this.running = true;
+        this.writer = new Thread(this::drain, "payout-event-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static PayoutEventLog disabled() {
+        return DISABLED;
+    }
+
+    public void log(PayoutEvent event, String provider, String reference) {
+        log(event, provider, reference, null, null, null, 0L);
+    }
+
+    public void log(PayoutEvent event, String provider, String reference, String recipient) {
+        log(event, provider, reference, recipient, null, null, 0L);
+    }
+
+    /**
+     * Record an event (never blocks; drops when the ring is full)
+     *
+     * @param recipient recipient name/phone/account, masked by the writer
+     * @param value     event-specific number, e.g. latency in nanoseconds
+     */
+    public void log(PayoutEvent event, String provider, String reference, String recipient,
+                    String detail, BigDecimal amount, long value) {
+        if (slots == null || !running) {
+            return;
+        }
+
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = slots[(int) sequence & mask];
+        slot.timestamp = System.currentTimeMillis();
+        slot.event = event;
+        slot.provider = provider;
+        slot.reference = reference;
+        slot.recipient = recipient;
+        slot.detail = detail;
+        slot.amount = amount;
+        slot.value = value;
+        slot.published = sequence;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(5_000);
+    }
+
+    /**
+     * Writer loop: drain published slots in order, flush when idle
+     */
+    private void drain() {
+        StringBuilder line = new StringBuilder(256);
+        try {
+            while (true) {
+                long next = consumed;
+                Slot slot = slots[(int) next & mask];
+                if (slot.published == next) {
+                    format(slot, line);
+                    slot.clear();
+                    consumed = next + 1;
+                    file.append(line);
+                    written.increment();
+                } else if (!running && next == claimed.get()) {
+                    break;
+                } else {
+                    file.flush();
+                    LockSupport.parkNanos(1_000_000L);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Payout event log writer stopped: " + e.getMessage());
+        } finally {
+            file.close();
+        }
+    }
+
+    private static void format(Slot slot, StringBuilder line) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(slot.timestamp)).append(' ').append(slot.event.name());
+        if (slot.provider != null) {
+            line.append(" provider=\"").append(slot.provider).append('"');
+        }
+        if (slot.reference != null) {
+            line.append(" ref=").append(slot.reference);
+        }
+        if (slot.recipient != null) {
+            line.append(" recipient=").append(mask(slot.recipient));
+        }
+        if (slot.amount != null) {
+            line.append(" amount=").append(slot.amount.toPlainString());
+        }
+        if (slot.value != 0L) {
+            line.append(" value=").append(slot.value);
+        }
+        if (slot.detail != null) {
+            line.append(" detail=\"").append(slot.detail).append('"');
+        }
+        line.append('\n');
+    }
+
+    /**
+     * Mask recipient data: numbers keep their last 4 digits, names their initial
+     */
+    static String mask(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return "";
+        }
+        boolean numeric = trimmed.chars().filter(Character::isDigit).count() >= 4;
+        if (numeric) {
+            return "*".repeat(Math.max(0, trimmed.length() - 4)) + trimmed.substring(trimmed.length() - 4);
+        }
+        return trimmed.charAt(0) + "***";
+    }
+
+    /**
+     * Pre-allocated, fixed-layout event record
+     */
+    private static final class Slot {
+
+        // Sequence whose data this slot currently holds (release/acquire point)
+        volatile long published;
+
+        long timestamp;
+        PayoutEvent event;
+        String provider;
+        String reference;
+        String recipient;
+        String detail;
+        BigDecimal amount;
+        long value;
+
+        private Slot(long initialSequence) {
+            this.published = initialSequence;
+        }
+
+        private void clear() {
+            event = null;
+            provider = null;
+            reference = null;
+            recipient = null;
+            detail = null;
+            amount = null;
+            value = 0L;
+        }
+    }
+
+    /**
+     * Size-rolled log file: payout-events.log, payout-events.log.1, ...
+     * Used only by the writer thread
+     */
+    private static final class RollingFile {
+
+        private final Path path;
+        private final long maxBytes;
+        private final int maxFiles;
+        private Writer out;
+        private long size;
+
+        private RollingFile(Path path, long maxBytes, int maxFiles) {
+            this.path = path.toAbsolutePath();
+            this.maxBytes = maxBytes;
+            this.maxFiles = Math.max(1, maxFiles);
+        }
+
+        private void append(CharSequence line) throws IOException {
+            if (out == null) {
+                open();
+            }
+            out.append(line);
+            size += line.length();
+            if (size >= maxBytes) {
+                roll();
+            }
+        }
+
+        private void open() throws IOException {
+            Files.createDirectories(path.getParent());
+            size = Files.exists(path) ? Files.size(path) : 0L;
+            out = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        }
+
+        private void roll() throws IOException {
+            out.close();
+            out = null;
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                Path source = Paths.get(path + "." + i);
+                if (Files.exists(source)) {
+                    Files.move(source, Paths.get(path + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(path, Paths.get(path + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(Paths.get(path + "." + (maxFiles + 1)));
+        }
+
+        private void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        private void close() {
+            try {
+                if (out != null) {
+                    out.close();
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Failed to close payout event log: " + e.getMessage());
+            }
+        }
+    }
+}
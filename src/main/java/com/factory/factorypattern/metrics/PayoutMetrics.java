@@ -0,0 +1,125 @@
+package com.factory.factorypattern.metrics;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📊 Micrometer instrumentation for the factory and processors
+ *
+ * Meters:
+ * - payout.route.resolutions{result=hit|miss}            route lookups
+ * - payout.transfer{provider, status}                     processTransfer latency
+ * - payout.errors{provider, code}                         responses per errorCode
+ *
+ * Every meter is registered up front (error codes on first sight), so the
+ * request path only indexes into arrays/maps and never builds tags.
+ */
+@Component
+public class PayoutMetrics {
+
+    private static final PayoutResponse.Status[] STATUSES = PayoutResponse.Status.values();
+
+    private final MeterRegistry registry;
+    private final Counter routeHits;
+    private final Counter routeMisses;
+
+    // Read-only after construction
+    private final Map<PayoutProcessor, ProviderMeters> providers;
+
+    public PayoutMetrics(MeterRegistry registry, List<PayoutProcessor> processors) {
+        this.registry = registry;
+        this.routeHits = Counter.builder("payout.route.resolutions")
+                .description("Route resolutions by result")
+                .tag("result", "hit")
+                .register(registry);
+        this.routeMisses = Counter.builder("payout.route.resolutions")
+                .description("Route resolutions by result")
+                .tag("result", "miss")
+                .register(registry);
+
+        Map<PayoutProcessor, ProviderMeters> providers = new IdentityHashMap<>();
+        for (PayoutProcessor processor : processors) {
+            providers.put(processor, new ProviderMeters(processor.getProviderName()));
+        }
+        this.providers = Collections.unmodifiableMap(providers);
+    }
+
+    /**
+     * Metrics that record nothing (for factories built outside Spring)
+     */
+    public static PayoutMetrics disabled() {
+        return new PayoutMetrics(new CompositeMeterRegistry(), List.of());
+    }
+
+    public void routeHit() {
+        routeHits.increment();
+    }
+
+    public void routeMiss() {
+        routeMisses.increment();
+    }
+
+    /**
+     * Record one processTransfer call and its error code, if any
+     */
+    public void recordTransfer(PayoutProcessor processor, long latencyNanos, PayoutResponse response) {
+        ProviderMeters meters = providers.get(processor);
+        if (meters == null || response == null) {
+            return;
+        }
+        PayoutResponse.Status status = response.getStatus();
+        if (status != null) {
+            meters.timers[status.ordinal()].record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+        String errorCode = response.getErrorCode();
+        if (errorCode != null) {
+            meters.errorCounter(errorCode).increment();
+        }
+    }
+
+    /**
+     * Pre-registered meters for one provider
+     */
+    private final class ProviderMeters {
+
+        private final String provider;
+        private final Timer[] timers = new Timer[STATUSES.length];
+        private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+
+        private ProviderMeters(String provider) {
+            this.provider = provider;
+            for (PayoutResponse.Status status : STATUSES) {
+                timers[status.ordinal()] = Timer.builder("payout.transfer")
+                        .description("processTransfer latency by provider and status")
+                        .tag("provider", provider)
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+        }
+
+        private Counter errorCounter(String code) {
+            Counter counter = errors.get(code);
+            if (counter == null) {
+                // First sighting of this code only
+                counter = errors.computeIfAbsent(code, c -> Counter.builder("payout.errors")
+                        .description("Payout responses by error code")
+                        .tag("provider", provider)
+                        .tag("code", c)
+                        .register(registry));
+            }
+            return counter;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.factory.factorypattern.model;
+
+import java.util.Map;
+
+/**
+ * Allocation-free alias lookup shared by the canonical enums.
+ *
+ * Aliases are stored pre-folded in an open-addressing table. Raw input is
+ * trimmed and ASCII-case-folded on the fly while hashing and comparing, so a
+ * lookup never creates a String and never depends on the default Locale.
+ */
+final class AliasIndex<E extends Enum<E>> {
+
+    private final String[] keys;
+    private final Object[] values;
+    private final int mask;
+
+    AliasIndex(Map<String, E> aliases) {
+        int capacity = Integer.highestOneBit(Math.max(4, aliases.size() * 4) - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+
+        aliases.forEach((alias, value) -> {
+            String key = fold(alias);
+            int i = hash(key, 0, key.length()) & mask;
+            while (keys[i] != null) {
+                if (keys[i].equals(key)) {
+                    throw new IllegalStateException("Duplicate alias: " + alias);
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        });
+    }
+
+    /**
+     * Resolve raw input to its canonical constant, or null when unknown
+     */
+    @SuppressWarnings("unchecked")
+    E lookup(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        int start = 0;
+        int end = raw.length();
+        while (start < end && raw.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && raw.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        for (int i = hash(raw, start, end) & mask; ; i = (i + 1) & mask) {
+            String key = keys[i];
+            if (key == null) {
+                return null;
+            }
+            if (matches(key, raw, start, end)) {
+                return (E) values[i];
+            }
+        }
+    }
+
+    private static boolean matches(String key, String raw, int start, int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != fold(raw.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(String s, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + fold(s.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static String fold(String s) {
+        StringBuilder folded = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            folded.append(fold(s.charAt(i)));
+        }
+        return folded.toString().trim();
+    }
+}
@@ -0,0 +1,69 @@
+package com.factory.factorypattern.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response model for batch payouts
+ * Results are positional (same order as the request) plus an aggregate summary
+ */
+public class BatchPayoutResponse {
+
+    private Summary summary;
+    private List<PayoutResponse> results;
+
+    // Constructors
+    public BatchPayoutResponse() {}
+
+    public BatchPayoutResponse(Summary summary, List<PayoutResponse> results) {
+        this.summary = summary;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public Summary getSummary() { return summary; }
+    public void setSummary(Summary summary) { this.summary = summary; }
+
+    public List<PayoutResponse> getResults() { return results; }
+    public void setResults(List<PayoutResponse> results) { this.results = results; }
+
+    /**
+     * Aggregate counts for a batch
+     */
+    public static class Summary {
+
+        private int total;
+        private int succeeded;
+        private int failed;
+        private int pending;
+        private int rejected;
+        private int groups;
+        private long elapsedMillis;
+        private Map<String, Integer> byProvider;
+
+        // Getters and Setters
+        public int getTotal() { return total; }
+        public void setTotal(int total) { this.total = total; }
+
+        public int getSucceeded() { return succeeded; }
+        public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+
+        public int getFailed() { return failed; }
+        public void setFailed(int failed) { this.failed = failed; }
+
+        public int getPending() { return pending; }
+        public void setPending(int pending) { this.pending = pending; }
+
+        public int getRejected() { return rejected; }
+        public void setRejected(int rejected) { this.rejected = rejected; }
+
+        public int getGroups() { return groups; }
+        public void setGroups(int groups) { this.groups = groups; }
+
+        public long getElapsedMillis() { return elapsedMillis; }
+        public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+        public Map<String, Integer> getByProvider() { return byProvider; }
+        public void setByProvider(Map<String, Integer> byProvider) { this.byProvider = byProvider; }
+    }
+}
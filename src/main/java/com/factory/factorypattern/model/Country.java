@@ -0,0 +1,77 @@
+package com.factory.factorypattern.model;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Enum representing supported destination countries (ISO-3166)
+ * Canonical registry used by Factory instead of free-form country strings
+ */
+public enum Country {
+    PH("PHL", "philippines"),
+    IN("IND", "india"),
+    BD("BGD", "bangladesh"),
+    NP("NPL", "nepal"),
+    LK("LKA", "sri_lanka", "sri lanka", "srilanka");
+
+    private final String alpha3;
+    private final String value;
+    private final String[] aliases;
+
+    private static final AliasIndex<Country> INDEX;
+
+    static {
+        Map<String, Country> aliases = new HashMap<>();
+        for (Country country : values()) {
+            aliases.put(country.name(), country);
+            aliases.put(country.alpha3, country);
+            aliases.put(country.value, country);
+            for (String alias : country.aliases) {
+                aliases.put(alias, country);
+            }
+        }
+        INDEX = new AliasIndex<>(aliases);
+    }
+
+    Country(String alpha3, String value, String... aliases) {
+        this.alpha3 = alpha3;
+        this.value = value;
+        this.aliases = aliases;
+    }
+
+    public String getAlpha2() {
+        return name();
+    }
+
+    public String getAlpha3() {
+        return alpha3;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Resolve a name, alias or ISO code (any case, surrounding whitespace ignored)
+     * Returns null for unknown input; never allocates
+     */
+    public static Country resolve(String value) {
+        return INDEX.lookup(value);
+    }
+
+    /**
+     * Resolve a descriptor array, ignoring entries that are not known countries
+     */
+    public static Set<Country> setOf(String... values) {
+        Set<Country> countries = EnumSet.noneOf(Country.class);
+        for (String value : values) {
+            Country country = resolve(value);
+            if (country != null) {
+                countries.add(country);
+            }
+        }
+        return countries;
+    }
+}
@@ -0,0 +1,50 @@
+package com.factory.factorypattern.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏳ Point in time by which a payout must be answered
+ *
+ * Carried on the PayoutRequest from the controller to the processors.
+ * Based on System.nanoTime(), so it is only meaningful inside this JVM;
+ * remote hops should be given remainingMillis() instead.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+    private final long lengthMillis;
+
+    private Deadline(long deadlineNanos, long lengthMillis) {
+        this.deadlineNanos = deadlineNanos;
+        this.lengthMillis = lengthMillis;
+    }
+
+    public static Deadline afterMillis(long millis) {
+        long length = Math.max(0, millis);
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(length), length);
+    }
+
+    /**
+     * The whole budget this deadline was created with, however much is left
+     */
+    public long lengthMillis() {
+        return lengthMillis;
+    }
+
+    public long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remainingMillis=" + remainingMillis() + "}";
+    }
+}
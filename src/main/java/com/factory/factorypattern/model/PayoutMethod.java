@@ -1,5 +1,9 @@
 package com.factory.factorypattern.model;
 
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Enum representing different payout methods
@@ -9,10 +13,21 @@ public enum PayoutMethod {
     MOBILE_WALLET("mobile_wallet"),
     BANK_TRANSFER("bank_transfer"),
     CASH_PICKUP("cash_pickup"),
-    DIGITAL_WALLET("digital_wallet");
+    DIGITAL_WALLET("digital_wallet"),
+    WIRE_TRANSFER("wire_transfer");
 
     private final String value;
 
+    private static final AliasIndex<PayoutMethod> INDEX;
+
+    static {
+        Map<String, PayoutMethod> aliases = new HashMap<>();
+        for (PayoutMethod method : values()) {
+            aliases.put(method.value, method);
+        }
+        INDEX = new AliasIndex<>(aliases);
+    }
+
     PayoutMethod(String value){
         this.value = value;
     }
@@ -22,12 +37,33 @@ public enum PayoutMethod {
     }
 
     public static PayoutMethod fromString(String value){
-        for (PayoutMethod method : PayoutMethod.values()){
-            if(method.value.equalsIgnoreCase(value)){
-                return method;
+        PayoutMethod method = resolve(value);
+        if (method == null) {
+            throw new IllegalArgumentException("Unknown Payout method"+ value);
+        }
+        return method;
+    }
+
+    /**
+     * Resolve a method name (any case, surrounding whitespace ignored)
+     * Returns null for unknown input; never allocates
+     */
+    public static PayoutMethod resolve(String value){
+        return INDEX.lookup(value);
+    }
+
+    /**
+     * Resolve a descriptor array, ignoring entries that are not known methods
+     */
+    public static Set<PayoutMethod> setOf(String... values){
+        Set<PayoutMethod> methods = EnumSet.noneOf(PayoutMethod.class);
+        for (String value : values){
+            PayoutMethod method = resolve(value);
+            if (method != null){
+                methods.add(method);
             }
         }
-        throw new IllegalArgumentException("Unknown Payout method"+ value);
+        return methods;
     }
 
 }
@@ -1,5 +1,9 @@
 package com.factory.factorypattern.model;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 🎯 FACTORY PATTERN - Product Interface
  *
@@ -19,6 +23,43 @@ public interface PayoutProcessor {
      */
     PayoutResponse processTransfer(PayoutRequest request);
 
+    /**
+     * Non-blocking variant - completes when the provider answers
+     * Processors without a native async path complete on the caller's thread
+     */
+    default CompletableFuture<PayoutResponse> processTransferAsync(PayoutRequest request) {
+        return CompletableFuture.completedFuture(processTransfer(request));
+    }
+
+    /**
+     * Bulk submission - many payouts in one provider call, responses in request order
+     * Processors without a bulk API answer item by item
+     */
+    default List<PayoutResponse> processBatch(List<PayoutRequest> requests) {
+        List<PayoutResponse> responses = new ArrayList<>(requests.size());
+        for (PayoutRequest request : requests) {
+            responses.add(processTransfer(request));
+        }
+        return responses;
+    }
+
+    /**
+     * Non-blocking bulk variant - completes when the provider answers the batch
+     * Processors without a native async path complete on the caller's thread
+     */
+    default CompletableFuture<List<PayoutResponse>> processBatchAsync(List<PayoutRequest> requests) {
+        return CompletableFuture.completedFuture(processBatch(requests));
+    }
+
+    /**
+     * Bulk status poll for payouts this processor answered PENDING - their
+     * current state, in request order (PENDING again while still in progress)
+     * Processors that always answer with a final status have nothing to poll
+     */
+    default CompletableFuture<List<PayoutResponse>> checkStatusAsync(List<PayoutResponse> pending) {
+        return CompletableFuture.completedFuture(pending);
+    }
+
     /**
      * Validation method to check if processor supports given combination
      */
@@ -1,4 +1,5 @@
 package com.factory.factorypattern.model;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 
@@ -30,6 +31,10 @@ public class PayoutRequest {
     private String bankCode;
     private String purpose;
 
+    // Set by the server (header or per-method default), never read from the body
+    @JsonIgnore
+    private Deadline deadline;
+
     // Constructors
     public PayoutRequest() {}
 
@@ -73,6 +78,11 @@ public class PayoutRequest {
     public String getPurpose() { return purpose; }
     public void setPurpose(String purpose) { this.purpose = purpose; }
 
+    @JsonIgnore
+    public Deadline getDeadline() { return deadline; }
+    @JsonIgnore
+    public void setDeadline(Deadline deadline) { this.deadline = deadline; }
+
     @Override
     public String toString() {
         return "PayoutRequest{" +
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 public class PayoutResponse {
 
     public enum Status {
-        SUCCESS, FAILED, PENDING, CANCELLED
+        SUCCESS, FAILED, PENDING, CANCELLED, TIMEOUT
     }
 
     private Status status;
@@ -50,6 +50,13 @@ public class PayoutResponse {
         return response;
     }
 
+    public static PayoutResponse timeout(String providerName) {
+        PayoutResponse response = new PayoutResponse(Status.TIMEOUT, null,
+                "Transfer was not completed before its deadline", providerName);
+        response.setErrorCode("DEADLINE_EXCEEDED");
+        return response;
+    }
+
     // Getters and Setters
     public Status getStatus() { return status; }
     public void setStatus(Status status) { this.status = status; }
@@ -0,0 +1,25 @@
+package com.factory.factorypattern.model;
+
+/**
+ * Method + country pair for bulk route validation
+ */
+public class RouteQuery {
+
+    private String method;
+    private String country;
+
+    // Constructors
+    public RouteQuery() {}
+
+    public RouteQuery(String method, String country) {
+        this.method = method;
+        this.country = country;
+    }
+
+    // Getters and Setters
+    public String getMethod() { return method; }
+    public void setMethod(String method) { this.method = method; }
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+}
@@ -0,0 +1,309 @@
+package com.factory.factorypattern.reconcile;
+
+import com.factory.factorypattern.journal.JournalRecord;
+import com.factory.factorypattern.journal.PayoutJournal;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 🔄 Status polling for payouts that answered PENDING
+ *
+ * Every PENDING outcome leaving the dispatcher is tracked here and polled
+ * every poll-interval-millis until its provider reports a final status,
+ * which is journaled as an update (and so served by GET /{transactionId}).
+ *
+ * - Polls are scheduled on a hierarchical timing wheel: O(1) to track or
+ *   cancel a payout, one timer thread however many are outstanding
+ * - Polls that come due on the same tick are grouped per provider into
+ *   checkStatusAsync() calls of up to max-batch payouts
+ * - A failed status call leaves its payouts pending for the next round
+ * - On startup, payouts whose latest journaled outcome is PENDING are
+ *   tracked again
+ *
+ * CONFIGURATION (remittance.reconciliation):
+ * - enabled                  false = PENDING payouts are never revisited
+ * - poll-interval-millis     time between status polls of one payout
+ * - tick-millis              timing wheel resolution
+ * - max-batch                payouts per status call
+ *
+ * Meters: payout.reconcile.pending, payout.reconcile.polls,
+ * payout.reconcile.settled
+ */
+@Component
+public class PendingPayoutReconciler {
+
+    private final Map<String, PayoutProcessor> processorsByName = new HashMap<>();
+    private final Map<String, Tracked> pending = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final TimingWheel<Tracked> wheel;
+    private final LongSupplier clock;
+    private final long pollIntervalMillis;
+    private final long tickMillis;
+    private final int maxBatch;
+    private final ScheduledExecutorService ticker;
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder settled = new LongAdder();
+    private final LongAdder pollErrors = new LongAdder();
+
+    @Autowired(required = false)
+    private PayoutJournal journal = PayoutJournal.disabled();
+
+    @Autowired
+    public PendingPayoutReconciler(List<PayoutProcessor> processors, MeterRegistry registry,
+                                   @Value("${remittance.reconciliation.enabled:true}") boolean enabled,
+                                   @Value("${remittance.reconciliation.poll-interval-millis:5000}") long pollIntervalMillis,
+                                   @Value("${remittance.reconciliation.tick-millis:100}") long tickMillis,
+                                   @Value("${remittance.reconciliation.max-batch:500}") int maxBatch) {
+        this(processors, enabled, pollIntervalMillis, tickMillis, maxBatch, System::currentTimeMillis,
+                enabled ? Executors.newSingleThreadScheduledExecutor(task -> {
+                    Thread thread = new Thread(task, "payout-reconciler");
+                    thread.setDaemon(true);
+                    return thread;
+                }) : null);
+        if (enabled) {
+            register(registry);
+        }
+    }
+
+    /**
+     * Without a timer thread: tick() turns the wheel (for tests)
+     */
+    PendingPayoutReconciler(List<PayoutProcessor> processors, long pollIntervalMillis, long tickMillis,
+                            int maxBatch, LongSupplier clock) {
+        this(processors, true, pollIntervalMillis, tickMillis, maxBatch, clock, null);
+    }
+
+    private PendingPayoutReconciler(List<PayoutProcessor> processors, boolean enabled, long pollIntervalMillis,
+                                    long tickMillis, int maxBatch, LongSupplier clock,
+                                    ScheduledExecutorService ticker) {
+        for (PayoutProcessor processor : processors) {
+            processorsByName.putIfAbsent(processor.getProviderName(), processor);
+        }
+        this.enabled = enabled;
+        this.clock = clock;
+        this.pollIntervalMillis = Math.max(1, pollIntervalMillis);
+        this.tickMillis = Math.max(1, tickMillis);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.wheel = new TimingWheel<>(this.tickMillis, clock.getAsLong());
+        this.ticker = ticker;
+    }
+
+    /**
+     * Nothing is tracked (for dispatchers built outside Spring)
+     */
+    public static PendingPayoutReconciler disabled() {
+        return new PendingPayoutReconciler(List.of(), false, 1, 1, 1, () -> 0L, null);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resume journaled PENDING payouts, then start turning the wheel
+     */
+    @PostConstruct
+    void start() {
+        recover();
+        if (ticker != null) {
+            ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Start polling a payout the processor answered PENDING; anything else is ignored
+     */
+    public void track(PayoutProcessor processor, PayoutResponse response) {
+        if (!isEnabled() || response == null || response.getStatus() != PayoutResponse.Status.PENDING ||
+                response.getTransactionId() == null) {
+            return;
+        }
+        Tracked tracked = new Tracked(processor, response);
+        if (pending.putIfAbsent(response.getTransactionId(), tracked) == null) {
+            tracked.timeout = wheel.schedule(tracked, clock.getAsLong() + pollIntervalMillis);
+        }
+    }
+
+    /**
+     * Stop polling a payout; false when it was not pending
+     */
+    public boolean cancel(String transactionId) {
+        Tracked tracked = pending.remove(transactionId);
+        if (tracked == null) {
+            return false;
+        }
+        TimingWheel.Timeout<Tracked> timeout = tracked.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return true;
+    }
+
+    /**
+     * Track again every payout whose latest journaled outcome is PENDING
+     */
+    void recover() {
+        if (!isEnabled() || !journal.isEnabled()) {
+            return;
+        }
+        Map<String, PayoutResponse> latest = new LinkedHashMap<>();
+        journal.scan(record -> {
+            if (record.type() == JournalRecord.Type.REQUEST) {
+                return;
+            }
+            PayoutResponse response;
+            try {
+                response = journal.decode(record, PayoutResponse.class);
+            } catch (UncheckedIOException e) {
+                return;
+            }
+            if (response.getTransactionId() == null) {
+                return;
+            }
+            if (response.getStatus() == PayoutResponse.Status.PENDING) {
+                latest.put(response.getTransactionId(), response);
+            } else {
+                latest.remove(response.getTransactionId());
+            }
+        });
+        for (PayoutResponse response : latest.values()) {
+            PayoutProcessor processor = processorsByName.get(response.getProviderName());
+            if (processor != null) {
+                track(processor, response);
+            }
+        }
+        if (!latest.isEmpty()) {
+            System.out.println("🔄 Reconciliation resumed polling " + pending.size() + " pending payouts");
+        }
+    }
+
+    /**
+     * Turn the wheel to now and send one status call per provider (and max-batch) that came due
+     */
+    void tick() {
+        try {
+            Map<PayoutProcessor, List<Tracked>> due = new IdentityHashMap<>();
+            wheel.advance(clock.getAsLong(), tracked -> {
+                // Skip payouts cancelled before their timeout was linked
+                if (pending.get(tracked.response.getTransactionId()) == tracked) {
+                    due.computeIfAbsent(tracked.processor, processor -> new ArrayList<>()).add(tracked);
+                }
+            });
+            due.forEach((processor, batch) -> {
+                for (int from = 0; from < batch.size(); from += maxBatch) {
+                    poll(processor, batch.subList(from, Math.min(batch.size(), from + maxBatch)));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Keep the timer alive; the payouts stay pending
+            System.err.println("❌ Reconciliation tick failed: " + e.getMessage());
+        }
+    }
+
+    private void poll(PayoutProcessor processor, List<Tracked> batch) {
+        List<PayoutResponse> responses = new ArrayList<>(batch.size());
+        for (Tracked tracked : batch) {
+            responses.add(tracked.response);
+        }
+        polls.increment();
+        processor.checkStatusAsync(responses).whenComplete((statuses, error) -> {
+            if (error != null || statuses == null || statuses.size() != batch.size()) {
+                pollErrors.increment();
+                batch.forEach(this::reschedule);
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Tracked tracked = batch.get(i);
+                PayoutResponse status = statuses.get(i);
+                if (status == null || status.getStatus() == PayoutResponse.Status.PENDING) {
+                    reschedule(tracked);
+                } else if (pending.remove(tracked.response.getTransactionId(), tracked)) {
+                    settled.increment();
+                    journal.recordUpdate(status);
+                }
+            }
+        });
+    }
+
+    private void reschedule(Tracked tracked) {
+        // Cancelled while its poll was out
+        if (pending.get(tracked.response.getTransactionId()) == tracked) {
+            tracked.timeout = wheel.schedule(tracked, clock.getAsLong() + pollIntervalMillis);
+        }
+    }
+
+    long pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 📊 Reconciliation state (for the stats endpoint)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("pending", pending.size());
+        stats.put("scheduledPolls", wheel.size());
+        stats.put("statusCalls", polls.sum());
+        stats.put("statusCallErrors", pollErrors.sum());
+        stats.put("settled", settled.sum());
+        stats.put("pollIntervalMillis", pollIntervalMillis);
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void register(MeterRegistry registry) {
+        Gauge.builder("payout.reconcile.pending", pending, Map::size)
+                .description("PENDING payouts waiting for a final status")
+                .register(registry);
+        FunctionCounter.builder("payout.reconcile.polls", polls, LongAdder::sum)
+                .description("Batched provider status calls")
+                .register(registry);
+        FunctionCounter.builder("payout.reconcile.settled", settled, LongAdder::sum)
+                .description("PENDING payouts that reached a final status")
+                .register(registry);
+    }
+
+    /**
+     * One pending payout and its next poll
+     */
+    private static final class Tracked {
+
+        private final PayoutProcessor processor;
+        private final PayoutResponse response;
+        private volatile TimingWheel.Timeout<Tracked> timeout;
+
+        private Tracked(PayoutProcessor processor, PayoutResponse response) {
+            this.processor = processor;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.factory.factorypattern.reconcile;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * ⏲️ Hierarchical timing wheel
+ *
+ * Four levels of 64 slots: level 0 slots are one tick wide, each level above
+ * is 64 times coarser, so 64^4 ticks (19 days at 100ms) are covered without
+ * a slot per tick. A timeout sits in the finest level whose range reaches
+ * its deadline; when the wheel turns past a coarse slot, that slot's
+ * timeouts are re-placed one level down ("cascade"), until they expire from
+ * level 0. Timeouts further out than the wheel reaches wait in the last
+ * level and cascade again.
+ *
+ * - schedule() and Timeout.cancel() are O(1) and safe from any thread: new
+ *   timeouts and cancellations are queued and applied by the owner thread
+ * - Slots are intrusive doubly-linked lists, so unlinking a cancelled timeout
+ *   costs nothing but two pointer updates
+ * - advance() is called by a single owner thread and hands every timeout
+ *   that came due to the consumer, in tick order
+ */
+final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Timeout<T>[] heads;
+    private final ConcurrentLinkedQueue<Timeout<T>> added = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong waiting = new AtomicLong();
+
+    // Owner thread only: the last tick processed
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.startMillis = startMillis;
+        this.heads = new Timeout[LEVELS * SLOTS];
+    }
+
+    /**
+     * Expire the item at (or just after) dueMillis, on the tick that reaches it
+     */
+    Timeout<T> schedule(T item, long dueMillis) {
+        // Round up: a timeout never fires before it is due
+        long deadlineTick = Math.floorDiv(dueMillis - startMillis + tickMillis - 1, tickMillis);
+        Timeout<T> timeout = new Timeout<>(this, item, deadlineTick);
+        waiting.incrementAndGet();
+        added.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Owner thread: apply queued schedules and cancellations, then turn the
+     * wheel up to nowMillis; returns how many timeouts expired
+     */
+    int advance(long nowMillis, Consumer<T> expired) {
+        Timeout<T> timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() == Timeout.WAITING) {
+                // The current tick has fired already
+                place(timeout, 1);
+            }
+        }
+        while ((timeout = cancelled.poll()) != null) {
+            unlink(timeout);
+        }
+
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        int fired = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            int slot = (int) (currentTick & SLOT_MASK);
+            Timeout<T> next = heads[slot];
+            heads[slot] = null;
+            while (next != null) {
+                timeout = next;
+                next = timeout.next;
+                timeout.prev = timeout.next = null;
+                timeout.slot = -1;
+                if (timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+                    waiting.decrementAndGet();
+                    fired++;
+                    expired.accept(timeout.item);
+                }
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Timeouts scheduled and neither expired nor cancelled
+     */
+    long size() {
+        return waiting.get();
+    }
+
+    /**
+     * Re-place the coarse slots the current tick has just reached
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            int index = level * SLOTS + (int) ((currentTick >>> shift) & SLOT_MASK);
+            Timeout<T> next = heads[index];
+            heads[index] = null;
+            while (next != null) {
+                Timeout<T> timeout = next;
+                next = timeout.next;
+                timeout.prev = timeout.next = null;
+                timeout.slot = -1;
+                if (timeout.state.get() == Timeout.WAITING) {
+                    // Due now: level 0's current slot fires right after the cascade
+                    place(timeout, 0);
+                }
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout, long minDelta) {
+        long delta = Math.min(Math.max(timeout.deadlineTick - currentTick, minDelta), MAX_DELTA);
+        long tick = currentTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.slot = index;
+        timeout.next = heads[index];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        heads[index] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.slot < 0) {
+            return;
+        }
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = timeout.next = null;
+        timeout.slot = -1;
+    }
+
+    /**
+     * A scheduled item; links are owned by the wheel's thread
+     */
+    static final class Timeout<T> {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimingWheel<T> wheel;
+        private final T item;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int slot = -1;
+
+        private Timeout(TimingWheel<T> wheel, T item, long deadlineTick) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        T item() {
+            return item;
+        }
+
+        /**
+         * Stop the timeout from expiring; false when it already has
+         */
+        boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            wheel.waiting.decrementAndGet();
+            wheel.cancelled.offer(this);
+            return true;
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.factory.factorypattern.service;
 
+import com.factory.factorypattern.logging.PayoutEvent;
+import com.factory.factorypattern.logging.PayoutEventLog;
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
 import com.factory.factorypattern.model.PayoutProcessor;
 import com.factory.factorypattern.model.PayoutRequest;
 import com.factory.factorypattern.model.PayoutResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 🎯 FACTORY PATTERN - Concrete Product 3
@@ -27,50 +36,144 @@ public class BankTransferProcessor implements PayoutProcessor {
             "in", "ph", "bd", "np", "lk"
     };
     private static final String[] SUPPORTED_METHODS = {"bank_transfer", "wire_transfer"};
+    private static final Set<Country> COUNTRIES = Country.setOf(SUPPORTED_COUNTRIES);
+    private static final Set<PayoutMethod> METHODS = PayoutMethod.setOf(SUPPORTED_METHODS);
+
+    // Optional so the processor also works standalone (e.g. in unit tests)
+    @Autowired(required = false)
+    private PayoutEventLog events = PayoutEventLog.disabled();
+
+    @Autowired(required = false)
+    private TransactionIdGenerator ids = TransactionIdGenerator.local();
+
+    // How long the simulated bank takes to settle an accepted transfer
+    @Value("${remittance.bank.settlement-millis:10000}")
+    private long settlementMillis = 10_000;
 
     @Override
     public PayoutResponse processTransfer(PayoutRequest request) {
-        System.out.println("🏦 Processing Bank transfer for: " + request.getRecipientName() +
-                " in " + request.getDestinationCountry());
+        return processTransferAsync(request).join();
+    }
+
+    /**
+     * Validation runs on the caller's thread; the simulated bank API delay
+     * is scheduled instead of blocking it
+     */
+    @Override
+    public CompletableFuture<PayoutResponse> processTransferAsync(PayoutRequest request) {
+        events.log(PayoutEvent.TRANSFER_STARTED, PROVIDER_NAME, null, request.getRecipientName(),
+                request.getDestinationCountry(), request.getAmount(), 0L);
 
         try {
             // Validate bank transfer specific requirements
             if (!validateBankTransferRequest(request)) {
-                return PayoutResponse.failed("Invalid bank transfer request parameters",
-                        PROVIDER_NAME, "BANK_VALIDATION_ERROR");
+                return CompletableFuture.completedFuture(PayoutResponse.failed(
+                        "Invalid bank transfer request parameters", PROVIDER_NAME, "BANK_VALIDATION_ERROR"));
             }
 
             // Simulate bank API call
-            String transactionId = generateBankTransactionId();
+            String transactionId = ids.next(TransactionIdGenerator.Provider.BANK_TRANSFER);
 
             // Bank transfers typically take longer
-            Thread.sleep(1500);
+            return ProviderLatency.after(1500, request.getDeadline(), () -> completed(request, transactionId))
+                    .exceptionally(e -> failed(request, e));
 
-            System.out.println("✅ Bank transfer initiated successfully. TxnId: " + transactionId);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failed(request, e));
+        }
+    }
 
-            PayoutResponse response = PayoutResponse.success(transactionId, PROVIDER_NAME, request.getAmount());
-            response.setCurrency(request.getCurrency());
-            response.setRecipientName(request.getRecipientName());
-            response.setMessage("Bank transfer initiated successfully. Processing time: 1-3 business days");
+    @Override
+    public List<PayoutResponse> processBatch(List<PayoutRequest> requests) {
+        return processBatchAsync(requests).join();
+    }
 
-            return response;
+    /**
+     * Simulated bank bulk API - invalid items are answered at once, the rest
+     * share a single round trip
+     */
+    @Override
+    public CompletableFuture<List<PayoutResponse>> processBatchAsync(List<PayoutRequest> requests) {
+        return BulkSubmission.submit(requests, 1500, request -> {
+            events.log(PayoutEvent.TRANSFER_STARTED, PROVIDER_NAME, null, request.getRecipientName(),
+                    request.getDestinationCountry(), request.getAmount(), 0L);
+            return validateBankTransferRequest(request) ? null : PayoutResponse.failed(
+                    "Invalid bank transfer request parameters", PROVIDER_NAME, "BANK_VALIDATION_ERROR");
+        }, request -> completed(request, ids.next(TransactionIdGenerator.Provider.BANK_TRANSFER)), this::failed);
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ Bank transfer failed: " + e.getMessage());
-            return PayoutResponse.failed("Bank transfer processing failed: " + e.getMessage(),
-                    PROVIDER_NAME, "BANK_API_ERROR");
+    /**
+     * The bank accepted the transfer; it settles later and is polled until then
+     */
+    private PayoutResponse completed(PayoutRequest request, String transactionId) {
+        events.log(PayoutEvent.TRANSFER_PENDING, PROVIDER_NAME, transactionId, request.getBankAccount(),
+                null, request.getAmount(), 0L);
+
+        PayoutResponse response = PayoutResponse.success(transactionId, PROVIDER_NAME, request.getAmount());
+        response.setStatus(PayoutResponse.Status.PENDING);
+        response.setCurrency(request.getCurrency());
+        response.setRecipientName(request.getRecipientName());
+        response.setMessage("Bank transfer initiated. Processing time: 1-3 business days");
+
+        return response;
+    }
+
+    /**
+     * Simulated bank status API - one round trip for the whole list; a
+     * transfer has settled once settlement-millis have passed since its
+     * transaction ID was issued
+     */
+    @Override
+    public CompletableFuture<List<PayoutResponse>> checkStatusAsync(List<PayoutResponse> pending) {
+        return ProviderLatency.after(300, null, () -> {
+            long now = System.currentTimeMillis();
+            List<PayoutResponse> statuses = new ArrayList<>(pending.size());
+            for (PayoutResponse transfer : pending) {
+                statuses.add(statusOf(transfer, now));
+            }
+            return statuses;
+        });
+    }
+
+    private PayoutResponse statusOf(PayoutResponse transfer, long now) {
+        TransactionIdGenerator.Decoded id = TransactionIdGenerator.decode(transfer.getTransactionId());
+        if (id == null || id.provider() != TransactionIdGenerator.Provider.BANK_TRANSFER) {
+            PayoutResponse unknown = PayoutResponse.failed("Unknown bank transfer: " + transfer.getTransactionId(),
+                    PROVIDER_NAME, "BANK_UNKNOWN_TRANSACTION");
+            unknown.setTransactionId(transfer.getTransactionId());
+            return unknown;
+        }
+        if (now - id.timestamp().toEpochMilli() < settlementMillis) {
+            return transfer;
+        }
+        events.log(PayoutEvent.TRANSFER_SUCCEEDED, PROVIDER_NAME, transfer.getTransactionId(), null,
+                null, transfer.getAmount(), 0L);
+
+        PayoutResponse settled = PayoutResponse.success(transfer.getTransactionId(), PROVIDER_NAME,
+                transfer.getAmount());
+        settled.setCurrency(transfer.getCurrency());
+        settled.setRecipientName(transfer.getRecipientName());
+        settled.setMessage("Bank transfer completed");
+        return settled;
+    }
+
+    private PayoutResponse failed(PayoutRequest request, Throwable e) {
+        if (ProviderLatency.isTimeout(e)) {
+            // Deadline passed first: the provider call was cancelled
+            events.log(PayoutEvent.TRANSFER_TIMED_OUT, PROVIDER_NAME, "DEADLINE_EXCEEDED", request.getBankAccount(),
+                    null, request.getAmount(), 0L);
+            return PayoutResponse.timeout(PROVIDER_NAME);
         }
+        events.log(PayoutEvent.TRANSFER_FAILED, PROVIDER_NAME, "BANK_API_ERROR", request.getBankAccount(),
+                e.getMessage(), request.getAmount(), 0L);
+        return PayoutResponse.failed("Bank transfer processing failed: " + e.getMessage(),
+                PROVIDER_NAME, "BANK_API_ERROR");
     }
 
     @Override
     public boolean isSupported(String country, String method) {
-        boolean countrySupported = country != null &&
-                java.util.Arrays.stream(SUPPORTED_COUNTRIES)
-                        .anyMatch(c -> c.equalsIgnoreCase(country.trim()));
-        boolean methodSupported = method != null &&
-                java.util.Arrays.stream(SUPPORTED_METHODS)
-                        .anyMatch(m -> m.equalsIgnoreCase(method.trim()));
-        return countrySupported && methodSupported;
+        return COUNTRIES.contains(Country.resolve(country)) &&
+                METHODS.contains(PayoutMethod.resolve(method));
     }
 
     @Override
@@ -95,36 +198,30 @@ public class BankTransferProcessor implements PayoutProcessor {
         // Check bank account details
         String bankAccount = request.getBankAccount();
         if (bankAccount == null || bankAccount.trim().isEmpty()) {
-            System.err.println("❌ Bank transfer requires recipient bank account");
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "MISSING_BANK_ACCOUNT");
             return false;
         }
 
         String bankCode = request.getBankCode();
         if (bankCode == null || bankCode.trim().isEmpty()) {
-            System.err.println("❌ Bank transfer requires bank code/SWIFT code");
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "MISSING_BANK_CODE", bankAccount);
             return false;
         }
 
         // Check minimum amount for bank transfers
         if (request.getAmount().compareTo(new java.math.BigDecimal("10")) < 0) {
-            System.err.println("❌ Minimum amount for bank transfer is $10");
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "AMOUNT_MINIMUM", null,
+                    null, request.getAmount(), 0L);
             return false;
         }
 
         // Check maximum amount
         if (request.getAmount().compareTo(new java.math.BigDecimal("500000")) > 0) {
-            System.err.println("❌ Amount exceeds bank transfer daily limit");
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "AMOUNT_LIMIT", null,
+                    null, request.getAmount(), 0L);
             return false;
         }
 
         return true;
     }
-
-    /**
-     * Generate bank style transaction ID
-     */
-    private String generateBankTransactionId() {
-        return "BT" + System.currentTimeMillis() +
-                UUID.randomUUID().toString().substring(0, 10).toUpperCase();
-    }
 }
\ No newline at end of file
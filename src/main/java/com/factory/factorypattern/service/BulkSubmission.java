@@ -0,0 +1,77 @@
+package com.factory.factorypattern.service;
+
+import com.factory.factorypattern.model.Deadline;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 📦 Simulated provider bulk API shared by the processors
+ *
+ * Items failing the processor's own validation are answered at once; the
+ * rest go out in one simulated round trip, however many there are. The bulk
+ * call is bounded by the earliest deadline among the items sent: if it would
+ * run past any of them, the whole call is cancelled and every item answers
+ * TIMEOUT, so no item is ever paid after its caller was told it timed out.
+ * (The accumulator only batches items with similar deadlines together.)
+ */
+final class BulkSubmission {
+
+    private BulkSubmission() {}
+
+    /**
+     * @param reject   response for an item that must not be sent, or null to send it
+     * @param complete response for an item the provider accepted
+     * @param fail     response for an item whose bulk call failed
+     */
+    static CompletableFuture<List<PayoutResponse>> submit(List<PayoutRequest> requests, long latencyMillis,
+                                                          Function<PayoutRequest, PayoutResponse> reject,
+                                                          Function<PayoutRequest, PayoutResponse> complete,
+                                                          BiFunction<PayoutRequest, Throwable, PayoutResponse> fail) {
+        PayoutResponse[] responses = new PayoutResponse[requests.size()];
+        Deadline earliest = null;
+        int accepted = 0;
+
+        for (int i = 0; i < responses.length; i++) {
+            PayoutRequest request = requests.get(i);
+            try {
+                responses[i] = reject.apply(request);
+            } catch (RuntimeException e) {
+                responses[i] = fail.apply(request, e);
+            }
+            if (responses[i] == null) {
+                accepted++;
+                Deadline deadline = request.getDeadline();
+                if (deadline != null && (earliest == null || deadline.remainingNanos() < earliest.remainingNanos())) {
+                    earliest = deadline;
+                }
+            }
+        }
+        if (accepted == 0) {
+            return CompletableFuture.completedFuture(Arrays.asList(responses));
+        }
+
+        // 🚀 One round trip for every accepted item
+        return ProviderLatency.after(latencyMillis, earliest, () -> {
+                    for (int i = 0; i < responses.length; i++) {
+                        if (responses[i] == null) {
+                            responses[i] = complete.apply(requests.get(i));
+                        }
+                    }
+                    return Arrays.asList(responses);
+                })
+                .exceptionally(e -> {
+                    for (int i = 0; i < responses.length; i++) {
+                        if (responses[i] == null) {
+                            responses[i] = fail.apply(requests.get(i), e);
+                        }
+                    }
+                    return Arrays.asList(responses);
+                });
+    }
+}
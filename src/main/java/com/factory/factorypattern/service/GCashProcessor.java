@@ -1,11 +1,18 @@
 package com.factory.factorypattern.service;
 
+import com.factory.factorypattern.logging.PayoutEvent;
+import com.factory.factorypattern.logging.PayoutEventLog;
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
 import com.factory.factorypattern.model.PayoutProcessor;
 import com.factory.factorypattern.model.PayoutRequest;
 import com.factory.factorypattern.model.PayoutResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 🎯 FACTORY PATTERN - Concrete Product 1
@@ -24,48 +31,94 @@ public class GCashProcessor implements PayoutProcessor {
     private static final String PROVIDER_NAME = "GCash Philippines";
     private static final String[] SUPPORTED_COUNTRIES = {"philippines", "ph"};
     private static final String[] SUPPORTED_METHODS = {"mobile_wallet"};
+    private static final Set<Country> COUNTRIES = Country.setOf(SUPPORTED_COUNTRIES);
+    private static final Set<PayoutMethod> METHODS = PayoutMethod.setOf(SUPPORTED_METHODS);
+
+    // Optional so the processor also works standalone (e.g. in unit tests)
+    @Autowired(required = false)
+    private PayoutEventLog events = PayoutEventLog.disabled();
+
+    @Autowired(required = false)
+    private TransactionIdGenerator ids = TransactionIdGenerator.local();
 
     @Override
     public PayoutResponse processTransfer(PayoutRequest request) {
-        System.out.println("🇵🇭 Processing GCash transfer for: " + request.getRecipientName());
+        return processTransferAsync(request).join();
+    }
+
+    /**
+     * Validation runs on the caller's thread; the simulated GCash API delay
+     * is scheduled instead of blocking it
+     */
+    @Override
+    public CompletableFuture<PayoutResponse> processTransferAsync(PayoutRequest request) {
+        events.log(PayoutEvent.TRANSFER_STARTED, PROVIDER_NAME, null, request.getRecipientName());
 
         try {
             // Validate GCash specific requirements
             if (!validateGCashRequest(request)) {
-                return PayoutResponse.failed("Invalid GCash request parameters",
-                        PROVIDER_NAME, "GCASH_VALIDATION_ERROR");
+                return CompletableFuture.completedFuture(PayoutResponse.failed(
+                        "Invalid GCash request parameters", PROVIDER_NAME, "GCASH_VALIDATION_ERROR"));
             }
 
             // Simulate GCash API call
-            String transactionId = generateGCashTransactionId();
+            String transactionId = ids.next(TransactionIdGenerator.Provider.GCASH);
 
             // Simulate processing delay
-            Thread.sleep(1000);
+            return ProviderLatency.after(1000, request.getDeadline(), () -> completed(request, transactionId))
+                    .exceptionally(e -> failed(request, e));
 
-            System.out.println("✅ GCash transfer successful. TxnId: " + transactionId);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failed(request, e));
+        }
+    }
 
-            PayoutResponse response = PayoutResponse.success(transactionId, PROVIDER_NAME, request.getAmount());
-            response.setCurrency(request.getCurrency());
-            response.setRecipientName(request.getRecipientName());
+    @Override
+    public List<PayoutResponse> processBatch(List<PayoutRequest> requests) {
+        return processBatchAsync(requests).join();
+    }
 
-            return response;
+    /**
+     * Simulated GCash bulk API - invalid items are answered at once, the rest
+     * share a single round trip
+     */
+    @Override
+    public CompletableFuture<List<PayoutResponse>> processBatchAsync(List<PayoutRequest> requests) {
+        return BulkSubmission.submit(requests, 1000, request -> {
+            events.log(PayoutEvent.TRANSFER_STARTED, PROVIDER_NAME, null, request.getRecipientName());
+            return validateGCashRequest(request) ? null : PayoutResponse.failed(
+                    "Invalid GCash request parameters", PROVIDER_NAME, "GCASH_VALIDATION_ERROR");
+        }, request -> completed(request, ids.next(TransactionIdGenerator.Provider.GCASH)), this::failed);
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ GCash transfer failed: " + e.getMessage());
-            return PayoutResponse.failed("GCash processing failed: " + e.getMessage(),
-                    PROVIDER_NAME, "GCASH_API_ERROR");
+    private PayoutResponse completed(PayoutRequest request, String transactionId) {
+        events.log(PayoutEvent.TRANSFER_SUCCEEDED, PROVIDER_NAME, transactionId, request.getRecipientName(),
+                null, request.getAmount(), 0L);
+
+        PayoutResponse response = PayoutResponse.success(transactionId, PROVIDER_NAME, request.getAmount());
+        response.setCurrency(request.getCurrency());
+        response.setRecipientName(request.getRecipientName());
+
+        return response;
+    }
+
+    private PayoutResponse failed(PayoutRequest request, Throwable e) {
+        if (ProviderLatency.isTimeout(e)) {
+            // Deadline passed first: the provider call was cancelled
+            events.log(PayoutEvent.TRANSFER_TIMED_OUT, PROVIDER_NAME, "DEADLINE_EXCEEDED", request.getRecipientName(),
+                    null, request.getAmount(), 0L);
+            return PayoutResponse.timeout(PROVIDER_NAME);
         }
+        events.log(PayoutEvent.TRANSFER_FAILED, PROVIDER_NAME, "GCASH_API_ERROR", request.getRecipientName(),
+                e.getMessage(), request.getAmount(), 0L);
+        return PayoutResponse.failed("GCash processing failed: " + e.getMessage(),
+                PROVIDER_NAME, "GCASH_API_ERROR");
     }
 
     @Override
     public boolean isSupported(String country, String method) {
-        boolean countrySupported = country != null &&
-                java.util.Arrays.stream(SUPPORTED_COUNTRIES)
-                        .anyMatch(c -> c.equalsIgnoreCase(country.trim()));
-        boolean methodSupported = method != null &&
-                java.util.Arrays.stream(SUPPORTED_METHODS)
-                        .anyMatch(m -> m.equalsIgnoreCase(method.trim()));
-        return countrySupported && methodSupported;
+        return COUNTRIES.contains(Country.resolve(country)) &&
+                METHODS.contains(PayoutMethod.resolve(method));
     }
 
     @Override
@@ -90,30 +143,23 @@ public class GCashProcessor implements PayoutProcessor {
         // Check phone number format for Philippines
         String phone = request.getRecipientPhone();
         if (phone == null || phone.trim().isEmpty()) {
-            System.err.println("❌ GCash requires recipient phone number");
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "MISSING_PHONE");
             return false;
         }
 
         // Simple Philippines phone validation
         if (!phone.matches("^(\\+63|63|0)?9\\d{9}$")) {
-            System.err.println("❌ Invalid Philippines phone number format: " + phone);
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "INVALID_PHONE", phone);
             return false;
         }
 
         // Check amount limits (GCash specific)
         if (request.getAmount().compareTo(new java.math.BigDecimal("50000")) > 0) {
-            System.err.println("❌ Amount exceeds GCash daily limit");
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "AMOUNT_LIMIT", null,
+                    null, request.getAmount(), 0L);
             return false;
         }
 
         return true;
     }
-
-    /**
-     * Generate GCash style transaction ID
-     */
-    private String generateGCashTransactionId() {
-        return "GC" + System.currentTimeMillis() +
-                UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
 }
@@ -1,11 +1,18 @@
 package com.factory.factorypattern.service;
 
+import com.factory.factorypattern.logging.PayoutEvent;
+import com.factory.factorypattern.logging.PayoutEventLog;
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
 import com.factory.factorypattern.model.PayoutProcessor;
 import com.factory.factorypattern.model.PayoutRequest;
 import com.factory.factorypattern.model.PayoutResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 🎯 FACTORY PATTERN - Concrete Product 2
@@ -24,48 +31,94 @@ public class PaytmProcessor implements PayoutProcessor {
     private static final String PROVIDER_NAME = "Paytm India";
     private static final String[] SUPPORTED_COUNTRIES = {"india", "in"};
     private static final String[] SUPPORTED_METHODS = {"mobile_wallet", "digital_wallet"};
+    private static final Set<Country> COUNTRIES = Country.setOf(SUPPORTED_COUNTRIES);
+    private static final Set<PayoutMethod> METHODS = PayoutMethod.setOf(SUPPORTED_METHODS);
+
+    // Optional so the processor also works standalone (e.g. in unit tests)
+    @Autowired(required = false)
+    private PayoutEventLog events = PayoutEventLog.disabled();
+
+    @Autowired(required = false)
+    private TransactionIdGenerator ids = TransactionIdGenerator.local();
 
     @Override
     public PayoutResponse processTransfer(PayoutRequest request) {
-        System.out.println("🇮🇳 Processing Paytm transfer for: " + request.getRecipientName());
+        return processTransferAsync(request).join();
+    }
+
+    /**
+     * Validation runs on the caller's thread; the simulated Paytm API delay
+     * is scheduled instead of blocking it
+     */
+    @Override
+    public CompletableFuture<PayoutResponse> processTransferAsync(PayoutRequest request) {
+        events.log(PayoutEvent.TRANSFER_STARTED, PROVIDER_NAME, null, request.getRecipientName());
 
         try {
             // Validate Paytm specific requirements
             if (!validatePaytmRequest(request)) {
-                return PayoutResponse.failed("Invalid Paytm request parameters",
-                        PROVIDER_NAME, "PAYTM_VALIDATION_ERROR");
+                return CompletableFuture.completedFuture(PayoutResponse.failed(
+                        "Invalid Paytm request parameters", PROVIDER_NAME, "PAYTM_VALIDATION_ERROR"));
             }
 
             // Simulate Paytm API call
-            String transactionId = generatePaytmTransactionId();
+            String transactionId = ids.next(TransactionIdGenerator.Provider.PAYTM);
 
             // Simulate processing delay
-            Thread.sleep(800);
+            return ProviderLatency.after(800, request.getDeadline(), () -> completed(request, transactionId))
+                    .exceptionally(e -> failed(request, e));
 
-            System.out.println("✅ Paytm transfer successful. TxnId: " + transactionId);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failed(request, e));
+        }
+    }
 
-            PayoutResponse response = PayoutResponse.success(transactionId, PROVIDER_NAME, request.getAmount());
-            response.setCurrency(request.getCurrency());
-            response.setRecipientName(request.getRecipientName());
+    @Override
+    public List<PayoutResponse> processBatch(List<PayoutRequest> requests) {
+        return processBatchAsync(requests).join();
+    }
 
-            return response;
+    /**
+     * Simulated Paytm bulk API - invalid items are answered at once, the rest
+     * share a single round trip
+     */
+    @Override
+    public CompletableFuture<List<PayoutResponse>> processBatchAsync(List<PayoutRequest> requests) {
+        return BulkSubmission.submit(requests, 800, request -> {
+            events.log(PayoutEvent.TRANSFER_STARTED, PROVIDER_NAME, null, request.getRecipientName());
+            return validatePaytmRequest(request) ? null : PayoutResponse.failed(
+                    "Invalid Paytm request parameters", PROVIDER_NAME, "PAYTM_VALIDATION_ERROR");
+        }, request -> completed(request, ids.next(TransactionIdGenerator.Provider.PAYTM)), this::failed);
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ Paytm transfer failed: " + e.getMessage());
-            return PayoutResponse.failed("Paytm processing failed: " + e.getMessage(),
-                    PROVIDER_NAME, "PAYTM_API_ERROR");
+    private PayoutResponse completed(PayoutRequest request, String transactionId) {
+        events.log(PayoutEvent.TRANSFER_SUCCEEDED, PROVIDER_NAME, transactionId, request.getRecipientName(),
+                null, request.getAmount(), 0L);
+
+        PayoutResponse response = PayoutResponse.success(transactionId, PROVIDER_NAME, request.getAmount());
+        response.setCurrency(request.getCurrency());
+        response.setRecipientName(request.getRecipientName());
+
+        return response;
+    }
+
+    private PayoutResponse failed(PayoutRequest request, Throwable e) {
+        if (ProviderLatency.isTimeout(e)) {
+            // Deadline passed first: the provider call was cancelled
+            events.log(PayoutEvent.TRANSFER_TIMED_OUT, PROVIDER_NAME, "DEADLINE_EXCEEDED", request.getRecipientName(),
+                    null, request.getAmount(), 0L);
+            return PayoutResponse.timeout(PROVIDER_NAME);
         }
+        events.log(PayoutEvent.TRANSFER_FAILED, PROVIDER_NAME, "PAYTM_API_ERROR", request.getRecipientName(),
+                e.getMessage(), request.getAmount(), 0L);
+        return PayoutResponse.failed("Paytm processing failed: " + e.getMessage(),
+                PROVIDER_NAME, "PAYTM_API_ERROR");
     }
 
     @Override
     public boolean isSupported(String country, String method) {
-        boolean countrySupported = country != null &&
-                java.util.Arrays.stream(SUPPORTED_COUNTRIES)
-                        .anyMatch(c -> c.equalsIgnoreCase(country.trim()));
-        boolean methodSupported = method != null &&
-                java.util.Arrays.stream(SUPPORTED_METHODS)
-                        .anyMatch(m -> m.equalsIgnoreCase(method.trim()));
-        return countrySupported && methodSupported;
+        return COUNTRIES.contains(Country.resolve(country)) &&
+                METHODS.contains(PayoutMethod.resolve(method));
     }
 
     @Override
@@ -93,32 +146,25 @@ public class PaytmProcessor implements PayoutProcessor {
 
         if ((phone == null || phone.trim().isEmpty()) &&
                 (email == null || email.trim().isEmpty())) {
-            System.err.println("❌ Paytm requires recipient phone or email");
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "MISSING_CONTACT");
             return false;
         }
 
         // Simple India phone validation if provided
         if (phone != null && !phone.trim().isEmpty()) {
             if (!phone.matches("^(\\+91|91|0)?[6-9]\\d{9}$")) {
-                System.err.println("❌ Invalid India phone number format: " + phone);
+                events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "INVALID_PHONE", phone);
                 return false;
             }
         }
 
         // Check amount limits (Paytm specific)
         if (request.getAmount().compareTo(new java.math.BigDecimal("100000")) > 0) {
-            System.err.println("❌ Amount exceeds Paytm daily limit");
+            events.log(PayoutEvent.VALIDATION_FAILED, PROVIDER_NAME, "AMOUNT_LIMIT", null,
+                    null, request.getAmount(), 0L);
             return false;
         }
 
         return true;
     }
-
-    /**
-     * Generate Paytm style transaction ID
-     */
-    private String generatePaytmTransactionId() {
-        return "PTM" + System.currentTimeMillis() +
-                UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-    }
 }
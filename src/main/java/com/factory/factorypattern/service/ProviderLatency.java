@@ -0,0 +1,72 @@
+package com.factory.factorypattern.service;
+
+import com.factory.factorypattern.model.Deadline;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * ⏱️ Simulated provider latency without blocked threads
+ *
+ * The processors stand in for remote provider APIs. Instead of sleeping on
+ * the caller's thread, the provider "answer" is scheduled on one shared timer
+ * thread, so an in-flight payout costs a scheduled task rather than a thread.
+ *
+ * The scheduled work only builds the response; dependent stages attached
+ * without an executor also run on the timer thread and must stay short.
+ *
+ * When the request's deadline comes first, the pending answer is cancelled
+ * and the future fails with a TimeoutException at the deadline.
+ */
+final class ProviderLatency {
+
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, task -> {
+        Thread thread = new Thread(task, "provider-latency");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private ProviderLatency() {}
+
+    /**
+     * Complete with supplier's result after the given delay, or fail at the
+     * deadline when there is one and it comes first
+     */
+    static <T> CompletableFuture<T> after(long delayMillis, Deadline deadline, Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ScheduledFuture<?> answer = TIMER.schedule(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+
+        // Only arm a timeout when the deadline can come first
+        if (deadline != null && deadline.remainingNanos() < TimeUnit.MILLISECONDS.toNanos(delayMillis)) {
+            TIMER.schedule(() -> {
+                if (future.completeExceptionally(new TimeoutException("Deadline exceeded"))) {
+                    answer.cancel(false);
+                }
+            }, deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * True when a provider call failed because its deadline passed
+     */
+    static boolean isTimeout(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,182 @@
+package com.factory.factorypattern.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 🆔 Snowflake-style transaction IDs: GC/PTM/BT + 13 base32 characters
+ *
+ * The 63-bit number behind the prefix is
+ *
+ *   41 bits  milliseconds since 2025-01-01T00:00Z (good until ~2094)
+ *    8 bits  node id (remittance.transaction-ids.node-id, unique per instance)
+ *    4 bits  provider
+ *   10 bits  sequence within the millisecond
+ *
+ * so IDs are unique across nodes and providers without coordination, sort
+ * by time, and decode() gives back provider, node and timestamp.
+ *
+ * Lock-free: each provider keeps its last (millisecond, sequence) pair in
+ * one long, and next() advances it with a CAS to max(last + 1, now). More
+ * than 1,024 IDs in a millisecond borrow the next one, and a clock stepping
+ * back keeps counting from the last ID - so IDs never repeat or go
+ * backwards, at the cost of running briefly ahead of the wall clock.
+ *
+ * Fixed-width Crockford base32 keeps the text ordered like the numbers;
+ * an ID costs one byte array and one String.
+ */
+@Component
+public class TransactionIdGenerator {
+
+    private static final long EPOCH_MILLIS = 1_735_689_600_000L;
+    private static final int SEQUENCE_BITS = 10;
+    private static final int PROVIDER_BITS = 4;
+    private static final int NODE_BITS = 8;
+    private static final int PROVIDER_SHIFT = SEQUENCE_BITS;
+    private static final int NODE_SHIFT = PROVIDER_SHIFT + PROVIDER_BITS;
+    private static final int TIME_SHIFT = NODE_SHIFT + NODE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final byte[] DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final TransactionIdGenerator LOCAL = new TransactionIdGenerator(0, System::currentTimeMillis);
+
+    /**
+     * Providers with their ID prefix; the ordinal is what the ID encodes, so
+     * new providers are only ever appended
+     */
+    public enum Provider {
+        GCASH("GC"), PAYTM("PTM"), BANK_TRANSFER("BT");
+
+        private final String prefix;
+
+        Provider(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public String getPrefix() { return prefix; }
+    }
+
+    /**
+     * What an ID says about itself
+     */
+    public record Decoded(Provider provider, int nodeId, Instant timestamp, int sequence) {}
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Last (millis << SEQUENCE_BITS | sequence) per provider ordinal
+    private final AtomicLongArray last = new AtomicLongArray(Provider.values().length);
+
+    @Autowired
+    public TransactionIdGenerator(@Value("${remittance.transaction-ids.node-id:0}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TransactionIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << NODE_SHIFT;
+        this.clock = clock;
+    }
+
+    /**
+     * Node 0 generator shared by processors created outside Spring (e.g. in unit tests)
+     */
+    public static TransactionIdGenerator local() {
+        return LOCAL;
+    }
+
+    /**
+     * Next ID for a provider, e.g. GC0J5Q3X8K2R0M4
+     */
+    public String next(Provider provider) {
+        return format(provider, nextId(provider));
+    }
+
+    /**
+     * Next raw 63-bit ID; strictly increasing per provider on this node
+     */
+    long nextId(Provider provider) {
+        int slot = provider.ordinal();
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get(slot);
+            next = Math.max(previous + 1, now);
+        } while (!last.compareAndSet(slot, previous, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        return millis << TIME_SHIFT | nodeBits | (long) slot << PROVIDER_SHIFT | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Provider, node and timestamp of an ID made by any node, or null when it
+     * is not one of ours
+     */
+    public static Decoded decode(String transactionId) {
+        if (transactionId == null) {
+            return null;
+        }
+        for (Provider provider : Provider.values()) {
+            String prefix = provider.getPrefix();
+            if (transactionId.length() != prefix.length() + ENCODED_LENGTH || !transactionId.startsWith(prefix)) {
+                continue;
+            }
+            long id = parse(transactionId, prefix.length());
+            if (id < 0 || (id >>> PROVIDER_SHIFT & (1 << PROVIDER_BITS) - 1) != provider.ordinal()) {
+                return null;
+            }
+            return new Decoded(provider,
+                    (int) (id >>> NODE_SHIFT & MAX_NODE_ID),
+                    Instant.ofEpochMilli((id >>> TIME_SHIFT) + EPOCH_MILLIS),
+                    (int) (id & SEQUENCE_MASK));
+        }
+        return null;
+    }
+
+    static String format(Provider provider, long id) {
+        String prefix = provider.getPrefix();
+        byte[] text = new byte[prefix.length() + ENCODED_LENGTH];
+        for (int i = 0; i < prefix.length(); i++) {
+            text[i] = (byte) prefix.charAt(i);
+        }
+        for (int i = text.length - 1; i >= prefix.length(); i--) {
+            text[i] = DIGITS[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(text, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Base32 value after the prefix, or -1 for a character outside the
+     * alphabet or a value wider than 63 bits
+     */
+    private static long parse(String transactionId, int from) {
+        long id = 0;
+        for (int i = from; i < transactionId.length(); i++) {
+            char c = transactionId.charAt(i);
+            int digit = -1;
+            for (int d = 0; d < DIGITS.length; d++) {
+                if (DIGITS[d] == c) {
+                    digit = d;
+                    break;
+                }
+            }
+            if (digit < 0 || (i == from && digit > 7)) {
+                return -1;
+            }
+            id = id << 5 | digit;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,41 @@
+package com.factory.factorypattern.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 🧵 Virtual-thread execution mode (Java 21 build only: mvn -Pjava21)
+ *
+ * - Tomcat runs every request on its own virtual thread instead of the
+ *   bounded platform-thread pool
+ * - Processor calls are started on a virtual thread as well, so processors
+ *   that only implement the blocking processTransfer no longer pin a
+ *   request thread; the same executor serves as Spring's application task
+ *   executor
+ *
+ * Set remittance.virtual-threads.enabled=false to fall back to platform threads.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "remittance.virtual-threads", name = "enabled", matchIfMissing = true)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {"processorExecutor", TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME})
+    public SimpleAsyncTaskExecutor processorExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("payout-vt-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
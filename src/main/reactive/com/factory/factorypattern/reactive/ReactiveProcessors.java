@@ -0,0 +1,40 @@
+package com.factory.factorypattern.reactive;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 🔌 Mono adapter over PayoutProcessor
+ *
+ * Processors with a native processTransferAsync (scheduled provider delay)
+ * are adapted directly and never touch the event loop with blocking work.
+ * Processors that only implement the blocking processTransfer are moved to
+ * the bounded elastic scheduler so they cannot stall a Netty thread.
+ */
+public final class ReactiveProcessors {
+
+    // Per processor class: does it override processTransferAsync?
+    private static final ClassValue<Boolean> NON_BLOCKING = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("processTransferAsync", PayoutRequest.class).getDeclaringClass()
+                        != PayoutProcessor.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private ReactiveProcessors() {}
+
+    public static Mono<PayoutResponse> processTransfer(PayoutProcessor processor, PayoutRequest request) {
+        Mono<PayoutResponse> call = Mono.fromFuture(() -> processor.processTransferAsync(request));
+        return NON_BLOCKING.get(processor.getClass())
+                ? call
+                : call.subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,181 @@
+package com.factory.factorypattern.reactive;
+
+import com.factory.factorypattern.dispatch.DeadlinePolicy;
+import com.factory.factorypattern.dispatch.IdempotencyStore;
+import com.factory.factorypattern.dispatch.PayoutDispatcher;
+import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.factory.RouteResolution;
+import com.factory.factorypattern.journal.PayoutJournal;
+import com.factory.factorypattern.logging.PayoutEvent;
+import com.factory.factorypattern.logging.PayoutEventLog;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.TransactionIdGenerator;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 🎯 FACTORY PATTERN - Reactive Client/Consumer (mvn -Preactive)
+ *
+ * WebFlux edition of TransferController for Netty. Same factory, same
+ * processors, same JSON contract; processor calls are adapted to Mono so
+ * a handful of event-loop threads can serve many open connections.
+ */
+@RestController
+@RequestMapping("/api/transfer")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransferController {
+
+    private final PayoutMethodFactory payoutFactory;
+    private final PayoutDispatcher payoutDispatcher;
+
+    @Autowired(required = false)
+    private PayoutEventLog events = PayoutEventLog.disabled();
+
+    @Autowired(required = false)
+    private DeadlinePolicy deadlines = DeadlinePolicy.none();
+
+    @Autowired(required = false)
+    private IdempotencyStore idempotency = IdempotencyStore.disabled();
+
+    @Autowired(required = false)
+    private PayoutJournal journal = PayoutJournal.disabled();
+
+    public ReactiveTransferController(PayoutMethodFactory payoutFactory, PayoutDispatcher payoutDispatcher) {
+        this.payoutFactory = payoutFactory;
+        this.payoutDispatcher = payoutDispatcher;
+    }
+
+    /**
+     * 🎯 MAIN ENDPOINT - Resolve through the factory, process without blocking
+     */
+    @PostMapping("/send")
+    public Mono<ResponseEntity<PayoutResponse>> sendMoney(
+            @Valid @RequestBody PayoutRequest request,
+            @RequestHeader(value = DeadlinePolicy.HEADER, required = false) Long deadlineMillis,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        request.setDeadline(deadlines.deadlineFor(request.getPayoutMethod(), deadlineMillis));
+        events.log(PayoutEvent.TRANSFER_RECEIVED, null, request.getPayoutMethod(), request.getRecipientName(),
+                request.getDestinationCountry(), request.getAmount(), 0L);
+
+        // 🔑 Replays never reach the factory or a processor
+        return Mono.fromFuture(() -> idempotency.execute(idempotencyKey, request, () -> route(request)))
+                .map(response -> new ResponseEntity<>(response, statusOf(response)))
+                .onErrorResume(error -> Mono.just(internalError(error)));
+    }
+
+    private CompletableFuture<PayoutResponse> route(PayoutRequest request) {
+        // 🏭 FACTORY PATTERN IN ACTION
+        RouteResolution route = payoutFactory.resolve(request.getPayoutMethod(), request.getDestinationCountry());
+        if (!route.isResolved()) {
+            events.log(PayoutEvent.UNSUPPORTED_COMBINATION, null, request.getPayoutMethod(), null,
+                    request.getDestinationCountry(), null, 0L);
+
+            return CompletableFuture.completedFuture(PayoutResponse.failed(
+                    route.getRejectionMessage(),
+                    "System",
+                    "UNSUPPORTED_COMBINATION"
+            ));
+        }
+
+        // 🔧 INTERFACE USAGE - through the dispatcher, so provider guards apply here too
+        PayoutProcessor processor = route.getProcessor();
+        return payoutDispatcher.dispatch(processor, request,
+                call -> ReactiveProcessors.processTransfer(processor, call).toFuture());
+    }
+
+    /**
+     * 🔎 STATUS ENDPOINT: Latest recorded outcome of a transaction, 400 when the
+     * path is not a transaction ID, 404 when unknown
+     */
+    @GetMapping("/{transactionId}")
+    public Mono<ResponseEntity<PayoutResponse>> getTransaction(@PathVariable String transactionId) {
+        return Mono.fromSupplier(() -> {
+            if (TransactionIdGenerator.decode(transactionId) == null) {
+                PayoutResponse invalid = PayoutResponse.failed(
+                        "Not a transaction ID: " + transactionId,
+                        "System",
+                        "INVALID_TRANSACTION_ID"
+                );
+                return ResponseEntity.badRequest().body(invalid);
+            }
+            PayoutResponse response = journal.findTransaction(transactionId);
+            if (response == null) {
+                PayoutResponse notFound = PayoutResponse.failed(
+                        "Unknown transaction: " + transactionId,
+                        "System",
+                        "TRANSACTION_NOT_FOUND"
+                );
+                return new ResponseEntity<>(notFound, HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    /**
+     * 🔍 UTILITY ENDPOINT: Get supported combinations
+     */
+    @GetMapping("/supported-methods")
+    public Mono<Map<String, String>> getSupportedMethods() {
+        return Mono.fromSupplier(payoutFactory::getSupportedCombinations);
+    }
+
+    /**
+     * 🔍 VALIDATION ENDPOINT: Check if combination is supported
+     */
+    @GetMapping("/validate")
+    public Mono<Map<String, Object>> validateCombination(
+            @RequestParam String method,
+            @RequestParam String country) {
+
+        boolean supported = payoutFactory.isSupported(method, country);
+
+        return Mono.just(Map.of(
+                "method", method,
+                "country", country,
+                "supported", supported,
+                "message", supported ? "Combination is supported" : "Combination is not supported"
+        ));
+    }
+
+    private static HttpStatus statusOf(PayoutResponse response) {
+        if (response.getStatus() == PayoutResponse.Status.SUCCESS) {
+            return HttpStatus.OK;
+        }
+        if (response.getStatus() == PayoutResponse.Status.PENDING) {
+            return HttpStatus.ACCEPTED;
+        }
+        if (response.getStatus() == PayoutResponse.Status.TIMEOUT) {
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+        if (PayoutDispatcher.isShed(response) || IdempotencyStore.STORE_FULL.equals(response.getErrorCode())) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (IdempotencyStore.KEY_REUSED.equals(response.getErrorCode())) {
+            return HttpStatus.UNPROCESSABLE_ENTITY;
+        }
+        return HttpStatus.BAD_REQUEST;
+    }
+
+    private ResponseEntity<PayoutResponse> internalError(Throwable e) {
+        events.log(PayoutEvent.INTERNAL_ERROR, null, e.getClass().getSimpleName(), null,
+                e.getMessage(), null, 0L);
+
+        PayoutResponse errorResponse = PayoutResponse.failed(
+                "Internal server error occurred",
+                "System",
+                "INTERNAL_ERROR"
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
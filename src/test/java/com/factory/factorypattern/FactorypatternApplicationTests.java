@@ -1,11 +1,26 @@
 package com.factory.factorypattern;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class FactorypatternApplicationTests {
 
+	// Keep the journal's segments out of the working tree
+	@TempDir
+	static Path journalDirectory;
+
+	@DynamicPropertySource
+	static void journal(DynamicPropertyRegistry registry) {
+		registry.add("remittance.journal.directory", () -> journalDirectory.toString());
+		registry.add("remittance.journal.segment-size-mb", () -> 1);
+	}
+
 	@Test
 	void contextLoads() {
 	}
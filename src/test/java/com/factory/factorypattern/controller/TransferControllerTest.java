@@ -1,16 +1,28 @@
 package com.factory.factorypattern.controller;
 
+import com.factory.factorypattern.dispatch.IdempotencyStore;
+import com.factory.factorypattern.dispatch.NdjsonPayoutStream;
+import com.factory.factorypattern.dispatch.PayoutDispatcher;
 import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.factory.RouteResolution;
+import com.factory.factorypattern.journal.PayoutJournal;
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
 import com.factory.factorypattern.service.BankTransferProcessor;
 import com.factory.factorypattern.service.GCashProcessor;
 import com.factory.factorypattern.service.PaytmProcessor;
+import com.factory.factorypattern.service.TransactionIdGenerator;
 import com.factory.factorypattern.model.PayoutProcessor;
 import com.factory.factorypattern.model.PayoutRequest;
 import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.model.RouteQuery;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -19,13 +31,25 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -51,6 +75,12 @@ class TransferControllerModernTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PayoutJournal payoutJournal;
+
+    @TempDir
+    static Path journalDirectory;
+
     private PayoutProcessor mockProcessor;
 
     /**
@@ -77,6 +107,26 @@ class TransferControllerModernTest {
         public BankTransferProcessor bankTransferProcessor() {
             return new BankTransferProcessor();
         }
+
+        @Bean
+        public PayoutDispatcher payoutDispatcher(PayoutMethodFactory payoutMethodFactory) {
+            return new PayoutDispatcher(payoutMethodFactory, 8);
+        }
+
+        @Bean
+        public IdempotencyStore idempotencyStore() {
+            return new IdempotencyStore(new SimpleMeterRegistry(), true, 60, 1_000, 4);
+        }
+
+        @Bean(destroyMethod = "close")
+        public PayoutJournal payoutJournal(ObjectMapper objectMapper) throws IOException {
+            return new PayoutJournal(objectMapper, true, journalDirectory.toString(), 1, 1_000, 168, 720);
+        }
+
+        @Bean
+        public NdjsonPayoutStream ndjsonPayoutStream(PayoutDispatcher payoutDispatcher, ObjectMapper objectMapper) {
+            return new NdjsonPayoutStream(payoutDispatcher, objectMapper, 4);
+        }
     }
 
     @BeforeEach
@@ -95,13 +145,13 @@ class TransferControllerModernTest {
         response.setCurrency(request.getCurrency());
 
         // Mock factory behavior
-        when(payoutMethodFactory.createProcessor(anyString(), anyString())).thenReturn(mockProcessor);
-        when(mockProcessor.processTransfer(any(PayoutRequest.class))).thenReturn(response);
+        when(payoutMethodFactory.resolve(anyString(), anyString()))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
         // When & Then
-        mockMvc.perform(post("/api/transfer/send")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        send(request)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("SUCCESS"))
                 .andExpect(jsonPath("$.transactionId").value("TEST123"))
@@ -111,22 +161,23 @@ class TransferControllerModernTest {
     }
 
     @Test
-    @DisplayName("❌ Controller handles factory exceptions properly")
-    void shouldHandleFactoryExceptions() throws Exception {
+    @DisplayName("❌ Controller rejects unsupported combinations without factory exceptions")
+    void shouldRejectUnsupportedCombinations() throws Exception {
         // Given
         PayoutRequest request = createValidRequest();
+        request.setDestinationCountry("mars");
 
-        // Mock factory to throw exception for unsupported combination
-        when(payoutMethodFactory.createProcessor(anyString(), anyString()))
-                .thenThrow(new IllegalArgumentException("Unsupported combination: mobile_wallet in mars"));
+        // Mock factory to return the prebuilt rejection
+        when(payoutMethodFactory.resolve(anyString(), anyString())).thenReturn(RouteResolution.UNKNOWN_COUNTRY);
 
         // When & Then
-        mockMvc.perform(post("/api/transfer/send")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        send(request)
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value("FAILED"))
-                .andExpect(jsonPath("$.errorCode").value("UNSUPPORTED_COMBINATION"));
+                .andExpect(jsonPath("$.errorCode").value("UNSUPPORTED_COMBINATION"))
+                .andExpect(jsonPath("$.message").value("Unknown destination country"));
+
+        verify(payoutMethodFactory, never()).createProcessor(anyString(), anyString());
     }
 
     @Test
@@ -184,6 +235,33 @@ class TransferControllerModernTest {
                 .andExpect(jsonPath("$.message").value("Combination is not supported"));
     }
 
+    @Test
+    @DisplayName("🔍 Controller validates many combinations in one call")
+    void shouldValidateCombinationsInBulk() throws Exception {
+        // Given
+        RouteResolution resolved = RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor);
+        when(payoutMethodFactory.resolve("mobile_wallet", "ph")).thenReturn(resolved);
+        when(payoutMethodFactory.resolve("cash_pickup", "ph")).thenReturn(RouteResolution.UNSUPPORTED);
+        when(payoutMethodFactory.resolve("mobile_wallet", "mars")).thenReturn(RouteResolution.UNKNOWN_COUNTRY);
+
+        List<RouteQuery> queries = List.of(
+                new RouteQuery("mobile_wallet", "ph"),
+                new RouteQuery("cash_pickup", "ph"),
+                new RouteQuery("mobile_wallet", "mars"));
+
+        // When & Then - Results come back in request order
+        mockMvc.perform(post("/api/transfer/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(queries)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.supportedCount").value(1))
+                .andExpect(jsonPath("$.supported[0]").value(true))
+                .andExpect(jsonPath("$.supported[1]").value(false))
+                .andExpect(jsonPath("$.outcomes[1]").value("UNSUPPORTED"))
+                .andExpect(jsonPath("$.outcomes[2]").value("UNKNOWN_COUNTRY"));
+    }
+
     @Test
     @DisplayName("🛡️ Controller validates request parameters")
     void shouldValidateRequestParameters() throws Exception {
@@ -212,13 +290,13 @@ class TransferControllerModernTest {
         philippinesResponse.setCurrency("PHP");
 
         // Mock factory for Philippines
-        when(payoutMethodFactory.createProcessor("mobile_wallet", "philippines")).thenReturn(mockProcessor);
-        when(mockProcessor.processTransfer(any(PayoutRequest.class))).thenReturn(philippinesResponse);
+        when(payoutMethodFactory.resolve("mobile_wallet", "philippines"))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(philippinesResponse));
 
         // When & Then - Philippines
-        mockMvc.perform(post("/api/transfer/send")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(philippinesRequest)))
+        send(philippinesRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.providerName").value("GCash Philippines"))
                 .andExpect(jsonPath("$.transactionId").value("GC123"));
@@ -233,13 +311,13 @@ class TransferControllerModernTest {
         indiaResponse.setCurrency("INR");
 
         // Mock factory for India
-        when(payoutMethodFactory.createProcessor("mobile_wallet", "india")).thenReturn(mockProcessor);
-        when(mockProcessor.processTransfer(any(PayoutRequest.class))).thenReturn(indiaResponse);
+        when(payoutMethodFactory.resolve("mobile_wallet", "india"))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.IN, mockProcessor));
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(indiaResponse));
 
         // When & Then - India
-        mockMvc.perform(post("/api/transfer/send")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(indiaRequest)))
+        send(indiaRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.providerName").value("Paytm India"))
                 .andExpect(jsonPath("$.transactionId").value("PTM456"));
@@ -247,6 +325,209 @@ class TransferControllerModernTest {
 
 
 
+    @Test
+    @DisplayName("📦 Controller processes a batch and keeps request order")
+    void shouldProcessBatchInRequestOrder() throws Exception {
+        // Given
+        PayoutRequest philippines = createValidRequest();
+        PayoutRequest mars = createValidRequest();
+        mars.setDestinationCountry("mars");
+        PayoutRequest invalid = new PayoutRequest();
+
+        when(payoutMethodFactory.resolve("mobile_wallet", "philippines"))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(payoutMethodFactory.resolve("mobile_wallet", "mars")).thenReturn(RouteResolution.UNKNOWN_COUNTRY);
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        PayoutResponse.success("GC123", "GCash Philippines", philippines.getAmount())));
+
+        // When
+        MvcResult pending = mockMvc.perform(post("/api/transfer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(philippines, mars, invalid, philippines))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.total").value(4))
+                .andExpect(jsonPath("$.summary.succeeded").value(2))
+                .andExpect(jsonPath("$.summary.rejected").value(2))
+                .andExpect(jsonPath("$.summary.byProvider['GCash Philippines']").value(2))
+                .andExpect(jsonPath("$.results[0].transactionId").value("GC123"))
+                .andExpect(jsonPath("$.results[1].errorCode").value("UNSUPPORTED_COMBINATION"))
+                .andExpect(jsonPath("$.results[2].errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.results[3].status").value("SUCCESS"));
+    }
+
+    @Test
+    @DisplayName("🌊 Controller streams one NDJSON result line per payout line")
+    void shouldStreamNdjsonPayouts() throws Exception {
+        // Given
+        PayoutRequest philippines = createValidRequest();
+        PayoutRequest mars = createValidRequest();
+        mars.setDestinationCountry("mars");
+
+        when(payoutMethodFactory.resolve("mobile_wallet", "philippines"))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(payoutMethodFactory.resolve("mobile_wallet", "mars")).thenReturn(RouteResolution.UNKNOWN_COUNTRY);
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        PayoutResponse.success("GC123", "GCash Philippines", philippines.getAmount())));
+        String body = objectMapper.writeValueAsString(philippines) + "\n" +
+                objectMapper.writeValueAsString(mars) + "\n";
+
+        // When
+        MvcResult pending = mockMvc.perform(post("/api/transfer/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.getAsyncResult();
+
+        // Then
+        String[] lines = pending.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        Map<Integer, String> errorCodes = new HashMap<>();
+        for (String line : lines) {
+            JsonNode result = objectMapper.readTree(line);
+            errorCodes.put(result.get("line").asInt(), result.path("errorCode").asText(null));
+        }
+        assertNull(errorCodes.get(1));
+        assertEquals("UNSUPPORTED_COMBINATION", errorCodes.get(2));
+    }
+
+    @Test
+    @DisplayName("⏳ Controller answers 504 TIMEOUT once the X-Deadline-Ms budget is spent")
+    void shouldTimeOutAtRequestedDeadline() throws Exception {
+        // Given - A processor that never answers
+        PayoutRequest request = createValidRequest();
+        when(payoutMethodFactory.resolve(anyString(), anyString()))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(mockProcessor.getProviderName()).thenReturn("GCash Philippines");
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class))).thenReturn(new CompletableFuture<>());
+
+        // When
+        MvcResult pending = mockMvc.perform(post("/api/transfer/send")
+                        .header("X-Deadline-Ms", "50")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.status").value("TIMEOUT"))
+                .andExpect(jsonPath("$.errorCode").value("DEADLINE_EXCEEDED"))
+                .andExpect(jsonPath("$.providerName").value("GCash Philippines"));
+    }
+
+    @Test
+    @DisplayName("🔑 Retries with the same Idempotency-Key replay the first outcome")
+    void shouldReplayIdempotentRetries() throws Exception {
+        // Given
+        PayoutRequest request = createValidRequest();
+        String key = UUID.randomUUID().toString();
+        when(payoutMethodFactory.resolve(anyString(), anyString()))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        PayoutResponse.success("GC1", "GCash Philippines", request.getAmount())))
+                .thenReturn(CompletableFuture.completedFuture(
+                        PayoutResponse.success("GC2", "GCash Philippines", request.getAmount())));
+
+        // When - The client retries twice
+        for (int attempt = 0; attempt < 3; attempt++) {
+            send(request, key)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transactionId").value("GC1"));
+        }
+
+        // Then - One payout, and the retries did not even resolve a route
+        verify(mockProcessor, times(1)).processTransferAsync(any(PayoutRequest.class));
+        verify(payoutMethodFactory, times(1)).resolve(anyString(), anyString());
+
+        // When - The key is reused for a different payout
+        request.setAmount(new BigDecimal("2000"));
+
+        // Then
+        send(request, key)
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value(IdempotencyStore.KEY_REUSED));
+    }
+
+    @Test
+    @DisplayName("⏳ A payout the provider accepted but has not settled answers 202 PENDING")
+    void shouldAcceptPendingPayout() throws Exception {
+        // Given
+        PayoutRequest request = createValidRequest();
+        PayoutResponse pending = PayoutResponse.success("BT7", "International Bank Transfer", request.getAmount());
+        pending.setStatus(PayoutResponse.Status.PENDING);
+        when(payoutMethodFactory.resolve(anyString(), anyString()))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(pending));
+
+        // When & Then
+        send(request)
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.transactionId").value("BT7"));
+    }
+
+    @Test
+    @DisplayName("🔎 GET /{transactionId} answers the journaled outcome, 404 when unknown, 400 when not an ID")
+    void shouldLookUpTransaction() throws Exception {
+        // Given
+        TransactionIdGenerator ids = TransactionIdGenerator.local();
+        String known = ids.next(TransactionIdGenerator.Provider.BANK_TRANSFER);
+        String unknown = ids.next(TransactionIdGenerator.Provider.BANK_TRANSFER);
+        payoutJournal.recordOutcome(1, PayoutResponse.success(known, "Bank Transfer", new BigDecimal("500"))).join();
+
+        // When & Then
+        mockMvc.perform(get("/api/transfer/" + known))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.transactionId").value(known))
+                .andExpect(jsonPath("$.providerName").value("Bank Transfer"));
+
+        mockMvc.perform(get("/api/transfer/" + unknown))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("TRANSACTION_NOT_FOUND"));
+
+        // When & Then - A mistyped endpoint is not reported as a missing transaction
+        mockMvc.perform(get("/api/transfer/factory-stat"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_TRANSACTION_ID"));
+    }
+
+    /**
+     * POST /send with an Idempotency-Key and wait for the asynchronous result
+     */
+    private ResultActions send(PayoutRequest payoutRequest, String idempotencyKey) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/transfer/send")
+                        .header(IdempotencyStore.HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payoutRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pending));
+    }
+
+    /**
+     * POST /send and wait for the asynchronous result
+     */
+    private ResultActions send(PayoutRequest payoutRequest) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/transfer/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payoutRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pending));
+    }
+
     private PayoutRequest createValidRequest() {
         PayoutRequest request = new PayoutRequest();
         request.setPayoutMethod("mobile_wallet");
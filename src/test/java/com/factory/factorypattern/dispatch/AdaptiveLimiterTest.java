@@ -0,0 +1,195 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 📐 Adaptive limiter tests
+ */
+class AdaptiveLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    @DisplayName("📈 Limit grows while latency stays flat under load")
+    void shouldGrowWithFlatLatency() {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 4, 100);
+
+        // When - Saturated traffic at a steady 10ms
+        for (int i = 0; i < 50; i++) {
+            limiter.release(10 * MILLIS, limiter.limit(), true);
+        }
+
+        // Then
+        assertTrue(limiter.limit() > 10, "limit was " + limiter.limit());
+        assertTrue(limiter.limit() <= 100);
+    }
+
+    @Test
+    @DisplayName("📉 Limit shrinks as soon as latency rises above the baseline")
+    void shouldShrinkWhenLatencyRises() {
+        // Given - A baseline of 10ms at a limit of 50
+        AdaptiveLimiter limiter = new AdaptiveLimiter(50, 4, 100);
+        for (int i = 0; i < 20; i++) {
+            limiter.release(10 * MILLIS, 0, true);
+        }
+        int before = limiter.limit();
+
+        // When - The provider slows down to 100ms
+        for (int i = 0; i < 20; i++) {
+            limiter.release(100 * MILLIS, limiter.limit(), true);
+        }
+
+        // Then
+        assertEquals(50, before);
+        assertTrue(limiter.limit() < before, "limit was " + limiter.limit());
+        assertTrue(limiter.limit() >= 4);
+    }
+
+    @Test
+    @DisplayName("💤 Light traffic does not inflate the limit")
+    void shouldNotGrowWhenAppLimited() {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 4, 100);
+
+        // When - One call at a time
+        for (int i = 0; i < 100; i++) {
+            limiter.release(10 * MILLIS, 1, true);
+        }
+
+        // Then
+        assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("🚫 Calls over the limit are shed, inline and async calls release their slot")
+    void shouldShedOverLimitAndReleaseOnBothPaths() {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 2, 2);
+        CompletableFuture<PayoutResponse> pending = new CompletableFuture<>();
+
+        // When - One async call stays open, one inline call completes, then two more async calls
+        CompletableFuture<PayoutResponse> async = limiter.execute(new ProviderCall(true), () -> pending, AdaptiveLimiterTest::rejection);
+        PayoutResponse inline = limiter.execute(new ProviderCall(true), () -> CompletableFuture.completedFuture(success()),
+                AdaptiveLimiterTest::rejection).join();
+        CompletableFuture<PayoutResponse> second = limiter.execute(new ProviderCall(true), CompletableFuture::new, AdaptiveLimiterTest::rejection);
+        PayoutResponse shed = limiter.execute(new ProviderCall(true), () -> CompletableFuture.completedFuture(success()),
+                AdaptiveLimiterTest::rejection).join();
+
+        // Then
+        assertEquals(PayoutResponse.Status.SUCCESS, inline.getStatus());
+        assertFalse(second.isDone());
+        assertEquals(ProviderLimiters.ERROR_CODE, shed.getErrorCode());
+        assertEquals(1, limiter.rejected());
+
+        // When - The async call completes
+        pending.complete(success());
+
+        // Then
+        assertEquals(PayoutResponse.Status.SUCCESS, async.join().getStatus());
+        assertEquals(1, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("⏱️ Only started provider calls are sampled, timed from when they started")
+    void shouldSampleOnlyStartedProviderCalls() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 4, 100);
+
+        // When - An inner guard answers at once without calling the provider
+        limiter.execute(new ProviderCall(true), () -> CompletableFuture.completedFuture(rejection()),
+                AdaptiveLimiterTest::rejection).join();
+
+        // Then - No sample taken
+        assertEquals(0.0, limiter.shortRttMillis());
+
+        // When - The call waits 50ms in a queue, then the provider answers at once
+        ProviderCall queued = new ProviderCall(true);
+        CompletableFuture<PayoutResponse> provider = new CompletableFuture<>();
+        CompletableFuture<PayoutResponse> result = limiter.execute(queued, () -> provider,
+                AdaptiveLimiterTest::rejection);
+        Thread.sleep(50);
+        queued.start();
+        provider.complete(success());
+        result.join();
+
+        // Then - The queue time is not in the sample
+        assertTrue(limiter.shortRttMillis() > 0);
+        assertTrue(limiter.shortRttMillis() < 50, "sampled " + limiter.shortRttMillis() + "ms");
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("🚫 Validation failures from the processor are not sampled")
+    void shouldNotSampleValidationFailures() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 4, 100);
+        PayoutResponse invalid = PayoutResponse.failed("Invalid GCash request parameters", "GCash Philippines",
+                "GCASH_VALIDATION_ERROR");
+
+        // When - The processor rejects the payout without calling its provider
+        ProviderCall providerCall = new ProviderCall(true);
+        CompletableFuture<PayoutResponse> provider = new CompletableFuture<>();
+        CompletableFuture<PayoutResponse> result = limiter.execute(providerCall, () -> provider,
+                AdaptiveLimiterTest::rejection);
+        providerCall.start();
+        Thread.sleep(5);
+        provider.complete(invalid);
+        result.join();
+
+        // Then - The slot is back, no sample taken
+        assertEquals(0.0, limiter.shortRttMillis());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("🔀 Concurrent callers never exceed the limit")
+    void shouldHoldLimitUnderContention() throws Exception {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 4, 4);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+
+        // When - Blocking-only style calls on 8 threads
+        for (int c = 0; c < 8; c++) {
+            callers.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    limiter.execute(new ProviderCall(true), () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        running.decrementAndGet();
+                        return CompletableFuture.completedFuture(success());
+                    }, AdaptiveLimiterTest::rejection);
+                }
+                done.countDown();
+            });
+        }
+
+        // Then
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        callers.shutdownNow();
+        assertTrue(maxRunning.get() <= 4, "max running was " + maxRunning.get());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    private static PayoutResponse success() {
+        return PayoutResponse.success("T1", "Test", new BigDecimal("100"));
+    }
+
+    private static PayoutResponse rejection() {
+        return PayoutResponse.failed("shed", "Test", ProviderLimiters.ERROR_CODE);
+    }
+}
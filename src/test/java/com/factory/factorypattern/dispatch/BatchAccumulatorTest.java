@@ -0,0 +1,191 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.Deadline;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.GCashProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧺 Micro-batch accumulator tests
+ */
+class BatchAccumulatorTest {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final List<List<PayoutRequest>> bulkCalls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("🧺 A full batch is sent at once and each caller gets its own response")
+    void shouldFlushFullBatchAndFanOut() {
+        // Given - Batches of 3, a long wait so only size can trigger the flush
+        BatchAccumulator accumulator = accumulator(3, 60_000, this::echo);
+
+        // When
+        List<CompletableFuture<PayoutResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(accumulator.submit(request("R" + i)));
+        }
+
+        // Then
+        assertEquals(1, bulkCalls.size());
+        assertEquals(3, bulkCalls.get(0).size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("R" + i, responses.get(i).join().getRecipientName());
+        }
+        assertEquals(1, accumulator.batches());
+        assertEquals(3, accumulator.items());
+        assertEquals(0, accumulator.queued());
+    }
+
+    @Test
+    @DisplayName("⏱️ A partial batch is sent once the wait is over")
+    void shouldFlushPartialBatchAfterWait() {
+        // Given
+        BatchAccumulator accumulator = accumulator(50, 20, this::echo);
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<PayoutResponse> first = accumulator.submit(request("R0"));
+        CompletableFuture<PayoutResponse> second = accumulator.submit(request("R1"));
+
+        // Then - Nothing sent before the wait, both in one batch after it
+        assertTrue(bulkCalls.isEmpty());
+        assertEquals("R1", second.join().getRecipientName());
+        assertEquals("R0", first.join().getRecipientName());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 15);
+        assertEquals(1, bulkCalls.size());
+        assertEquals(2, bulkCalls.get(0).size());
+    }
+
+    @Test
+    @DisplayName("💥 A failed bulk call fails every caller in the batch")
+    void shouldFailEveryCallerWhenBulkCallFails() {
+        // Given
+        BatchAccumulator accumulator = accumulator(2, 60_000,
+                requests -> CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+
+        // When
+        CompletableFuture<PayoutResponse> first = accumulator.submit(request("R0"));
+        CompletableFuture<PayoutResponse> second = accumulator.submit(request("R1"));
+
+        // Then
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("⌛ Payouts whose deadline passed while waiting are left out of the batch")
+    void shouldAnswerExpiredItemsWithTimeout() {
+        // Given
+        BatchAccumulator accumulator = accumulator(2, 60_000, this::echo);
+        PayoutRequest expired = request("R0");
+        expired.setDeadline(Deadline.afterMillis(0));
+
+        // When
+        CompletableFuture<PayoutResponse> first = accumulator.submit(expired);
+        CompletableFuture<PayoutResponse> second = accumulator.submit(request("R1"));
+
+        // Then
+        assertEquals(PayoutResponse.Status.TIMEOUT, first.join().getStatus());
+        assertEquals("R1", second.join().getRecipientName());
+        assertEquals(1, bulkCalls.get(0).size());
+    }
+
+    @Test
+    @DisplayName("🗂️ A flushed batch is split into bulk calls of similar deadlines")
+    void shouldGroupItemsByDeadline() {
+        // Given - Two short deadlines, one long, one without
+        BatchAccumulator accumulator = accumulator(4, 60_000, this::echo);
+        PayoutRequest longer = request("R0");
+        longer.setDeadline(Deadline.afterMillis(10_000));
+        PayoutRequest shortest = request("R1");
+        shortest.setDeadline(Deadline.afterMillis(1_000));
+        PayoutRequest unbounded = request("R2");
+        PayoutRequest shorter = request("R3");
+        shorter.setDeadline(Deadline.afterMillis(1_500));
+
+        // When
+        List<CompletableFuture<PayoutResponse>> responses = new ArrayList<>();
+        for (PayoutRequest request : List.of(longer, shortest, unbounded, shorter)) {
+            responses.add(accumulator.submit(request));
+        }
+
+        // Then - Earliest group first; every caller still gets its own response
+        assertEquals(List.of(List.of("R1", "R3"), List.of("R0"), List.of("R2")), bulkCalls.stream()
+                .map(call -> call.stream().map(PayoutRequest::getRecipientName).toList())
+                .toList());
+        for (int i = 0; i < 4; i++) {
+            assertEquals("R" + i, responses.get(i).join().getRecipientName());
+        }
+        assertEquals(3, accumulator.batches());
+        assertEquals(4, accumulator.items());
+    }
+
+    @Test
+    @DisplayName("🔍 Only processors overriding the bulk API are batched")
+    void shouldDetectBulkApi() {
+        // Given
+        PayoutProcessor itemByItem = new PayoutProcessor() {
+            @Override
+            public PayoutResponse processTransfer(PayoutRequest request) {
+                return PayoutResponse.success("T1", "Test", request.getAmount());
+            }
+
+            @Override
+            public boolean isSupported(String country, String method) {
+                return true;
+            }
+
+            @Override
+            public String getProviderName() {
+                return "Test";
+            }
+        };
+
+        // Then
+        assertTrue(ProviderBatchAccumulators.hasBulkApi(new GCashProcessor()));
+        assertFalse(ProviderBatchAccumulators.hasBulkApi(itemByItem));
+    }
+
+    private BatchAccumulator accumulator(int maxItems, long maxWaitMillis,
+                                         Function<List<PayoutRequest>, CompletableFuture<List<PayoutResponse>>> provider) {
+        return new BatchAccumulator(maxItems, maxWaitMillis, timer, requests -> {
+            bulkCalls.add(requests);
+            return provider.apply(requests);
+        }, () -> PayoutResponse.timeout("Test"));
+    }
+
+    private CompletableFuture<List<PayoutResponse>> echo(List<PayoutRequest> requests) {
+        List<PayoutResponse> responses = new ArrayList<>();
+        for (PayoutRequest request : requests) {
+            PayoutResponse response = PayoutResponse.success("T1", "Test", request.getAmount());
+            response.setRecipientName(request.getRecipientName());
+            responses.add(response);
+        }
+        return CompletableFuture.completedFuture(responses);
+    }
+
+    private static PayoutRequest request(String recipient) {
+        return new PayoutRequest("mobile_wallet", "ph", new BigDecimal("100"), "PHP", recipient);
+    }
+}
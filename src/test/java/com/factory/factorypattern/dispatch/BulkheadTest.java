@@ -0,0 +1,151 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧱 Bulkhead tests
+ */
+class BulkheadTest {
+
+    @Test
+    @DisplayName("🧱 Calls beyond slots + queue are rejected immediately")
+    void shouldRejectWhenFull() throws Exception {
+        // Given - 2 slots, 1 queue place, calls that never finish on their own
+        Bulkhead bulkhead = new Bulkhead(2, 1);
+        ExecutorService handoff = Executors.newSingleThreadExecutor();
+        List<CompletableFuture<PayoutResponse>> provider = new CopyOnWriteArrayList<>();
+        List<Thread> startedOn = new CopyOnWriteArrayList<>();
+        AtomicInteger started = new AtomicInteger();
+
+        // When
+        List<CompletableFuture<PayoutResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(bulkhead.execute(() -> {
+                startedOn.add(Thread.currentThread());
+                CompletableFuture<PayoutResponse> call = new CompletableFuture<>();
+                provider.add(call);
+                started.incrementAndGet();
+                return call;
+            }, () -> PayoutResponse.failed("full", "Test", "BULKHEAD_FULL"), handoff));
+        }
+
+        // Then - Two running, one waiting, one rejected without starting
+        assertEquals(2, started.get());
+        assertEquals(2, bulkhead.active());
+        assertEquals(1, bulkhead.queued());
+        assertEquals(1, bulkhead.rejected());
+        assertEquals("BULKHEAD_FULL", results.get(3).join().getErrorCode());
+
+        // When - A running call finishes, the waiting one takes its slot
+        provider.get(0).complete(success());
+
+        // Then - Started on the handoff executor, not on the thread that freed the slot
+        awaitStarted(started, 3);
+        assertNotSame(Thread.currentThread(), startedOn.get(2));
+        assertEquals(2, bulkhead.active());
+        assertEquals(0, bulkhead.queued());
+
+        // When - Everything finishes
+        provider.get(1).complete(success());
+        provider.get(2).complete(success());
+
+        // Then
+        assertEquals("SUCCESS", results.get(2).join().getStatus().name());
+        assertEquals(0, bulkhead.active());
+        handoff.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("💥 Failing calls give their slot back")
+    void shouldReleaseSlotOnFailure() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead(1, 0);
+
+        // When
+        CompletableFuture<PayoutResponse> thrown = bulkhead.execute(() -> {
+            throw new IllegalStateException("provider down");
+        }, BulkheadTest::rejection, Runnable::run);
+        CompletableFuture<PayoutResponse> failed = bulkhead.execute(
+                () -> CompletableFuture.failedFuture(new IllegalStateException("provider down")),
+                BulkheadTest::rejection, Runnable::run);
+
+        // Then
+        assertTrue(thrown.isCompletedExceptionally());
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, bulkhead.active());
+        assertEquals(0, bulkhead.rejected());
+    }
+
+    @Test
+    @DisplayName("🔀 Concurrent callers never exceed the slot limit and nothing is lost")
+    void shouldHoldLimitUnderContention() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead(4, 1_000);
+        ExecutorService providers = Executors.newFixedThreadPool(8);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int callsPerCaller = 100;
+        CountDownLatch done = new CountDownLatch(8 * callsPerCaller);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        // When
+        for (int c = 0; c < 8; c++) {
+            callers.execute(() -> {
+                for (int i = 0; i < callsPerCaller; i++) {
+                    bulkhead.execute(() -> CompletableFuture.supplyAsync(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        Thread.onSpinWait();
+                        running.decrementAndGet();
+                        return success();
+                    }, providers), BulkheadTest::rejection, providers).whenComplete((response, error) -> {
+                        if (error == null && response.getStatus() == PayoutResponse.Status.SUCCESS) {
+                            succeeded.incrementAndGet();
+                        }
+                        done.countDown();
+                    });
+                }
+            });
+        }
+
+        // Then
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        providers.shutdownNow();
+        callers.shutdownNow();
+        assertEquals(8 * callsPerCaller, succeeded.get());
+        assertTrue(maxRunning.get() <= 4, "max running was " + maxRunning.get());
+        assertEquals(0, bulkhead.active());
+        assertEquals(0, bulkhead.queued());
+    }
+
+    private static void awaitStarted(AtomicInteger started, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (started.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, started.get());
+    }
+
+    private static PayoutResponse success() {
+        return PayoutResponse.success("T1", "Test", new BigDecimal("100"));
+    }
+
+    private static PayoutResponse rejection() {
+        return PayoutResponse.failed("full", "Test", "BULKHEAD_FULL");
+    }
+}
@@ -0,0 +1,202 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🔌 Circuit breaker tests
+ */
+class CircuitBreakerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger providerCalls = new AtomicInteger();
+
+    // Window of 10, trips at 50% failures or 80% slow calls (>= 100ms), open for 1s, 2 probes
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 0.8,
+            100 * MILLIS, 1_000 * MILLIS, 2, now::get);
+
+    @Test
+    @DisplayName("🔌 Failure ratio over the threshold opens the circuit and fails fast")
+    void shouldOpenOnFailureRatio() {
+        // Given - 2 good calls, then failures
+        call(this::success);
+        call(this::success);
+        call(this::providerError);
+        assertEquals(CircuitBreaker.Phase.CLOSED, breaker.phase());
+
+        // When - 2 failures out of 4 reaches 50%
+        call(this::providerError);
+
+        // Then
+        assertEquals(CircuitBreaker.Phase.OPEN, breaker.phase());
+        int callsBefore = providerCalls.get();
+        PayoutResponse rejected = call(this::success);
+        assertEquals(ProviderCircuitBreakers.ERROR_CODE, rejected.getErrorCode());
+        assertEquals(callsBefore, providerCalls.get());
+        assertEquals(1, breaker.rejected());
+    }
+
+    @Test
+    @DisplayName("🐢 Mostly slow calls open the circuit even when they succeed")
+    void shouldOpenOnSlowCallRatio() {
+        // When - 4 successful calls taking 150ms each
+        for (int i = 0; i < 4; i++) {
+            call(() -> {
+                now.addAndGet(150 * MILLIS);
+                return success();
+            });
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.Phase.OPEN, breaker.phase());
+    }
+
+    @Test
+    @DisplayName("🚦 Time queued before the provider call started is not slowness")
+    void shouldNotCountQueueTimeAsSlow() {
+        // When - 4 calls each wait 150ms for a bulkhead slot, then the provider answers at once
+        for (int i = 0; i < 4; i++) {
+            ProviderCall providerCall = new ProviderCall(true, now::get);
+            breaker.execute(providerCall, () -> {
+                now.addAndGet(150 * MILLIS);
+                providerCall.start();
+                return CompletableFuture.completedFuture(success());
+            }, CircuitBreakerTest::isFailure, PayoutDispatcher::isShed, CircuitBreakerTest::rejection).join();
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.Phase.CLOSED, breaker.phase());
+        assertEquals(0.0, breaker.slowCallRate());
+    }
+
+    @Test
+    @DisplayName("🪟 Old outcomes slide out of the window")
+    void shouldSlideWindow() {
+        // Given - 4 failures among the first calls would trip, so start with good ones
+        for (int i = 0; i < 10; i++) {
+            call(this::success);
+        }
+
+        // When - 4 failures among the last 10 calls stay under 50%
+        for (int i = 0; i < 4; i++) {
+            call(this::providerError);
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.Phase.CLOSED, breaker.phase());
+        assertEquals(0.4, breaker.failureRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("🔍 Half-open lets a bounded number of probes through, good probes close the circuit")
+    void shouldProbeWhenHalfOpen() {
+        // Given - An open circuit whose open time has passed
+        trip();
+        now.addAndGet(1_000 * MILLIS);
+
+        // When - 3 callers arrive while the provider has not answered yet
+        List<CompletableFuture<PayoutResponse>> pending = new ArrayList<>();
+        List<CompletableFuture<PayoutResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ProviderCall providerCall = new ProviderCall(true, now::get);
+            results.add(breaker.execute(providerCall, () -> {
+                providerCall.start();
+                providerCalls.incrementAndGet();
+                CompletableFuture<PayoutResponse> call = new CompletableFuture<>();
+                pending.add(call);
+                return call;
+            }, CircuitBreakerTest::isFailure, response -> false, CircuitBreakerTest::rejection));
+        }
+
+        // Then - Only 2 probes reached the provider
+        assertEquals(CircuitBreaker.Phase.HALF_OPEN, breaker.phase());
+        assertEquals(2, pending.size());
+        assertEquals(ProviderCircuitBreakers.ERROR_CODE, results.get(2).join().getErrorCode());
+
+        // When - Both probes succeed
+        pending.forEach(call -> call.complete(success()));
+
+        // Then
+        assertEquals(CircuitBreaker.Phase.CLOSED, breaker.phase());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    @DisplayName("💥 A failed probe opens the circuit again")
+    void shouldReopenOnFailedProbe() {
+        // Given
+        trip();
+        now.addAndGet(1_000 * MILLIS);
+
+        // When
+        call(() -> {
+            throw new IllegalStateException("provider down");
+        });
+
+        // Then
+        assertEquals(CircuitBreaker.Phase.OPEN, breaker.phase());
+        assertEquals(ProviderCircuitBreakers.ERROR_CODE, call(this::success).getErrorCode());
+    }
+
+    @Test
+    @DisplayName("🙈 Ignored responses neither count nor use up probes")
+    void shouldIgnoreShedResponses() {
+        // When - Calls shed by another guard
+        for (int i = 0; i < 10; i++) {
+            breaker.execute(new ProviderCall(true, now::get), () -> CompletableFuture.completedFuture(
+                            PayoutResponse.failed("full", "Test", ProviderBulkheads.ERROR_CODE)),
+                    CircuitBreakerTest::isFailure, PayoutDispatcher::isShed, CircuitBreakerTest::rejection).join();
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.Phase.CLOSED, breaker.phase());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            call(this::providerError);
+        }
+        assertEquals(CircuitBreaker.Phase.OPEN, breaker.phase());
+    }
+
+    private PayoutResponse call(Supplier<PayoutResponse> provider) {
+        ProviderCall providerCall = new ProviderCall(true, now::get);
+        return breaker.execute(providerCall, () -> {
+            providerCall.start();
+            providerCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(provider.get());
+        }, CircuitBreakerTest::isFailure, PayoutDispatcher::isShed, CircuitBreakerTest::rejection)
+                .exceptionally(error -> PayoutResponse.failed(error.getMessage(), "Test", "INTERNAL_ERROR"))
+                .join();
+    }
+
+    private PayoutResponse success() {
+        return PayoutResponse.success("T1", "Test", new BigDecimal("100"));
+    }
+
+    private PayoutResponse providerError() {
+        return PayoutResponse.failed("down", "Test", "TEST_API_ERROR");
+    }
+
+    private static boolean isFailure(PayoutResponse response) {
+        return response.getErrorCode() != null && response.getErrorCode().endsWith("_API_ERROR");
+    }
+
+    private static PayoutResponse rejection() {
+        return PayoutResponse.failed("open", "Test", ProviderCircuitBreakers.ERROR_CODE);
+    }
+}
@@ -0,0 +1,69 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.Deadline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ⏳ Deadline policy tests
+ */
+class DeadlinePolicyTest {
+
+    private final DeadlinePolicy policy = new DeadlinePolicy(new MockEnvironment()
+            .withProperty("remittance.deadline.default-millis", "5000")
+            .withProperty("remittance.deadline.max-millis", "10000")
+            .withProperty("remittance.deadline.methods.mobile_wallet", "2000"));
+
+    @Test
+    @DisplayName("📨 The header wins over defaults, capped at max-millis")
+    void shouldPreferHeaderWithinCap() {
+        // When
+        Deadline requested = policy.deadlineFor("mobile_wallet", 300L);
+        Deadline capped = policy.deadlineFor("mobile_wallet", 60_000L);
+
+        // Then
+        assertTrue(requested.remainingMillis() <= 300);
+        assertTrue(capped.remainingMillis() <= 10_000 && capped.remainingMillis() > 9_000);
+    }
+
+    @Test
+    @DisplayName("🗂️ Methods use their own default, then the global one")
+    void shouldUseMethodDefaults() {
+        // When
+        Deadline wallet = policy.deadlineFor(" Mobile_Wallet ", null);
+        Deadline bank = policy.deadlineFor("bank_transfer", null);
+        Deadline unknown = policy.deadlineFor("carrier_pigeon", null);
+
+        // Then
+        assertTrue(wallet.remainingMillis() <= 2_000 && wallet.remainingMillis() > 1_000);
+        assertTrue(bank.remainingMillis() <= 5_000 && bank.remainingMillis() > 4_000);
+        assertTrue(unknown.remainingMillis() <= 5_000 && unknown.remainingMillis() > 4_000);
+    }
+
+    @Test
+    @DisplayName("🚫 Without defaults only the header sets a deadline")
+    void shouldHaveNoDefaultWhenNone() {
+        // When / Then
+        assertNull(DeadlinePolicy.none().deadlineFor("bank_transfer", null));
+        assertFalse(DeadlinePolicy.none().deadlineFor("bank_transfer", 100L).isExpired());
+        assertEquals(30_000L, DeadlinePolicy.none().budgetMillis("bank_transfer"));
+    }
+
+    @Test
+    @DisplayName("⏱️ Header values below min-millis get the minimum, methods keep their budget")
+    void shouldRaiseTinyHeaderToMinimum() {
+        // When
+        Deadline tiny = policy.deadlineFor("mobile_wallet", 1L);
+        Deadline negative = policy.deadlineFor("mobile_wallet", -5L);
+
+        // Then - The default minimum is 100ms
+        assertEquals(100L, tiny.lengthMillis());
+        assertEquals(100L, negative.lengthMillis());
+        assertFalse(negative.isExpired());
+        assertEquals(2_000L, policy.budgetMillis("mobile_wallet"));
+        assertEquals(5_000L, policy.budgetMillis("bank_transfer"));
+    }
+}
@@ -0,0 +1,228 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🔑 Idempotency store tests
+ */
+class IdempotencyStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("🔑 Duplicates in flight wait on the original, later ones replay it")
+    void shouldRunOncePerKey() {
+        // Given
+        IdempotencyStore store = store(100, 60);
+        CompletableFuture<PayoutResponse> provider = new CompletableFuture<>();
+
+        // When - Two concurrent attempts with the same key
+        CompletableFuture<PayoutResponse> first = store.execute("key-1", request("100"), () -> call(provider));
+        CompletableFuture<PayoutResponse> duplicate = store.execute("key-1", request("100.00"), () -> call(provider));
+
+        // Then - Only the first ran, the duplicate waits for it
+        assertEquals(1, calls.get());
+        assertFalse(duplicate.isDone());
+
+        // When
+        provider.complete(PayoutResponse.success("GC1", "GCash Philippines", new BigDecimal("100")));
+        CompletableFuture<PayoutResponse> retry = store.execute("key-1", request("100"), () -> call(provider));
+
+        // Then
+        assertEquals("GC1", first.join().getTransactionId());
+        assertEquals("GC1", duplicate.join().getTransactionId());
+        assertEquals("GC1", retry.join().getTransactionId());
+        assertEquals(1, calls.get());
+        assertEquals(1, store.joined());
+        assertEquals(1, store.replayed());
+    }
+
+    @Test
+    @DisplayName("⌛ Outcomes are replayed until the TTL passes")
+    void shouldExpireAfterTtl() {
+        // Given
+        IdempotencyStore store = store(100, 60);
+        store.execute("key-1", request("100"), () -> call(success())).join();
+
+        // When
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        store.execute("key-1", request("100"), () -> call(success())).join();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        store.execute("key-1", request("100"), () -> call(success())).join();
+
+        // Then - Replayed within the TTL, run again after it
+        assertEquals(2, calls.get());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("🔁 Shed responses and errors are not stored, so the retry runs")
+    void shouldForgetShedAndFailedCalls() {
+        // Given
+        IdempotencyStore store = store(100, 60);
+
+        // When
+        PayoutResponse shed = store.execute("key-1", request("100"), () -> call(CompletableFuture.completedFuture(
+                PayoutResponse.failed("busy", "GCash Philippines", ProviderBulkheads.ERROR_CODE)))).join();
+        CompletableFuture<PayoutResponse> failed = store.execute("key-1", request("100"),
+                () -> call(CompletableFuture.failedFuture(new IllegalStateException("boom"))));
+        PayoutResponse retried = store.execute("key-1", request("100"), () -> call(success())).join();
+
+        // Then
+        assertEquals(ProviderBulkheads.ERROR_CODE, shed.getErrorCode());
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(PayoutResponse.Status.SUCCESS, retried.getStatus());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("🚫 A key reused for a different payout is refused")
+    void shouldRefuseKeyReuseWithDifferentPayload() {
+        // Given
+        IdempotencyStore store = store(100, 60);
+        store.execute("key-1", request("100"), () -> call(success())).join();
+
+        // When
+        PayoutResponse response = store.execute("key-1", request("250"), () -> call(success())).join();
+
+        // Then
+        assertEquals(IdempotencyStore.KEY_REUSED, response.getErrorCode());
+        assertEquals(1, calls.get());
+        assertEquals(1, store.rejected());
+    }
+
+    @Test
+    @DisplayName("🧹 A full store purges expired keys and refuses new ones only while all are in flight")
+    void shouldPurgeExpiredKeysWhenFull() {
+        // Given - One stripe holding 64 keys: 32 completed, then 32 still in flight
+        IdempotencyStore store = new IdempotencyStore(64, 1, TimeUnit.SECONDS.toNanos(60), clock::get);
+        for (int i = 0; i < 32; i++) {
+            store.execute("key-" + i, request("100"), () -> call(success())).join();
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        List<CompletableFuture<PayoutResponse>> pending = new ArrayList<>();
+        for (int i = 32; i < 96; i++) {
+            CompletableFuture<PayoutResponse> provider = new CompletableFuture<>();
+            pending.add(provider);
+            store.execute("key-" + i, request("100"), () -> provider);
+        }
+
+        // When - The expired keys made room for 32 more, now all 64 are in flight
+        PayoutResponse full = store.execute("key-96", request("100"), () -> call(success())).join();
+
+        // Then
+        assertEquals(IdempotencyStore.STORE_FULL, full.getErrorCode());
+        assertEquals(64, store.size());
+        assertEquals(0, store.evicted());
+
+        // Then - In-flight keys survived the purge and still single-flight
+        int before = calls.get();
+        for (int i = 32; i < 96; i++) {
+            assertFalse(store.execute("key-" + i, request("100"), () -> call(success())).isDone());
+        }
+        assertEquals(before, calls.get());
+        pending.forEach(provider -> provider.complete(success().join()));
+    }
+
+    @Test
+    @DisplayName("♻️ A store full of live outcomes evicts the oldest completed ones instead of refusing")
+    void shouldEvictOldestCompletedWhenFull() {
+        // Given - One stripe of 64 keys: 16 in flight, then 48 completed one second apart
+        IdempotencyStore store = new IdempotencyStore(64, 1, TimeUnit.HOURS.toNanos(24), clock::get);
+        for (int i = 0; i < 16; i++) {
+            store.execute("flight-" + i, request("100"), CompletableFuture::new);
+        }
+        for (int i = 0; i < 48; i++) {
+            store.execute("key-" + i, request("100"), () -> call(success())).join();
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        }
+
+        // When
+        PayoutResponse admitted = store.execute("key-48", request("100"), () -> call(success())).join();
+
+        // Then - The oldest eighth of the completed outcomes made room; newer ones still replay
+        assertEquals(PayoutResponse.Status.SUCCESS, admitted.getStatus());
+        assertEquals(6, store.evicted());
+        assertEquals(59, store.size());
+        int before = calls.get();
+        store.execute("key-47", request("100"), () -> call(success())).join();
+        assertEquals(before, calls.get());
+        store.execute("key-0", request("100"), () -> call(success())).join();
+        assertEquals(before + 1, calls.get());
+        assertFalse(store.execute("flight-0", request("100"), () -> call(success())).isDone());
+    }
+
+    @Test
+    @DisplayName("⏳ TIMEOUT and provider errors are not replayed, so the retry reaches the provider")
+    void shouldNotReplayTransientOutcomes() {
+        // Given
+        IdempotencyStore store = store(100, 60);
+
+        // When
+        PayoutResponse timedOut = store.execute("key-1", request("100"), () -> call(CompletableFuture.completedFuture(
+                PayoutResponse.timeout("GCash Philippines")))).join();
+        PayoutResponse apiError = store.execute("key-1", request("100"), () -> call(CompletableFuture.completedFuture(
+                PayoutResponse.failed("down", "GCash Philippines", "GCASH_API_ERROR")))).join();
+        PayoutResponse retried = store.execute("key-1", request("100"), () -> call(success())).join();
+        PayoutResponse replayed = store.execute("key-1", request("100"), () -> call(success())).join();
+
+        // Then
+        assertEquals(PayoutResponse.Status.TIMEOUT, timedOut.getStatus());
+        assertEquals("GCASH_API_ERROR", apiError.getErrorCode());
+        assertEquals(PayoutResponse.Status.SUCCESS, retried.getStatus());
+        assertEquals(PayoutResponse.Status.SUCCESS, replayed.getStatus());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("🧬 Payload fingerprints tell apart fields that only differ in where they split")
+    void shouldFingerprintWholePayload() {
+        // Given - The same characters spread over name and purpose differently
+        PayoutRequest first = request("100");
+        first.setRecipientName("Juan Dela");
+        first.setPurpose("Cruz family");
+        PayoutRequest second = request("100");
+        second.setRecipientName("Juan Dela Cruz");
+        second.setPurpose("family");
+
+        // Then
+        assertFalse(Arrays.equals(IdempotencyStore.payloadFingerprint(first),
+                IdempotencyStore.payloadFingerprint(second)));
+        assertArrayEquals(IdempotencyStore.payloadFingerprint(request("100")),
+                IdempotencyStore.payloadFingerprint(request("100.00")));
+    }
+
+    private IdempotencyStore store(int maxEntries, long ttlSeconds) {
+        return new IdempotencyStore(maxEntries, 4, TimeUnit.SECONDS.toNanos(ttlSeconds), clock::get);
+    }
+
+    private CompletableFuture<PayoutResponse> call(CompletableFuture<PayoutResponse> provider) {
+        calls.incrementAndGet();
+        return provider;
+    }
+
+    private static CompletableFuture<PayoutResponse> success() {
+        return CompletableFuture.completedFuture(PayoutResponse.success("GC1", "GCash Philippines", new BigDecimal("100")));
+    }
+
+    private static PayoutRequest request(String amount) {
+        PayoutRequest request = new PayoutRequest("mobile_wallet", "ph", new BigDecimal(amount), "PHP", "Juan Dela Cruz");
+        request.setRecipientPhone("+639171234567");
+        return request;
+    }
+}
@@ -0,0 +1,193 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.GCashProcessor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🌊 NDJSON payout stream tests
+ */
+class NdjsonPayoutStreamTest {
+
+    private static final String CASH_PICKUP_LINE =
+            "{\"payoutMethod\":\"cash_pickup\",\"destinationCountry\":\"nepal\",\"amount\":100," +
+                    "\"currency\":\"USD\",\"recipientName\":\"Stream Recipient\"}\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("🌊 Every payout line gets one result line tagged with its line number")
+    void shouldAnswerEveryLine() throws Exception {
+        // Given
+        NdjsonPayoutStream stream = new NdjsonPayoutStream(
+                new PayoutDispatcher(new PayoutMethodFactory(List.of(new GCashProcessor())), 4), objectMapper, 4);
+        String input = "{\"payoutMethod\":\"mobile_wallet\",\"destinationCountry\":\"PH\",\"amount\":100," +
+                "\"currency\":\"PHP\",\"recipientName\":\"Juan\",\"recipientPhone\":\"12345\"}\n" +
+                "\n" +
+                "{not json\n" +
+                "{\"payoutMethod\":\"mobile_wallet\",\"destinationCountry\":\"mars\",\"amount\":100," +
+                "\"currency\":\"USD\",\"recipientName\":\"Juan\"}\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long payouts = stream.process(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        // Then - Blank lines are skipped, the others are answered by line number
+        assertEquals(3, payouts);
+        Map<Long, JsonNode> results = new HashMap<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode result = objectMapper.readTree(line);
+            results.put(result.get("line").asLong(), result);
+        }
+        assertEquals(3, results.size());
+        assertEquals("GCASH_VALIDATION_ERROR", results.get(1L).get("errorCode").asText());
+        assertEquals("VALIDATION_ERROR", results.get(3L).get("errorCode").asText());
+        assertEquals("UNSUPPORTED_COMBINATION", results.get(4L).get("errorCode").asText());
+    }
+
+    @Test
+    @DisplayName("🚦 Payouts in flight never exceed the stream limit")
+    void shouldBoundPayoutsInFlight() throws Exception {
+        // Given - A provider answering after 1ms, tracking calls in flight
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        PayoutProcessor slow = stub(request -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<PayoutResponse> response = new CompletableFuture<>();
+            scheduler.schedule(() -> {
+                inFlight.decrementAndGet();
+                response.complete(PayoutResponse.success("CP1", "Cash Pickup", request.getAmount()));
+            }, 1, TimeUnit.MILLISECONDS);
+            return response;
+        });
+        NdjsonPayoutStream stream = new NdjsonPayoutStream(
+                new PayoutDispatcher(new PayoutMethodFactory(List.of(slow)), 64), objectMapper, 8);
+        CountingOutputStream output = new CountingOutputStream();
+
+        // When
+        long payouts = stream.process(lines(2_000), output);
+
+        // Then
+        assertEquals(2_000, payouts);
+        assertEquals(2_000, output.lines);
+        assertTrue(maxInFlight.get() <= 8, "max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("♾️ Long streams are processed without buffering input or output")
+    void shouldProcessLongStreams() throws Exception {
+        // Given - Input generated on demand, output counted and discarded
+        PayoutProcessor inline = stub(request -> CompletableFuture.completedFuture(
+                PayoutResponse.success("CP1", "Cash Pickup", request.getAmount())));
+        NdjsonPayoutStream stream = new NdjsonPayoutStream(
+                new PayoutDispatcher(new PayoutMethodFactory(List.of(inline)), 64), objectMapper, 16);
+        CountingOutputStream output = new CountingOutputStream();
+
+        // When
+        long payouts = stream.process(lines(200_000), output);
+
+        // Then
+        assertEquals(200_000, payouts);
+        assertEquals(200_000, output.lines);
+    }
+
+    /**
+     * NDJSON input of count identical lines, produced while it is read
+     */
+    private static InputStream lines(long count) {
+        byte[] line = CASH_PICKUP_LINE.getBytes(StandardCharsets.UTF_8);
+        return new InputStream() {
+            private long remaining = count;
+            private int position;
+
+            @Override
+            public int read() {
+                if (remaining == 0) {
+                    return -1;
+                }
+                int next = line[position++];
+                if (position == line.length) {
+                    position = 0;
+                    remaining--;
+                }
+                return next;
+            }
+        };
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+    }
+
+    private static PayoutProcessor stub(Function<PayoutRequest, CompletableFuture<PayoutResponse>> call) {
+        return new PayoutProcessor() {
+            @Override
+            public PayoutResponse processTransfer(PayoutRequest request) {
+                return call.apply(request).join();
+            }
+
+            @Override
+            public CompletableFuture<PayoutResponse> processTransferAsync(PayoutRequest request) {
+                return call.apply(request);
+            }
+
+            @Override
+            public boolean isSupported(String country, String method) {
+                return true;
+            }
+
+            @Override
+            public String getProviderName() {
+                return "Cash Pickup";
+            }
+
+            @Override
+            public String[] getSupportedCountries() {
+                return new String[]{"nepal"};
+            }
+
+            @Override
+            public String[] getSupportedMethods() {
+                return new String[]{"cash_pickup"};
+            }
+        };
+    }
+}
@@ -0,0 +1,360 @@
+package com.factory.factorypattern.dispatch;
+
+import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.model.BatchPayoutResponse;
+import com.factory.factorypattern.model.Deadline;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.BankTransferProcessor;
+import com.factory.factorypattern.service.GCashProcessor;
+import com.factory.factorypattern.service.PaytmProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🚚 Payout dispatcher tests
+ */
+class PayoutDispatcherTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("📦 Batch results keep input order and are summarized")
+    void shouldKeepInputOrderAndSummarize() {
+        // Given
+        PayoutMethodFactory factory = new PayoutMethodFactory(
+                List.of(new GCashProcessor(), new PaytmProcessor(), new BankTransferProcessor()));
+        PayoutDispatcher dispatcher = new PayoutDispatcher(factory, 16);
+
+        PayoutRequest gCash = request("mobile_wallet", "philippines", "+639171234567");
+        PayoutRequest paytm = request("mobile_wallet", "IN", "+919876543210");
+        PayoutRequest cashPickup = request("cash_pickup", "ph", "+639171234567");
+        PayoutRequest gCashBadPhone = request("mobile_wallet", "PH", "12345");
+
+        // When
+        BatchPayoutResponse batch = dispatcher.dispatchBatch(
+                List.of(gCash, paytm, cashPickup, gCashBadPhone, gCash)).join();
+
+        // Then
+        List<PayoutResponse> results = batch.getResults();
+        assertTrue(results.get(0).getTransactionId().startsWith("GC"));
+        assertTrue(results.get(1).getTransactionId().startsWith("PTM"));
+        assertEquals("UNSUPPORTED_COMBINATION", results.get(2).getErrorCode());
+        assertEquals("GCASH_VALIDATION_ERROR", results.get(3).getErrorCode());
+        assertTrue(results.get(4).getTransactionId().startsWith("GC"));
+
+        BatchPayoutResponse.Summary summary = batch.getSummary();
+        assertEquals(5, summary.getTotal());
+        assertEquals(3, summary.getSucceeded());
+        assertEquals(2, summary.getFailed());
+        assertEquals(1, summary.getRejected());
+        assertEquals(3, summary.getGroups());
+        assertEquals(3, summary.getByProvider().get("GCash Philippines"));
+    }
+
+    @Test
+    @DisplayName("🚦 Each provider is capped in concurrency")
+    void shouldCapConcurrencyPerProvider() {
+        // Given - A provider answering after 5ms, tracking calls in flight
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        PayoutProcessor slow = stub(request -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<PayoutResponse> response = new CompletableFuture<>();
+            scheduler.schedule(() -> {
+                inFlight.decrementAndGet();
+                response.complete(PayoutResponse.success("CP1", "Cash Pickup", request.getAmount()));
+            }, 5, TimeUnit.MILLISECONDS);
+            return response;
+        });
+        PayoutDispatcher dispatcher = new PayoutDispatcher(new PayoutMethodFactory(List.of(slow)), 4);
+
+        // When
+        BatchPayoutResponse batch = dispatcher.dispatchBatch(requests(200)).join();
+
+        // Then
+        assertEquals(200, batch.getSummary().getSucceeded());
+        assertEquals(4, maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("🧱 Processors completing inline do not overflow the stack")
+    void shouldLoopOverInlineCompletions() {
+        // Given - A blocking-only style processor that completes on the caller's thread
+        PayoutProcessor inline = stub(request -> CompletableFuture.completedFuture(
+                PayoutResponse.success("CP1", "Cash Pickup", request.getAmount())));
+        PayoutDispatcher dispatcher = new PayoutDispatcher(new PayoutMethodFactory(List.of(inline)), 1);
+
+        // When
+        BatchPayoutResponse batch = dispatcher.dispatchBatch(requests(50_000)).join();
+
+        // Then
+        assertEquals(50_000, batch.getSummary().getSucceeded());
+    }
+
+    @Test
+    @DisplayName("💥 A failing call becomes an INTERNAL_ERROR result, not a failed batch")
+    void shouldIsolateFailedCalls() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        PayoutProcessor flaky = stub(request -> calls.incrementAndGet() % 2 == 0
+                ? CompletableFuture.failedFuture(new IllegalStateException("provider down"))
+                : CompletableFuture.completedFuture(PayoutResponse.success("CP1", "Cash Pickup", request.getAmount())));
+        PayoutDispatcher dispatcher = new PayoutDispatcher(new PayoutMethodFactory(List.of(flaky)), 2);
+
+        // When
+        BatchPayoutResponse batch = dispatcher.dispatchBatch(requests(10)).join();
+
+        // Then
+        assertEquals(5, batch.getSummary().getSucceeded());
+        assertEquals(5, batch.getSummary().getFailed());
+        assertTrue(batch.getResults().stream().allMatch(response -> response != null));
+    }
+
+    @Test
+    @DisplayName("🧱 A saturated provider is rejected fast without affecting the others")
+    void shouldIsolateSaturatedProvider() throws InterruptedException {
+        // Given - A bank that never answers and a wallet that answers at once
+        List<CompletableFuture<PayoutResponse>> stuck = new CopyOnWriteArrayList<>();
+        PayoutProcessor bank = stub("Slow Bank", "bank_transfer", "nepal", request -> {
+            CompletableFuture<PayoutResponse> response = new CompletableFuture<>();
+            stuck.add(response);
+            return response;
+        });
+        PayoutProcessor wallet = stub("Fast Wallet", "mobile_wallet", "nepal", request ->
+                CompletableFuture.completedFuture(PayoutResponse.success("FW1", "Fast Wallet", request.getAmount())));
+        List<PayoutProcessor> processors = List.of(bank, wallet);
+        PayoutDispatcher dispatcher = new PayoutDispatcher(new PayoutMethodFactory(processors), 16,
+                new ProviderBulkheads(processors, 2, 1), ProviderLimiters.disabled(),
+                ProviderCircuitBreakers.disabled());
+
+        // When - The bank takes 2 running + 1 waiting, the fourth call is turned away
+        List<CompletableFuture<PayoutResponse>> bankCalls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            bankCalls.add(dispatcher.submit(request("bank_transfer", "nepal", null)));
+        }
+        PayoutResponse walletResponse = dispatcher.submit(request("mobile_wallet", "nepal", null)).join();
+
+        // Then
+        assertEquals(ProviderBulkheads.ERROR_CODE, bankCalls.get(3).join().getErrorCode());
+        assertEquals(2, stuck.size());
+        assertEquals(PayoutResponse.Status.SUCCESS, walletResponse.getStatus());
+
+        // When - The bank recovers
+        stuck.get(0).complete(PayoutResponse.success("SB1", "Slow Bank", new BigDecimal("100")));
+
+        // Then - The waiting call ran once a slot was free (handed off to another thread)
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stuck.size() < 3 && System.nanoTime() < waitUntil) {
+            Thread.sleep(1);
+        }
+        assertEquals(3, stuck.size());
+        stuck.get(1).complete(PayoutResponse.success("SB1", "Slow Bank", new BigDecimal("100")));
+        stuck.get(2).complete(PayoutResponse.success("SB1", "Slow Bank", new BigDecimal("100")));
+        assertTrue(bankCalls.subList(0, 3).stream().allMatch(call -> call.join().getStatus() == PayoutResponse.Status.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("🧵 Handed-off calls run on at most as many threads as the bulkheads queue, inline once closed")
+    void shouldBoundHandoffThreads() throws InterruptedException {
+        // Given - One running + two waiting slots, so at most two handoff threads
+        List<CompletableFuture<PayoutResponse>> calls = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        PayoutProcessor bank = stub("Slow Bank", "bank_transfer", "nepal", request -> {
+            CompletableFuture<PayoutResponse> response = new CompletableFuture<>();
+            threads.add(Thread.currentThread().getName());
+            calls.add(response);
+            return response;
+        });
+        List<PayoutProcessor> processors = List.of(bank);
+        PayoutDispatcher dispatcher = new PayoutDispatcher(new PayoutMethodFactory(processors), 16,
+                new ProviderBulkheads(processors, 1, 2), ProviderLimiters.disabled(),
+                ProviderCircuitBreakers.disabled());
+        List<CompletableFuture<PayoutResponse>> submitted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            submitted.add(dispatcher.submit(request("bank_transfer", "nepal", null)));
+        }
+
+        // When - Each answer hands the next waiting call off
+        for (int i = 0; i < 2; i++) {
+            calls.get(i).complete(PayoutResponse.success("SB" + i, "Slow Bank", new BigDecimal("100")));
+            awaitCalls(calls, i + 2);
+        }
+
+        // Then
+        assertTrue(threads.subList(1, 3).stream().allMatch(name -> name.matches("payout-handoff-[12]")),
+                threads.toString());
+
+        // When - Closed, a waiting call still runs (inline)
+        submitted.add(dispatcher.submit(request("bank_transfer", "nepal", null)));
+        dispatcher.close();
+        calls.get(2).complete(PayoutResponse.success("SB2", "Slow Bank", new BigDecimal("100")));
+
+        // Then
+        assertEquals(4, calls.size());
+        assertEquals(Thread.currentThread().getName(), threads.get(3));
+    }
+
+    private static void awaitCalls(List<?> calls, int count) throws InterruptedException {
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.size() < count && System.nanoTime() < waitUntil) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, calls.size());
+    }
+
+    @Test
+    @DisplayName("⏳ A provider that ignores the deadline is answered with TIMEOUT at the deadline")
+    void shouldTimeOutHungProvider() {
+        // Given - A provider that never answers
+        AtomicInteger calls = new AtomicInteger();
+        PayoutProcessor hung = stub(request -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        PayoutDispatcher dispatcher = new PayoutDispatcher(new PayoutMethodFactory(List.of(hung)), 4);
+        PayoutRequest request = request("cash_pickup", "nepal", null);
+        request.setDeadline(Deadline.afterMillis(50));
+
+        // When
+        long start = System.nanoTime();
+        PayoutResponse response = dispatcher.submit(request).join();
+
+        // Then
+        assertEquals(PayoutResponse.Status.TIMEOUT, response.getStatus());
+        assertEquals("Cash Pickup", response.getProviderName());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("⌛ Requests whose deadline already passed never reach the provider")
+    void shouldNotStartExpiredRequests() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        PayoutProcessor provider = stub(request -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(PayoutResponse.success("CP1", "Cash Pickup", request.getAmount()));
+        });
+        PayoutDispatcher dispatcher = new PayoutDispatcher(new PayoutMethodFactory(List.of(provider)), 4);
+        PayoutRequest request = request("cash_pickup", "nepal", null);
+        request.setDeadline(Deadline.afterMillis(0));
+
+        // When
+        PayoutResponse response = dispatcher.submit(request).join();
+
+        // Then
+        assertEquals(PayoutResponse.Status.TIMEOUT, response.getStatus());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    @DisplayName("🔌 Timeouts from a caller's short deadline do not open a healthy provider's circuit")
+    void shouldNotBlameProviderForCallerShortenedTimeouts() {
+        // Given - A provider that answers TIMEOUT once its deadline is spent
+        PayoutProcessor provider = stub(request ->
+                CompletableFuture.completedFuture(PayoutResponse.timeout("Cash Pickup")));
+        List<PayoutProcessor> processors = List.of(provider);
+        ProviderCircuitBreakers breakers = new ProviderCircuitBreakers(processors, processor -> new CircuitBreaker(
+                10, 4, 0.5, 1.0, TimeUnit.SECONDS.toNanos(60), TimeUnit.SECONDS.toNanos(60), 1, System::nanoTime));
+        PayoutDispatcher dispatcher = new PayoutDispatcher(new PayoutMethodFactory(processors), 4,
+                ProviderBulkheads.disabled(), ProviderLimiters.disabled(), breakers);
+
+        // When - Callers keep asking for 200ms, far below the provider's budget
+        for (int i = 0; i < 10; i++) {
+            PayoutRequest request = request("cash_pickup", "nepal", null);
+            request.setDeadline(Deadline.afterMillis(200));
+            assertEquals(PayoutResponse.Status.TIMEOUT, dispatcher.submit(request).join().getStatus());
+        }
+
+        // Then
+        assertEquals("CLOSED", state(breakers));
+
+        // When - Calls given the full budget time out too
+        for (int i = 0; i < 4; i++) {
+            dispatcher.submit(request("cash_pickup", "nepal", null)).join();
+        }
+
+        // Then - Those are the provider's fault
+        assertEquals("OPEN", state(breakers));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String state(ProviderCircuitBreakers breakers) {
+        return (String) ((Map<String, Object>) breakers.getStats().get("Cash Pickup")).get("state");
+    }
+
+    private static List<PayoutRequest> requests(int count) {
+        List<PayoutRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(request("cash_pickup", "nepal", null));
+        }
+        return requests;
+    }
+
+    private static PayoutRequest request(String method, String country, String phone) {
+        PayoutRequest request = new PayoutRequest(method, country, new BigDecimal("100"), "USD", "Batch Recipient");
+        request.setRecipientPhone(phone);
+        return request;
+    }
+
+    private static PayoutProcessor stub(Function<PayoutRequest, CompletableFuture<PayoutResponse>> call) {
+        return stub("Cash Pickup", "cash_pickup", "nepal", call);
+    }
+
+    private static PayoutProcessor stub(String provider, String method, String country,
+                                        Function<PayoutRequest, CompletableFuture<PayoutResponse>> call) {
+        return new PayoutProcessor() {
+            @Override
+            public PayoutResponse processTransfer(PayoutRequest request) {
+                return call.apply(request).join();
+            }
+
+            @Override
+            public CompletableFuture<PayoutResponse> processTransferAsync(PayoutRequest request) {
+                return call.apply(request);
+            }
+
+            @Override
+            public boolean isSupported(String country, String method) {
+                return true;
+            }
+
+            @Override
+            public String getProviderName() {
+                return provider;
+            }
+
+            @Override
+            public String[] getSupportedCountries() {
+                return new String[]{country};
+            }
+
+            @Override
+            public String[] getSupportedMethods() {
+                return new String[]{method};
+            }
+        };
+    }
+}
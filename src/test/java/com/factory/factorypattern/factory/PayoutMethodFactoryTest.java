@@ -1,18 +1,30 @@
 package com.factory.factorypattern.factory;
 
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
 import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
 import com.factory.factorypattern.service.BankTransferProcessor;
 import com.factory.factorypattern.service.GCashProcessor;
 import com.factory.factorypattern.service.PaytmProcessor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,31 +39,30 @@ import static org.mockito.Mockito.*;
  * 2. Test all supported combinations
  * 3. Test error handling for unsupported combinations
  * 4. Test caching mechanism
- * 5. Test factory utility methods
+ * 5. Test concurrent lookups against the routing snapshot
+ * 6. Test factory utility methods
  */
 @Component
 class PayoutMethodFactoryTest {
 
-    @Mock
-    private GCashProcessor gCashProcessor;
+    @Spy
+    private GCashProcessor gCashProcessor = new GCashProcessor();
 
-    @Mock
-    private PaytmProcessor paytmProcessor;
+    @Spy
+    private PaytmProcessor paytmProcessor = new PaytmProcessor();
 
-    @Mock
-    private BankTransferProcessor bankTransferProcessor;
+    @Spy
+    private BankTransferProcessor bankTransferProcessor = new BankTransferProcessor();
 
-    @InjectMocks
     private PayoutMethodFactory payoutMethodFactory;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        // Setup mock behaviors
-        when(gCashProcessor.getProviderName()).thenReturn("GCash Philippines");
-        when(paytmProcessor.getProviderName()).thenReturn("Paytm India");
-        when(bankTransferProcessor.getProviderName()).thenReturn("International Bank Transfer");
+        // Factory discovers routes from the processors' own descriptors
+        payoutMethodFactory = new PayoutMethodFactory(
+                List.of(gCashProcessor, paytmProcessor, bankTransferProcessor));
     }
 
     // 🎯 CORE FACTORY PATTERN TESTS
@@ -149,6 +160,129 @@ class PayoutMethodFactoryTest {
         assertEquals(paytmProcessor, processor2);
     }
 
+    @Test
+    @DisplayName("Factory maps country aliases and ISO codes onto the same route")
+    void shouldMapCountryAliasesOntoSameRoute() {
+        assertSame(bankTransferProcessor, payoutMethodFactory.createProcessor("bank_transfer", "sri lanka"));
+        assertSame(bankTransferProcessor, payoutMethodFactory.createProcessor("bank_transfer", "LK"));
+        assertSame(bankTransferProcessor, payoutMethodFactory.createProcessor("bank_transfer", "lka"));
+        assertSame(gCashProcessor, payoutMethodFactory.createProcessor("mobile_wallet", "PHL"));
+    }
+
+    @Test
+    @DisplayName("Factory accepts canonical enum values")
+    void shouldAcceptCanonicalEnumValues() {
+        assertSame(paytmProcessor, payoutMethodFactory.getProcessor(PayoutMethod.DIGITAL_WALLET, Country.IN));
+        assertSame(bankTransferProcessor, payoutMethodFactory.getProcessor(PayoutMethod.WIRE_TRANSFER, Country.PH));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> payoutMethodFactory.getProcessor(PayoutMethod.CASH_PICKUP, Country.PH));
+        assertThrows(IllegalArgumentException.class,
+                () -> payoutMethodFactory.getProcessor(null, null));
+    }
+
+    // 🎯 PROCESSOR DISCOVERY TESTS
+
+    @Test
+    @DisplayName("🔎 Factory derives routes from processor descriptors")
+    void shouldDeriveRoutesFromProcessorDescriptors() {
+        // Bank transfer declares wire_transfer for every country it serves
+        assertSame(bankTransferProcessor, payoutMethodFactory.createProcessor("wire_transfer", "bangladesh"));
+
+        // Supported combinations come from the same matrix
+        assertEquals("International Bank Transfer",
+                payoutMethodFactory.getSupportedCombinations().get("wire_transfer_nepal"));
+    }
+
+    @Test
+    @DisplayName("🔎 Factory picks up new processors without code changes")
+    void shouldPickUpNewProcessors() {
+        // Given - A new cash pickup provider
+        PayoutProcessor cashPickup = mock(PayoutProcessor.class);
+        when(cashPickup.getProviderName()).thenReturn("Cash Pickup Nepal");
+        when(cashPickup.getSupportedMethods()).thenReturn(new String[]{"cash_pickup"});
+        when(cashPickup.getSupportedCountries()).thenReturn(new String[]{"nepal", "np"});
+
+        // When
+        PayoutMethodFactory factory = new PayoutMethodFactory(
+                List.of(gCashProcessor, paytmProcessor, bankTransferProcessor, cashPickup));
+
+        // Then
+        assertSame(cashPickup, factory.createProcessor("cash_pickup", "NP"));
+        assertFalse(factory.isSupported("cash_pickup", "india"));
+    }
+
+    @Test
+    @DisplayName("🔀 Factory turns overlapping processors into route candidates")
+    void shouldTurnOverlappingProcessorsIntoCandidates() {
+        // Given - A second provider claiming GCash's corridor
+        PayoutProcessor rival = mock(PayoutProcessor.class);
+        when(rival.getProviderName()).thenReturn("Rival Wallet");
+        when(rival.getSupportedMethods()).thenReturn(new String[]{"mobile_wallet"});
+        when(rival.getSupportedCountries()).thenReturn(new String[]{"ph"});
+
+        // When
+        PayoutMethodFactory factory = new PayoutMethodFactory(List.of(gCashProcessor, rival));
+
+        // Then - Both are candidates, the route is counted once
+        assertEquals(List.of(gCashProcessor, rival), factory.resolve("mobile_wallet", "ph").getCandidates());
+        assertEquals(1, factory.getCacheStats().get("cacheSize"));
+    }
+
+    @Test
+    @DisplayName("❌ Factory rejects processors with unknown descriptors at startup")
+    void shouldRejectUnknownDescriptors() {
+        // Given - A typo in a processor's supported countries
+        PayoutProcessor typo = mock(PayoutProcessor.class);
+        when(typo.getProviderName()).thenReturn("Typo Wallet");
+        when(typo.getSupportedMethods()).thenReturn(new String[]{"mobile_wallet"});
+        when(typo.getSupportedCountries()).thenReturn(new String[]{"phillipines"});
+
+        PayoutProcessor empty = mock(PayoutProcessor.class);
+        when(empty.getProviderName()).thenReturn("Empty Wallet");
+
+        // When & Then
+        IllegalStateException gap = assertThrows(IllegalStateException.class,
+                () -> new PayoutMethodFactory(List.of(typo)));
+        assertTrue(gap.getMessage().contains("phillipines"));
+
+        assertThrows(IllegalStateException.class, () -> new PayoutMethodFactory(List.of(empty)));
+        assertThrows(IllegalStateException.class, () -> new PayoutMethodFactory(List.of()));
+    }
+
+    // 🎯 MULTI-PROVIDER ROUTING TESTS
+
+    @Test
+    @DisplayName("📈 Factory steers multi-provider routes to the healthier candidate")
+    void shouldSteerToHealthierCandidate() {
+        // Given - A second Philippines wallet listed next to GCash
+        PayoutProcessor backupWallet = mock(PayoutProcessor.class);
+        when(backupWallet.getProviderName()).thenReturn("Backup Wallet");
+        when(backupWallet.getSupportedMethods()).thenReturn(new String[]{"mobile_wallet"});
+        when(backupWallet.getSupportedCountries()).thenReturn(new String[]{"ph"});
+        PayoutMethodFactory factory = new PayoutMethodFactory(List.of(gCashProcessor, backupWallet));
+
+        // When - GCash is slow and failing, the backup is fast
+        PayoutResponse apiError = PayoutResponse.failed("timeout", "GCash Philippines", "GCASH_API_ERROR");
+        PayoutResponse ok = PayoutResponse.success("TXN", "Backup Wallet", BigDecimal.TEN);
+        for (int i = 0; i < 20; i++) {
+            factory.recordOutcome(gCashProcessor, 1_500_000_000L, apiError);
+            factory.recordOutcome(backupWallet, 50_000_000L, ok);
+        }
+
+        // Then
+        assertEquals(2, factory.resolve("mobile_wallet", "ph").getCandidates().size());
+        for (int i = 0; i < 100; i++) {
+            assertSame(backupWallet, factory.createProcessor("mobile_wallet", "ph"));
+        }
+        assertEquals("GCash Philippines, Backup Wallet",
+                factory.getSupportedCombinations().get("mobile_wallet_philippines"));
+
+        Map<?, ?> providers = (Map<?, ?>) factory.getCacheStats().get("providers");
+        Map<?, ?> backupStats = (Map<?, ?>) providers.get("Backup Wallet");
+        assertEquals(100L, backupStats.get("selections"));
+    }
+
     // 🎯 ERROR HANDLING TESTS
 
     @Test
@@ -220,10 +354,10 @@ class PayoutMethodFactoryTest {
     }
 
     @Test
-    @DisplayName("🧹 Factory cache can be cleared")
+    @DisplayName("🧹 Factory cache clear rebuilds the routing table")
     void shouldClearCache() {
-        // Given - Create and cache a processor
-        payoutMethodFactory.createProcessor("mobile_wallet", "philippines");
+        // Given - A pre-resolved routing table
+        PayoutProcessor before = payoutMethodFactory.createProcessor("mobile_wallet", "philippines");
 
         Map<String, Object> statsBefore = payoutMethodFactory.getCacheStats();
         assertTrue((Integer) statsBefore.get("cacheSize") > 0);
@@ -231,24 +365,83 @@ class PayoutMethodFactoryTest {
         // When - Clear cache
         payoutMethodFactory.clearCache();
 
-        // Then - Cache should be empty
+        // Then - Table is rebuilt with the same routes
         Map<String, Object> statsAfter = payoutMethodFactory.getCacheStats();
-        assertEquals(0, statsAfter.get("cacheSize"));
+        assertEquals(statsBefore.get("cacheSize"), statsAfter.get("cacheSize"));
+        assertSame(before, payoutMethodFactory.createProcessor("mobile_wallet", "philippines"));
     }
 
     @Test
     @DisplayName("📊 Factory provides cache statistics")
     void shouldProvideCacheStatistics() {
-        // Given - Create some processors
-        payoutMethodFactory.createProcessor("mobile_wallet", "philippines");
-        payoutMethodFactory.createProcessor("mobile_wallet", "india");
-
-        // When
+        // When - Routes are resolved up front, no lookup needed
         Map<String, Object> stats = payoutMethodFactory.getCacheStats();
 
         // Then
-        assertEquals(2, stats.get("cacheSize"));
+        assertEquals(13, stats.get("cacheSize"));
         assertTrue(stats.containsKey("cachedKeys"));
+        Set<?> keys = (Set<?>) stats.get("cachedKeys");
+        assertTrue(keys.contains("mobile_wallet_philippines"));
+        assertTrue(keys.contains("bank_transfer_sri_lanka"));
+    }
+
+    // 🎯 CONCURRENCY TESTS
+
+    @Test
+    @DisplayName("🧵 Factory resolves processors correctly under concurrent load")
+    void shouldResolveProcessorsUnderConcurrentLoad() throws Exception {
+        // Given
+        int threads = 16;
+        int iterations = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger mismatches = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When - Many threads hammer the factory while the table is rebuilt
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    switch ((i + seed) % 4) {
+                        case 0 -> {
+                            if (payoutMethodFactory.createProcessor("mobile_wallet", "ph") != gCashProcessor) {
+                                mismatches.incrementAndGet();
+                            }
+                        }
+                        case 1 -> {
+                            if (payoutMethodFactory.createProcessor("DIGITAL_WALLET", " india ") != paytmProcessor) {
+                                mismatches.incrementAndGet();
+                            }
+                        }
+                        case 2 -> {
+                            if (payoutMethodFactory.createProcessor("bank_transfer", "np") != bankTransferProcessor) {
+                                mismatches.incrementAndGet();
+                            }
+                        }
+                        default -> {
+                            if (payoutMethodFactory.isSupported("cash_pickup", "ph")) {
+                                mismatches.incrementAndGet();
+                            }
+                        }
+                    }
+                    if (seed == 0 && i % 5_000 == 0) {
+                        payoutMethodFactory.clearCache();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        // Then - No lookup failed, blocked forever or returned the wrong processor
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(0, mismatches.get());
+        assertEquals(13, payoutMethodFactory.getCacheStats().get("cacheSize"));
     }
 
     // 🎯 UTILITY METHOD TESTS
@@ -283,6 +476,55 @@ class PayoutMethodFactoryTest {
         assertFalse(payoutMethodFactory.isSupported("invalid", "invalid"));
     }
 
+    @Test
+    @DisplayName("🧭 Factory resolves routes without throwing")
+    void shouldResolveRoutesWithoutThrowing() {
+        // Supported route
+        RouteResolution resolved = payoutMethodFactory.resolve(" Mobile_Wallet ", "PH");
+        assertTrue(resolved.isResolved());
+        assertEquals(RouteResolution.Outcome.RESOLVED, resolved.getOutcome());
+        assertSame(gCashProcessor, resolved.getProcessor());
+        assertEquals(PayoutMethod.MOBILE_WALLET, resolved.getMethod());
+        assertEquals(Country.PH, resolved.getCountry());
+
+        // Failures are shared constants
+        assertSame(RouteResolution.UNKNOWN_METHOD, payoutMethodFactory.resolve("cryptocurrency", "ph"));
+        assertSame(RouteResolution.UNKNOWN_METHOD, payoutMethodFactory.resolve(null, null));
+        assertSame(RouteResolution.UNKNOWN_COUNTRY, payoutMethodFactory.resolve("mobile_wallet", "japan"));
+        assertEquals(RouteResolution.Outcome.UNSUPPORTED, payoutMethodFactory.resolve("cash_pickup", "ph").getOutcome());
+
+        // Resolutions are pre-built per route
+        assertSame(resolved, payoutMethodFactory.resolve("mobile_wallet", "philippines"));
+    }
+
+    @Test
+    @DisplayName("🚫 Unsupported combinations reuse one prebuilt rejection per canonical pair")
+    void shouldCacheRejectionsPerCanonicalPair() {
+        // Given - Different spellings of the same unsupported pair
+        RouteResolution rejection = payoutMethodFactory.resolve("cash_pickup", "ph");
+
+        // Then - One shared rejection with its message built up front
+        assertFalse(rejection.isResolved());
+        assertNull(rejection.getProcessor());
+        assertEquals(PayoutMethod.CASH_PICKUP, rejection.getMethod());
+        assertEquals(Country.PH, rejection.getCountry());
+        assertEquals("Unsupported combination: cash_pickup in philippines", rejection.getRejectionMessage());
+        assertSame(rejection, payoutMethodFactory.resolve(" CASH_PICKUP ", "Philippines"));
+        assertSame(rejection, payoutMethodFactory.resolve("cash_pickup", "PHL"));
+
+        // Garbage input cannot add entries, it maps to the shared constants
+        for (int i = 0; i < 1_000; i++) {
+            assertSame(RouteResolution.UNKNOWN_METHOD, payoutMethodFactory.resolve("method-" + i, "ph"));
+            assertSame(RouteResolution.UNKNOWN_COUNTRY, payoutMethodFactory.resolve("cash_pickup", "country-" + i));
+        }
+
+        // Rejections are rebuilt with the routes
+        payoutMethodFactory.clearCache();
+        RouteResolution rebuilt = payoutMethodFactory.resolve("cash_pickup", "ph");
+        assertNotSame(rejection, rebuilt);
+        assertEquals(rejection.getRejectionMessage(), rebuilt.getRejectionMessage());
+    }
+
     // 🎯 INTEGRATION STYLE TESTS
 
     @Test
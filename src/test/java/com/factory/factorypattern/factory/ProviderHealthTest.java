@@ -0,0 +1,65 @@
+package com.factory.factorypattern.factory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderHealthTest {
+
+    @Test
+    @DisplayName("📈 Latency average starts at the first sample and moves toward new ones")
+    void shouldTrackLatencyAverage() {
+        ProviderHealth health = new ProviderHealth();
+
+        health.record(1_000_000, false);
+        assertEquals(1_000_000, health.latencyEwmaNanos(), 1.0);
+
+        for (int i = 0; i < 50; i++) {
+            health.record(2_000_000, false);
+        }
+        assertEquals(2_000_000, health.latencyEwmaNanos(), 10_000);
+        assertEquals(0.0, health.errorRateEwma(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("❌ Provider errors raise the cost of an equally fast provider")
+    void shouldPenalizeErrors() {
+        ProviderHealth healthy = new ProviderHealth();
+        ProviderHealth failing = new ProviderHealth();
+        for (int i = 0; i < 20; i++) {
+            healthy.record(1_000_000, false);
+            failing.record(1_000_000, true);
+        }
+
+        long now = System.nanoTime();
+        assertTrue(failing.errorRateEwma() > 0.9);
+        assertTrue(failing.cost(now) > 5 * healthy.cost(now));
+    }
+
+    @Test
+    @DisplayName("🎯 Power-of-two-choices picks the cheaper of two candidates")
+    void shouldChooseCheaperCandidate() {
+        ProviderHealth fast = new ProviderHealth();
+        ProviderHealth slow = new ProviderHealth();
+        fast.record(10_000_000, false);
+        slow.record(900_000_000, false);
+        ProviderHealth[] candidates = {slow, fast};
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(1, ProviderHealth.choose(candidates));
+        }
+        assertEquals(1_000, fast.selections());
+        assertEquals(0, slow.selections());
+    }
+
+    @Test
+    @DisplayName("🧪 Unmeasured providers are tried before measured ones")
+    void shouldTryUnmeasuredProvidersFirst() {
+        ProviderHealth measured = new ProviderHealth();
+        ProviderHealth fresh = new ProviderHealth();
+        measured.record(5_000_000, false);
+
+        assertEquals(1, ProviderHealth.choose(new ProviderHealth[]{measured, fresh}));
+    }
+}
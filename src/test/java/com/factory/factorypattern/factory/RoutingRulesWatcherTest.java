@@ -0,0 +1,210 @@
+package com.factory.factorypattern.factory;
+
+import com.factory.factorypattern.service.BankTransferProcessor;
+import com.factory.factorypattern.service.GCashProcessor;
+import com.factory.factorypattern.service.PaytmProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 👀 Routing rules hot reload tests
+ *
+ * Rules files are written to a temp directory and the watcher is expected to
+ * swap the factory's routing snapshot without a restart.
+ */
+class RoutingRulesWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PayoutMethodFactory payoutMethodFactory;
+    private RoutingRulesWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        payoutMethodFactory = new PayoutMethodFactory(
+                List.of(new GCashProcessor(), new PaytmProcessor(), new BankTransferProcessor()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (watcher != null) {
+            watcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("📜 Rules file replaces descriptor routes at startup")
+    void shouldApplyRulesFileAtStartup() throws Exception {
+        // Given - Only GCash and bank transfers to India
+        Path rules = writeRules("routes.yml", """
+                routes:
+                  - provider: GCash Philippines
+                    methods: [mobile_wallet]
+                    countries: [ph]
+                  - provider: International Bank Transfer
+                    methods: [bank_transfer]
+                    countries: [india]
+                """);
+
+        // When
+        watcher = new RoutingRulesWatcher(payoutMethodFactory, rules.toString());
+        watcher.start();
+
+        // Then
+        assertTrue(payoutMethodFactory.isSupported("mobile_wallet", "ph"));
+        assertTrue(payoutMethodFactory.isSupported("bank_transfer", "in"));
+        assertFalse(payoutMethodFactory.isSupported("mobile_wallet", "india"));
+        assertFalse(payoutMethodFactory.isSupported("bank_transfer", "nepal"));
+        assertEquals("rules-file", payoutMethodFactory.getCacheStats().get("routingSource"));
+    }
+
+    @Test
+    @DisplayName("🔄 Changing the rules file swaps routes without restart")
+    void shouldSwapRoutesWhenFileChanges() throws Exception {
+        // Given
+        Path rules = writeRules("routes.json", """
+                {"routes": [{"provider": "GCash Philippines", "methods": ["mobile_wallet"], "countries": ["ph"]}]}
+                """);
+        watcher = new RoutingRulesWatcher(payoutMethodFactory, rules.toString());
+        watcher.start();
+        assertFalse(payoutMethodFactory.isSupported("mobile_wallet", "in"));
+
+        // When - Open the India corridor
+        writeRules("routes.json", """
+                {"routes": [
+                  {"provider": "GCash Philippines", "methods": ["mobile_wallet"], "countries": ["ph"]},
+                  {"provider": "Paytm India", "methods": ["mobile_wallet"], "countries": ["in"]}
+                ]}
+                """);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!payoutMethodFactory.isSupported("mobile_wallet", "in") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(payoutMethodFactory.isSupported("mobile_wallet", "in"));
+        assertTrue(payoutMethodFactory.isSupported("mobile_wallet", "ph"));
+        assertTrue((Long) payoutMethodFactory.getCacheStats().get("routingVersion") >= 2);
+    }
+
+    @Test
+    @DisplayName("❌ Invalid rules are rejected and current routes stay active")
+    void shouldKeepCurrentRoutesWhenRulesAreInvalid() throws Exception {
+        // Given
+        Path rules = writeRules("routes.yml", """
+                routes:
+                  - provider: GCash Philippines
+                    methods: [mobile_wallet]
+                    countries: [ph]
+                """);
+        watcher = new RoutingRulesWatcher(payoutMethodFactory, rules.toString());
+        watcher.start();
+
+        // When & Then - Unknown provider
+        writeRules("routes.yml", """
+                routes:
+                  - provider: Unknown Wallet
+                    methods: [mobile_wallet]
+                    countries: [ph]
+                """);
+        assertFalse(watcher.reload());
+
+        // When & Then - Provider routed outside its declared capabilities
+        writeRules("routes.yml", """
+                routes:
+                  - provider: GCash Philippines
+                    methods: [bank_transfer]
+                    countries: [ph]
+                """);
+        assertFalse(watcher.reload());
+
+        // When & Then - Unknown country after otherwise valid rules
+        writeRules("routes.yml", """
+                routes:
+                  - provider: Paytm India
+                    methods: [mobile_wallet]
+                    countries: [in]
+                  - provider: Paytm India
+                    methods: [digital_wallet]
+                    countries: [xx]
+                """);
+        assertFalse(watcher.reload());
+
+        // Then - Original routes still served
+        assertTrue(payoutMethodFactory.isSupported("mobile_wallet", "ph"));
+        assertFalse(payoutMethodFactory.isSupported("bank_transfer", "ph"));
+    }
+
+    @Test
+    @DisplayName("⏱️ Applying rules reports how long the swap took")
+    void shouldReportSwapDuration() {
+        // Given
+        RoutingRules rules = new RoutingRules();
+        rules.setRoutes(List.of(new RoutingRules.Route("Paytm India",
+                List.of("mobile_wallet", "digital_wallet"), List.of("in"))));
+
+        // When & Then
+        assertTrue(payoutMethodFactory.applyRules(rules).toNanos() > 0);
+        assertTrue(payoutMethodFactory.isSupported("digital_wallet", "india"));
+        assertFalse(payoutMethodFactory.isSupported("mobile_wallet", "ph"));
+        assertTrue(payoutMethodFactory.getCacheStats().containsKey("lastSwapMicros"));
+    }
+
+    @Test
+    @DisplayName("🔀 Rules can list several candidate providers for a route")
+    void shouldCompileCandidateProviders() throws Exception {
+        // Given
+        Path rules = writeRules("routes.yml", """
+                routes:
+                  - providers: [Paytm India, International Bank Transfer]
+                    methods: [digital_wallet]
+                    countries: [in]
+                """);
+        watcher = new RoutingRulesWatcher(payoutMethodFactory, rules.toString());
+
+        // When & Then - The bank processor does not declare digital_wallet
+        assertThrows(IllegalArgumentException.class, watcher::start);
+
+        // When - Only providers that support the route are listed
+        writeRules("routes.yml", """
+                routes:
+                  - providers: [Paytm India]
+                    methods: [digital_wallet]
+                    countries: [in]
+                  - provider: International Bank Transfer
+                    methods: [bank_transfer]
+                    countries: [in]
+                """);
+        watcher.start();
+
+        // Then
+        assertEquals(1, payoutMethodFactory.resolve("digital_wallet", "in").getCandidates().size());
+        assertTrue(payoutMethodFactory.isSupported("bank_transfer", "in"));
+    }
+
+    @Test
+    @DisplayName("💤 Watcher is disabled without a rules file")
+    void shouldStayDisabledWithoutRulesFile() throws Exception {
+        watcher = new RoutingRulesWatcher(payoutMethodFactory, "");
+        watcher.start();
+
+        assertEquals("processor-descriptors", payoutMethodFactory.getCacheStats().get("routingSource"));
+        assertTrue(payoutMethodFactory.isSupported("bank_transfer", "nepal"));
+    }
+
+    private Path writeRules(String name, String content) throws Exception {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,356 @@
+package com.factory.factorypattern.journal;
+
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 📒 Payout journal tests
+ */
+class PayoutJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<PayoutJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (PayoutJournal journal : opened) {
+            journal.close();
+        }
+    }
+
+    @Test
+    @DisplayName("📒 The request is durable before the call runs, the outcome is journaled after")
+    void shouldJournalRequestAndOutcome() throws Exception {
+        // Given
+        PayoutJournal journal = open(1024 * 1024);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        PayoutResponse response = journal.record(request(), Runnable::run, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(
+                    PayoutResponse.success("GC1", "GCash Philippines", new BigDecimal("100")));
+        }).join();
+
+        // Then
+        assertEquals("GC1", response.getTransactionId());
+        assertEquals(1, calls.get());
+
+        // When - Restart
+        journal.close();
+        PayoutJournal reopened = open(1024 * 1024);
+
+        // Then - Both records recovered, in order, nothing in doubt
+        List<JournalRecord> records = new ArrayList<>();
+        reopened.scan(records::add);
+        assertEquals(2, records.size());
+        assertEquals(JournalRecord.Type.REQUEST, records.get(0).type());
+        assertEquals(JournalRecord.Type.RESPONSE, records.get(1).type());
+        assertEquals(records.get(0).sequence(), records.get(1).reference());
+        assertEquals("Juan Dela Cruz", reopened.decode(records.get(0), PayoutRequest.class).getRecipientName());
+        assertEquals("GC1", reopened.decode(records.get(1), PayoutResponse.class).getTransactionId());
+        assertEquals(0, reopened.getRecovery().inDoubt());
+        assertArrayEquals(records.get(1).payload(), reopened.read(records.get(1).address()).payload());
+    }
+
+    @Test
+    @DisplayName("💥 A torn record at the tail is dropped and appends continue in its place")
+    void shouldRecoverFromTornWrite() throws Exception {
+        // Given - Three durable requests, then garbage half-way through the third
+        PayoutJournal journal = open(1024 * 1024);
+        List<JournalRecord> written = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            written.add(journal.append(JournalRecord.Type.REQUEST, 0, payload("request-" + i)).join());
+        }
+        journal.close();
+        int tornOffset = JournalRecord.offsetOf(written.get(2).address());
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(tornOffset + JournalSegment.HEADER_BYTES + 2);
+            file.write("garbage".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // When
+        PayoutJournal recovered = open(1024 * 1024);
+        JournalRecord next = recovered.append(JournalRecord.Type.REQUEST, 0, payload("after-crash")).join();
+
+        // Then - Two records survived; the next append reuses the torn record's place and sequence
+        assertEquals(2, recovered.getRecovery().records());
+        assertEquals(2, recovered.getRecovery().inDoubt());
+        assertEquals(written.get(2).address(), next.address());
+        assertEquals(3, next.sequence());
+
+        // When - Restart again
+        recovered.close();
+        List<JournalRecord> records = new ArrayList<>();
+        open(1024 * 1024).scan(records::add);
+
+        // Then
+        assertEquals(3, records.size());
+        assertEquals("after-crash", new String(records.get(2).payload(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("🗂️ Full segments roll over and every record stays readable after restart")
+    void shouldRollSegments() throws Exception {
+        // Given - 4KB segments
+        PayoutJournal journal = open(4096);
+
+        // When
+        List<JournalRecord> written = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            written.add(journal.append(JournalRecord.Type.REQUEST, 0, payload("request-" + i)).join());
+        }
+        journal.close();
+        PayoutJournal reopened = open(4096);
+
+        // Then
+        assertTrue(segmentFiles().size() > 1);
+        List<JournalRecord> records = new ArrayList<>();
+        reopened.scan(records::add);
+        assertEquals(200, records.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i + 1, records.get(i).sequence());
+            assertEquals("request-" + i, new String(reopened.read(written.get(i).address()).payload(),
+                    StandardCharsets.UTF_8));
+        }
+        assertEquals(201, reopened.append(JournalRecord.Type.REQUEST, 0, payload("next")).join().sequence());
+    }
+
+    @Test
+    @DisplayName("🚀 Concurrent appends share group commits")
+    void shouldGroupCommitConcurrentAppends() throws Exception {
+        // Given
+        PayoutJournal journal = open(1024 * 1024);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+
+        // When - 8 threads x 2,500 appends
+        List<CompletableFuture<JournalRecord>> appends = new ArrayList<>();
+        List<Future<List<CompletableFuture<JournalRecord>>>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            workers.add(threads.submit(() -> {
+                List<CompletableFuture<JournalRecord>> mine = new ArrayList<>();
+                for (int i = 0; i < 2_500; i++) {
+                    mine.add(journal.append(JournalRecord.Type.REQUEST, 0, payload("request")));
+                }
+                return mine;
+            }));
+        }
+        for (Future<List<CompletableFuture<JournalRecord>>> worker : workers) {
+            appends.addAll(worker.get());
+        }
+        threads.shutdown();
+        CompletableFuture.allOf(appends.toArray(new CompletableFuture[0])).join();
+
+        // Then - Every append durable, far fewer flushes than appends
+        assertEquals(20_000L, journal.getStats().get("appends"));
+        assertEquals(20_000L, journal.getStats().get("durableSequence"));
+        assertTrue((long) journal.getStats().get("groupCommits") < 20_000L);
+        assertEquals(20_000, appends.stream().map(append -> append.join().sequence()).distinct().count());
+    }
+
+    @Test
+    @DisplayName("🔎 Transactions are found by ID - latest outcome wins, and again after restart")
+    void shouldFindTransactionById() throws Exception {
+        // Given
+        PayoutJournal journal = open(1024 * 1024);
+        PayoutResponse pending = PayoutResponse.success("BT1", "Bank Transfer", new BigDecimal("250"));
+        pending.setStatus(PayoutResponse.Status.PENDING);
+        journal.record(request(), Runnable::run, () -> CompletableFuture.completedFuture(pending)).join();
+        journal.recordOutcome(1, PayoutResponse.success("GC1", "GCash Philippines", new BigDecimal("100"))).join();
+
+        // When - The bank settles later
+        journal.recordOutcome(1, PayoutResponse.success("BT1", "Bank Transfer", new BigDecimal("250"))).join();
+
+        // Then
+        assertEquals(PayoutResponse.Status.SUCCESS, journal.findTransaction("BT1").getStatus());
+        assertEquals("GCash Philippines", journal.findTransaction("GC1").getProviderName());
+        assertNull(journal.findTransaction("PTM404"));
+
+        // When - Restart
+        journal.close();
+        PayoutJournal reopened = open(1024 * 1024);
+
+        // Then - The index is rebuilt from the scan
+        assertEquals(PayoutResponse.Status.SUCCESS, reopened.findTransaction("BT1").getStatus());
+        assertEquals(new BigDecimal("100"), reopened.findTransaction("GC1").getAmount());
+        assertEquals(2L, reopened.getStats().get("indexedTransactions"));
+    }
+
+    @Test
+    @DisplayName("🔄 A settled PENDING payout is journaled as an update of the same request")
+    void shouldRecordUpdateAgainstOriginalRequest() throws Exception {
+        // Given - One answered PENDING, one never answered
+        PayoutJournal journal = open(1024 * 1024);
+        PayoutResponse pending = PayoutResponse.success("BT9", "Bank Transfer", new BigDecimal("250"));
+        pending.setStatus(PayoutResponse.Status.PENDING);
+        journal.record(request(), Runnable::run, () -> CompletableFuture.completedFuture(pending)).join();
+        // Durable after the PENDING answer, so that answer is indexed by now
+        journal.append(JournalRecord.Type.REQUEST, 0, payload("unanswered")).join();
+
+        // When
+        JournalRecord update = journal.recordUpdate(
+                PayoutResponse.success("BT9", "Bank Transfer", new BigDecimal("250"))).join();
+
+        // Then
+        assertEquals(JournalRecord.Type.UPDATE, update.type());
+        assertEquals(1, update.reference());
+        assertEquals(PayoutResponse.Status.SUCCESS, journal.findTransaction("BT9").getStatus());
+
+        // When - Restart
+        journal.close();
+        PayoutJournal reopened = open(1024 * 1024);
+
+        // Then - The update does not count as an answer for the unanswered request
+        assertEquals(1, reopened.getRecovery().inDoubt());
+        assertEquals(PayoutResponse.Status.SUCCESS, reopened.findTransaction("BT9").getStatus());
+    }
+
+    @Test
+    @DisplayName("🧹 Reconciled segments are retired, segments with unsettled payouts are kept")
+    void shouldRetireReconciledSegments() throws Exception {
+        // Given - 4KB segments, no retention period; one PENDING payout, then many settled ones
+        PayoutJournal journal = open(4096, 0, 60_000);
+        PayoutResponse pending = PayoutResponse.success("BT0", "Bank Transfer", new BigDecimal("250"));
+        pending.setStatus(PayoutResponse.Status.PENDING);
+        journal.recordOutcome(journal.append(JournalRecord.Type.REQUEST, 0, payload("request-0")).join().sequence(),
+                pending).join();
+        for (int i = 1; i < 60; i++) {
+            long sequence = journal.append(JournalRecord.Type.REQUEST, 0, payload("request-" + i)).join().sequence();
+            journal.recordOutcome(sequence,
+                    PayoutResponse.success("GC" + i, "GCash Philippines", new BigDecimal("100"))).join();
+        }
+        int written = segmentFiles().size();
+        assertTrue(written > 2);
+
+        // When / Then - The first segment still holds an unsettled PENDING payout
+        assertEquals(0, journal.retire());
+        assertEquals("GCash Philippines", journal.findTransaction("GC1").getProviderName());
+
+        // When - It settles
+        journal.recordUpdate(PayoutResponse.success("BT0", "Bank Transfer", new BigDecimal("250"))).join();
+        int retired = journal.retire();
+
+        // Then - Every sealed segment goes, lookups into them stop, the settlement stays findable
+        assertEquals(written - 1, retired);
+        assertEquals(written - retired, segmentFiles().size());
+        assertNull(journal.findTransaction("GC1"));
+        assertEquals(PayoutResponse.Status.SUCCESS, journal.findTransaction("BT0").getStatus());
+        assertEquals(0, journal.retire());
+
+        // When - An unanswered request, then a restart
+        journal.append(JournalRecord.Type.REQUEST, 0, payload("unanswered")).join();
+        journal.close();
+        PayoutJournal reopened = open(4096, 0, 60_000);
+
+        // Then - Answers to retired requests are not mistaken for answers to the new one
+        assertEquals(1, reopened.getRecovery().inDoubt());
+        assertEquals(PayoutResponse.Status.SUCCESS, reopened.findTransaction("BT0").getStatus());
+        assertNull(reopened.findTransaction("GC1"));
+        assertEquals(0, reopened.retire());
+    }
+
+    @Test
+    @DisplayName("💥 A failed call is answered in the journal, so its segment can still be retired")
+    void shouldRetireSegmentOfFailedCall() throws Exception {
+        // Given - 4KB segments, no retention period, an executor that records where outcomes are appended
+        PayoutJournal journal = open(4096, 0, 60_000);
+        List<Runnable> handedOff = new ArrayList<>();
+        Executor executor = task -> {
+            handedOff.add(task);
+            task.run();
+        };
+
+        // When - The provider call fails, then later payouts roll the segment over
+        CompletableFuture<PayoutResponse> failed = journal.record(request(), executor,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+        assertThrows(CompletionException.class, failed::join);
+        fillSettledSegments(journal, 60);
+
+        // Then - Continuation and outcome both went through the executor, and nothing holds the segment
+        assertEquals(2, handedOff.size());
+        assertTrue(journal.retire() > 0);
+        journal.close();
+        assertEquals(0, open(4096, 0, 60_000).getRecovery().inDoubt());
+    }
+
+    @Test
+    @DisplayName("⌛ Requests that never got an outcome age out after the max retention")
+    void shouldAgeOutUnansweredRequests() throws Exception {
+        // Given - An outcome that was never appended; no retention, no max retention
+        PayoutJournal journal = open(4096, 0, 0);
+        journal.append(JournalRecord.Type.REQUEST, 0, payload("unanswered")).join();
+        fillSettledSegments(journal, 60);
+        int written = segmentFiles().size();
+
+        // When
+        int retired = journal.retire();
+
+        // Then - Even the segment with the unanswered request goes
+        assertEquals(written - 1, retired);
+        assertEquals(1, segmentFiles().size());
+    }
+
+    private static void fillSettledSegments(PayoutJournal journal, int payouts) {
+        for (int i = 1; i < payouts; i++) {
+            long sequence = journal.append(JournalRecord.Type.REQUEST, 0, payload("request-" + i)).join().sequence();
+            journal.recordOutcome(sequence,
+                    PayoutResponse.success("GC" + i, "GCash Philippines", new BigDecimal("100"))).join();
+        }
+    }
+
+    private PayoutJournal open(int segmentBytes) throws IOException {
+        PayoutJournal journal = new PayoutJournal(objectMapper, directory, segmentBytes);
+        opened.add(journal);
+        return journal;
+    }
+
+    private PayoutJournal open(int segmentBytes, long retentionMillis, long maxRetentionMillis) throws IOException {
+        PayoutJournal journal = new PayoutJournal(objectMapper, directory, segmentBytes, 1 << 16, retentionMillis,
+                maxRetentionMillis);
+        opened.add(journal);
+        return journal;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] payload(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static PayoutRequest request() {
+        PayoutRequest request = new PayoutRequest("mobile_wallet", "ph", new BigDecimal("100"), "PHP", "Juan Dela Cruz");
+        request.setRecipientPhone("+639171234567");
+        return request;
+    }
+}
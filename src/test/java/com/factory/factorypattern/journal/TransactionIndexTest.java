@@ -0,0 +1,202 @@
+package com.factory.factorypattern.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🗺️ Off-heap transaction index tests
+ *
+ * Addresses stand in for journal records: an ID "owns" an address when the
+ * owners table says so, the way the journal confirms a hit by reading it.
+ */
+class TransactionIndexTest {
+
+    @Test
+    @DisplayName("🗺️ IDs that share a hash are told apart by the record check")
+    void shouldResolveHashCollisions() {
+        // Given - Two IDs forced onto the same hash
+        TransactionIndex index = new TransactionIndex(64);
+        long hash = TransactionIndex.hash("GC1");
+
+        // When
+        assertTrue(index.put(hash, 101, address -> address == 101));
+        assertTrue(index.put(hash, 202, address -> address == 202));
+
+        // Then
+        assertEquals(101, index.find(hash, address -> address == 101));
+        assertEquals(202, index.find(hash, address -> address == 202));
+        assertEquals(0, index.find(hash, address -> address == 303));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("🔁 A newer record for the same ID replaces the old address")
+    void shouldUpsertLatestAddress() {
+        // Given
+        TransactionIndex index = new TransactionIndex(64);
+        long hash = TransactionIndex.hash("BT1");
+        index.put(hash, 101, address -> true);
+
+        // When
+        index.put(hash, 202, address -> address == 101);
+
+        // Then
+        assertEquals(202, index.find(hash, address -> true));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("🧹 Removed entries stop matching but keep later entries in their probe run reachable")
+    void shouldRemoveWithTombstones() {
+        // Given - Two IDs on the same hash, the second probed past the first
+        TransactionIndex index = new TransactionIndex(64);
+        long hash = TransactionIndex.hash("GC1");
+        index.put(hash, 101, address -> address == 101);
+        index.put(hash, 202, address -> address == 202);
+
+        // When - A stale address removes nothing, the current one does
+        assertFalse(index.remove(hash, 999));
+        assertTrue(index.remove(hash, 101));
+
+        // Then
+        assertEquals(0, index.find(hash, address -> address == 101));
+        assertEquals(202, index.find(hash, address -> address == 202));
+        assertEquals(1, index.size());
+
+        // When - A new ID takes the tombstone's slot
+        index.put(hash, 303, address -> address == 303);
+
+        // Then
+        assertEquals(303, index.find(hash, address -> address == 303));
+        assertEquals(202, index.find(hash, address -> address == 202));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("📈 Beyond the load limit the index grows, every ID stays findable")
+    void shouldGrowWhenFull() {
+        // Given - 16 expected entries -> 32 slots, 24 usable
+        TransactionIndex index = new TransactionIndex(16);
+        for (int i = 0; i < 24; i++) {
+            long address = i + 1;
+            assertTrue(index.put(TransactionIndex.hash("PTM" + i), address, existing -> existing == address));
+        }
+        index.remove(TransactionIndex.hash("PTM23"), 24);
+
+        // When
+        boolean added = index.put(TransactionIndex.hash("PTM-late"), 99, existing -> false);
+        boolean updated = index.put(TransactionIndex.hash("PTM0"), 100, existing -> existing == 1);
+
+        // Then - Doubled, removed IDs stay removed
+        assertTrue(added);
+        assertFalse(updated);
+        assertEquals(1, index.resizes());
+        assertEquals(24, index.size());
+        assertEquals(64, index.capacity());
+        assertEquals(99, index.find(TransactionIndex.hash("PTM-late"), existing -> existing == 99));
+        assertEquals(100, index.find(TransactionIndex.hash("PTM0"), existing -> existing == 100));
+        assertEquals(0, index.find(TransactionIndex.hash("PTM23"), existing -> existing == 24));
+        for (int i = 1; i < 23; i++) {
+            long address = i + 1;
+            assertEquals(address, index.find(TransactionIndex.hash("PTM" + i), existing -> existing == address));
+        }
+    }
+
+    @Test
+    @DisplayName("🚚 A large index migrates a bounded number of slots per put, readable throughout")
+    void shouldMigrateIncrementally() {
+        // Given - 2,048 slots filled to the load limit
+        TransactionIndex index = new TransactionIndex(1_536);
+        for (long address = 1; address <= 1_536; address++) {
+            long own = address;
+            index.put(TransactionIndex.hash("GC" + own), own, existing -> existing == own);
+        }
+
+        // When - One more ID starts the resize
+        index.put(TransactionIndex.hash("GC-late"), 9_999, existing -> false);
+
+        // Then - Only part of the old table was moved, every ID is still found
+        assertTrue(index.migrating());
+        assertEquals(4_096, index.capacity());
+        assertEquals(1_537, index.size());
+        for (long address = 1; address <= 1_536; address++) {
+            long own = address;
+            assertEquals(own, index.find(TransactionIndex.hash("GC" + own), existing -> existing == own));
+        }
+
+        // When - Updates and removals while migrating, then the next put finishes the move
+        for (long address = 1; address <= 1_536; address += 100) {
+            long own = address;
+            index.put(TransactionIndex.hash("GC" + own), own + 100_000, existing -> existing == own);
+        }
+        assertTrue(index.remove(TransactionIndex.hash("GC2"), 2));
+        index.put(TransactionIndex.hash("GC-later"), 10_000, existing -> false);
+
+        // Then - The new table holds the latest of everything
+        assertFalse(index.migrating());
+        assertEquals(1, index.resizes());
+        assertEquals(1_537, index.size());
+        assertEquals(0, index.find(TransactionIndex.hash("GC2"), existing -> existing == 2));
+        for (long address = 1; address <= 1_536; address += 100) {
+            long own = address;
+            assertEquals(own + 100_000, index.find(TransactionIndex.hash("GC" + own), existing -> existing == own + 100_000));
+            assertEquals(0, index.find(TransactionIndex.hash("GC" + own), existing -> existing == own));
+        }
+        assertEquals(3, index.find(TransactionIndex.hash("GC3"), existing -> existing == 3));
+    }
+
+    @Test
+    @DisplayName("🚀 Concurrent writers and readers never lose or mix up an entry")
+    void shouldIndexConcurrently() throws Exception {
+        // Given - 8 writers x 10,000 IDs into an index sized for 1,000, one reader chasing them
+        TransactionIndex index = new TransactionIndex(1_000);
+        ExecutorService threads = Executors.newFixedThreadPool(9);
+        AtomicLong misreads = new AtomicLong();
+
+        // When
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long base = (t + 1) * 1_000_000L;
+            writers.add(threads.submit(() -> {
+                for (long address = base; address < base + 10_000; address++) {
+                    long own = address;
+                    index.put(TransactionIndex.hash("GC" + own), own, existing -> existing == own);
+                }
+            }));
+        }
+        Future<?> reader = threads.submit(() -> {
+            for (long address = 1_000_000L; address < 1_010_000L; address++) {
+                long own = address;
+                long found = index.find(TransactionIndex.hash("GC" + own), existing -> existing == own);
+                if (found != 0 && found != own) {
+                    misreads.incrementAndGet();
+                }
+            }
+        });
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        reader.get();
+        threads.shutdown();
+
+        // Then - Nothing lost across the resizes
+        assertEquals(80_000, index.size());
+        assertEquals(0, misreads.get());
+        assertTrue(index.resizes() > 0);
+        for (int t = 0; t < 8; t++) {
+            for (long own = (t + 1) * 1_000_000L; own < (t + 1) * 1_000_000L + 10_000; own++) {
+                long address = own;
+                assertEquals(own, index.find(TransactionIndex.hash("GC" + own), existing -> existing == address));
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.factory.factorypattern.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 📝 Asynchronous payout event log tests
+ */
+class PayoutEventLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("📝 Events are written by the background writer with recipients masked")
+    void shouldWriteMaskedEvents() throws Exception {
+        // Given
+        Path file = tempDir.resolve("events.log");
+        PayoutEventLog events = new PayoutEventLog(file, 64, 1024 * 1024, 3);
+
+        // When
+        events.log(PayoutEvent.TRANSFER_SUCCEEDED, "GCash Philippines", "GC123", "Juan Dela Cruz",
+                null, new BigDecimal("1000.00"), 0L);
+        events.log(PayoutEvent.VALIDATION_FAILED, "GCash Philippines", "INVALID_PHONE", "+639171234567");
+        events.close();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("TRANSFER_SUCCEEDED provider=\"GCash Philippines\" ref=GC123"));
+        assertTrue(lines.get(0).contains("recipient=J***"));
+        assertTrue(lines.get(0).contains("amount=1000.00"));
+        assertFalse(lines.get(0).contains("Dela Cruz"));
+        assertTrue(lines.get(1).contains("recipient=*********4567"));
+        assertFalse(lines.get(1).contains("9171234567"));
+        assertEquals(2, events.getWrittenCount());
+    }
+
+    @Test
+    @DisplayName("🎭 Masking keeps last four digits of numbers and the initial of names")
+    void shouldMaskRecipientData() {
+        assertEquals("******7890", PayoutEventLog.mask("1234567890"));
+        assertEquals("M***", PayoutEventLog.mask("Maria Santos"));
+        assertEquals("r***", PayoutEventLog.mask("rahul@example.com"));
+        assertEquals("", PayoutEventLog.mask("   "));
+    }
+
+    @Test
+    @DisplayName("🚦 A full ring drops events instead of blocking producers")
+    void shouldAccountForEveryEventUnderContention() throws Exception {
+        // Given
+        PayoutEventLog events = new PayoutEventLog(tempDir.resolve("events.log"), 16, 1024 * 1024, 3);
+        int threads = 8;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    events.log(PayoutEvent.TRANSFER_RECEIVED, null, "mobile_wallet", "Juan");
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        events.close();
+
+        // Then
+        assertEquals(threads * perThread, events.getWrittenCount() + events.getDroppedCount());
+        assertEquals(events.getWrittenCount(), Files.readAllLines(tempDir.resolve("events.log")).size());
+    }
+
+    @Test
+    @DisplayName("🔁 The log file rolls over once it reaches its size limit")
+    void shouldRollLogFiles() throws Exception {
+        // Given
+        Path file = tempDir.resolve("events.log");
+        PayoutEventLog events = new PayoutEventLog(file, 4096, 2_000, 2);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            events.log(PayoutEvent.TRANSFER_STARTED, "Bank Transfer Service", "BT" + i);
+            Thread.onSpinWait();
+        }
+        events.close();
+
+        // Then
+        assertTrue(Files.exists(file.resolveSibling("events.log.1")));
+        assertTrue(Files.exists(file.resolveSibling("events.log.2")));
+        assertFalse(Files.exists(file.resolveSibling("events.log.3")));
+        assertTrue(Files.size(file.resolveSibling("events.log.1")) >= 2_000);
+    }
+
+    @Test
+    @DisplayName("⚡ Logging does not allocate on the request thread")
+    void shouldNotAllocateOnRequestThread() throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        PayoutEventLog events = new PayoutEventLog(tempDir.resolve("events.log"), 1024, 1024 * 1024, 3);
+        BigDecimal amount = new BigDecimal("250.00");
+
+        // Warm up
+        for (int i = 0; i < 100_000; i++) {
+            events.log(PayoutEvent.TRANSFER_SUCCEEDED, "Paytm India", "PTM1", "Rahul", null, amount, i);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            events.log(PayoutEvent.TRANSFER_SUCCEEDED, "Paytm India", "PTM1", "Rahul", null, amount, i);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        events.close();
+
+        assertTrue(allocated < 4_096, "Expected no allocation, measured " + allocated + " bytes");
+    }
+
+    @Test
+    @DisplayName("🔇 The disabled log ignores events")
+    void shouldIgnoreEventsWhenDisabled() {
+        PayoutEventLog events = PayoutEventLog.disabled();
+
+        events.log(PayoutEvent.TRANSFER_RECEIVED, null, "mobile_wallet");
+
+        assertEquals(0, events.getWrittenCount());
+        assertEquals(0, events.getDroppedCount());
+    }
+}
@@ -0,0 +1,81 @@
+package com.factory.factorypattern.metrics;
+
+import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.BankTransferProcessor;
+import com.factory.factorypattern.service.GCashProcessor;
+import com.factory.factorypattern.service.PaytmProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 📊 Micrometer instrumentation tests
+ *
+ * Verifies the meters registered by PayoutMetrics; the overhead they add to
+ * the request path is measured by MetricsBenchmark (-Pbenchmarks).
+ */
+class PayoutMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private GCashProcessor gCashProcessor;
+    private PayoutMethodFactory payoutMethodFactory;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        gCashProcessor = new GCashProcessor();
+        List<PayoutProcessor> processors = List.of(gCashProcessor, new PaytmProcessor(), new BankTransferProcessor());
+        payoutMethodFactory = new PayoutMethodFactory(processors, new PayoutMetrics(registry, processors));
+    }
+
+    @Test
+    @DisplayName("📊 Meters are registered up front for every provider and status")
+    void shouldPreRegisterMeters() {
+        for (PayoutResponse.Status status : PayoutResponse.Status.values()) {
+            assertNotNull(registry.find("payout.transfer")
+                    .tag("provider", "GCash Philippines")
+                    .tag("status", status.name())
+                    .timer());
+        }
+        assertNotNull(registry.find("payout.route.resolutions").tag("result", "hit").counter());
+        assertNotNull(registry.find("payout.route.resolutions").tag("result", "miss").counter());
+    }
+
+    @Test
+    @DisplayName("🎯 Route resolution hits and misses are counted")
+    void shouldCountRouteHitsAndMisses() {
+        payoutMethodFactory.resolve("mobile_wallet", "ph");
+        payoutMethodFactory.resolve("bank_transfer", "np");
+        payoutMethodFactory.resolve("cash_pickup", "ph");
+        payoutMethodFactory.isSupported("mobile_wallet", "mars");
+
+        assertEquals(2.0, registry.get("payout.route.resolutions").tag("result", "hit").counter().count());
+        assertEquals(2.0, registry.get("payout.route.resolutions").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("⏱️ Transfers are timed by provider/status and error codes counted")
+    void shouldRecordTransfersAndErrorCodes() {
+        PayoutResponse success = PayoutResponse.success("GC1", "GCash Philippines", BigDecimal.TEN);
+        PayoutResponse invalid = PayoutResponse.failed("bad phone", "GCash Philippines", "GCASH_VALIDATION_ERROR");
+
+        payoutMethodFactory.recordOutcome(gCashProcessor, 2_000_000, success);
+        payoutMethodFactory.recordOutcome(gCashProcessor, 1_000_000, invalid);
+        payoutMethodFactory.recordOutcome(gCashProcessor, 1_000_000, invalid);
+
+        assertEquals(1, registry.get("payout.transfer")
+                .tag("provider", "GCash Philippines").tag("status", "SUCCESS").timer().count());
+        assertEquals(2, registry.get("payout.transfer")
+                .tag("provider", "GCash Philippines").tag("status", "FAILED").timer().count());
+        assertEquals(2.0, registry.get("payout.errors")
+                .tag("provider", "GCash Philippines").tag("code", "GCASH_VALIDATION_ERROR").counter().count());
+    }
+}
@@ -0,0 +1,84 @@
+package com.factory.factorypattern.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountryTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sri lanka", "Sri Lanka", "sri_lanka", "SRILANKA", "lk", "LK", "lka", "  lk  "})
+    @DisplayName("🇱🇰 Aliases and ISO codes resolve to the same country")
+    void shouldResolveAliasesToSameCountry(String alias) {
+        assertEquals(Country.LK, Country.resolve(alias));
+    }
+
+    @Test
+    @DisplayName("🌍 Names, alpha-2 and alpha-3 codes resolve for every country")
+    void shouldResolveEveryCountryByNameAndCode() {
+        for (Country country : Country.values()) {
+            assertEquals(country, Country.resolve(country.getValue()));
+            assertEquals(country, Country.resolve(country.getAlpha2()));
+            assertEquals(country, Country.resolve(country.getAlpha3().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Unknown, blank and null input resolves to null")
+    void shouldReturnNullForUnknownInput() {
+        assertNull(Country.resolve("japan"));
+        assertNull(Country.resolve("mars"));
+        assertNull(Country.resolve("   "));
+        assertNull(Country.resolve(""));
+        assertNull(Country.resolve(null));
+    }
+
+    @Test
+    @DisplayName("🇹🇷 Resolution does not depend on the default locale")
+    void shouldResolveIndependentlyOfDefaultLocale() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            assertEquals(Country.IN, Country.resolve("INDIA"));
+            assertEquals(Country.IN, Country.resolve("IN"));
+            assertEquals(Country.PH, Country.resolve("PHILIPPINES"));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    @DisplayName("📦 Descriptor arrays resolve to enum sets")
+    void shouldResolveDescriptorArrays() {
+        assertEquals(EnumSet.of(Country.PH, Country.IN),
+                Country.setOf("philippines", "ph", "india", "in", "atlantis"));
+    }
+
+    @Test
+    @DisplayName("⚡ Lookups do not allocate on the hit path")
+    void shouldNotAllocateOnHitPath() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String[] inputs = {"Philippines", " ph ", "INDIA", "sri lanka", "NP"};
+
+        // Warm up
+        for (int i = 0; i < 100_000; i++) {
+            Country.resolve(inputs[i % inputs.length]);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            Country.resolve(inputs[i % inputs.length]);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(allocated < 4_096, "Expected no allocation, measured " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,37 @@
+package com.factory.factorypattern.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayoutMethodTest {
+
+    @Test
+    @DisplayName("💳 Method names resolve regardless of case and whitespace")
+    void shouldResolveMethodNames() {
+        assertEquals(PayoutMethod.MOBILE_WALLET, PayoutMethod.resolve("mobile_wallet"));
+        assertEquals(PayoutMethod.MOBILE_WALLET, PayoutMethod.resolve("  MOBILE_WALLET "));
+        assertEquals(PayoutMethod.WIRE_TRANSFER, PayoutMethod.resolve("Wire_Transfer"));
+        assertEquals(PayoutMethod.CASH_PICKUP, PayoutMethod.resolve("cash_pickup"));
+    }
+
+    @Test
+    @DisplayName("❌ Unknown methods resolve to null but fail fromString")
+    void shouldRejectUnknownMethods() {
+        assertNull(PayoutMethod.resolve("cryptocurrency"));
+        assertNull(PayoutMethod.resolve(null));
+
+        assertEquals(PayoutMethod.BANK_TRANSFER, PayoutMethod.fromString("BANK_TRANSFER"));
+        assertThrows(IllegalArgumentException.class, () -> PayoutMethod.fromString("cryptocurrency"));
+    }
+
+    @Test
+    @DisplayName("📦 Descriptor arrays resolve to enum sets")
+    void shouldResolveDescriptorArrays() {
+        assertEquals(EnumSet.of(PayoutMethod.BANK_TRANSFER, PayoutMethod.WIRE_TRANSFER),
+                PayoutMethod.setOf("bank_transfer", "wire_transfer", "carrier_pigeon"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.factory.factorypattern.reconcile;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🔄 Pending payout reconciliation tests
+ */
+class PendingPayoutReconcilerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    @DisplayName("🔄 Polls due together go to the provider in batched status calls")
+    void shouldBatchDuePolls() {
+        // Given - 5 pending payouts, status calls of at most 2
+        StatusProvider bank = new StatusProvider("Bank");
+        PendingPayoutReconciler reconciler = new PendingPayoutReconciler(List.of(bank), 1_000, 100, 2, clock::get);
+        for (int i = 0; i < 5; i++) {
+            reconciler.track(bank, pending("BT" + i, "Bank"));
+        }
+
+        // When - Not due yet, then due
+        clock.addAndGet(900);
+        reconciler.tick();
+        assertEquals(0, bank.calls.size());
+        clock.addAndGet(100);
+        reconciler.tick();
+
+        // Then - 3 calls (2 + 2 + 1), still pending, polled again one interval later
+        assertEquals(List.of(2, 2, 1), bank.calls.stream().map(List::size).toList());
+        assertEquals(5, reconciler.getStats().get("pending"));
+        clock.addAndGet(1_000);
+        reconciler.tick();
+        assertEquals(6, bank.calls.size());
+    }
+
+    @Test
+    @DisplayName("✅ A final status ends polling; a failed status call retries next round")
+    void shouldSettleAndRetry() {
+        // Given
+        StatusProvider bank = new StatusProvider("Bank");
+        PendingPayoutReconciler reconciler = new PendingPayoutReconciler(List.of(bank), 1_000, 100, 500, clock::get);
+        reconciler.track(bank, pending("BT1", "Bank"));
+        reconciler.track(bank, pending("BT2", "Bank"));
+        reconciler.track(bank, PayoutResponse.success("BT3", "Bank", BigDecimal.TEN));
+
+        // When - The provider is down for the first poll
+        bank.failing = true;
+        clock.addAndGet(1_000);
+        reconciler.tick();
+
+        // Then
+        assertEquals(2, reconciler.getStats().get("pending"));
+        assertEquals(1L, reconciler.getStats().get("statusCallErrors"));
+
+        // When - BT1 settles
+        bank.failing = false;
+        bank.settled.add("BT1");
+        clock.addAndGet(1_000);
+        reconciler.tick();
+
+        // Then - Only BT2 is polled from now on
+        assertEquals(1L, reconciler.getStats().get("settled"));
+        clock.addAndGet(1_000);
+        reconciler.tick();
+        assertEquals(List.of("BT2"), bank.calls.get(bank.calls.size() - 1));
+    }
+
+    @Test
+    @DisplayName("🛑 Cancelled payouts are not polled, and each provider gets its own call")
+    void shouldCancelAndGroupByProvider() {
+        // Given
+        StatusProvider bank = new StatusProvider("Bank");
+        StatusProvider wire = new StatusProvider("Wire");
+        PendingPayoutReconciler reconciler = new PendingPayoutReconciler(List.of(bank, wire), 1_000, 100, 500,
+                clock::get);
+        reconciler.track(bank, pending("BT1", "Bank"));
+        reconciler.track(bank, pending("BT2", "Bank"));
+        reconciler.track(wire, pending("WT1", "Wire"));
+
+        // When
+        assertTrue(reconciler.cancel("BT1"));
+        assertFalse(reconciler.cancel("BT1"));
+        clock.addAndGet(1_000);
+        reconciler.tick();
+
+        // Then
+        assertEquals(List.of(List.of("BT2")), bank.calls);
+        assertEquals(List.of(List.of("WT1")), wire.calls);
+    }
+
+    private static PayoutResponse pending(String transactionId, String provider) {
+        PayoutResponse response = PayoutResponse.success(transactionId, provider, BigDecimal.TEN);
+        response.setStatus(PayoutResponse.Status.PENDING);
+        return response;
+    }
+
+    /**
+     * Provider whose status API answers at once, recording each call's IDs
+     */
+    private static final class StatusProvider implements PayoutProcessor {
+
+        private final String name;
+        private final List<List<String>> calls = new ArrayList<>();
+        private final Set<String> settled = ConcurrentHashMap.newKeySet();
+        private volatile boolean failing;
+
+        private StatusProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public CompletableFuture<List<PayoutResponse>> checkStatusAsync(List<PayoutResponse> pending) {
+            calls.add(pending.stream().map(PayoutResponse::getTransactionId).toList());
+            if (failing) {
+                return CompletableFuture.failedFuture(new IllegalStateException("status API down"));
+            }
+            return CompletableFuture.completedFuture(pending.stream()
+                    .map(response -> settled.contains(response.getTransactionId())
+                            ? PayoutResponse.success(response.getTransactionId(), name, response.getAmount())
+                            : response)
+                    .toList());
+        }
+
+        @Override
+        public PayoutResponse processTransfer(PayoutRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isSupported(String country, String method) {
+            return false;
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+    }
+}
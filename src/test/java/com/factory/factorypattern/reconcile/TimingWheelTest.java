@@ -0,0 +1,90 @@
+package com.factory.factorypattern.reconcile;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ⏲️ Hierarchical timing wheel tests
+ */
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("⏲️ Timeouts fire on the tick that reaches them, never before")
+    void shouldFireWhenDue() {
+        // Given - 10ms ticks
+        TimingWheel<String> wheel = new TimingWheel<>(10, START);
+        wheel.schedule("soon", START + 25);
+        wheel.schedule("later", START + 700);
+        List<String> fired = new ArrayList<>();
+
+        // When & Then
+        assertEquals(0, wheel.advance(START + 20, fired::add));
+        assertEquals(1, wheel.advance(START + 30, fired::add));
+        assertEquals(List.of("soon"), fired);
+        assertEquals(0, wheel.advance(START + 690, fired::add));
+        assertEquals(1, wheel.advance(START + 700, fired::add));
+        assertEquals(List.of("soon", "later"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("🌀 Far-off timeouts cascade down every level and fire on time")
+    void shouldCascadeAcrossLevels() {
+        // Given - 1ms ticks, deadlines from 1 tick to beyond the wheel's 64^4 range
+        TimingWheel<Long> wheel = new TimingWheel<>(1, START);
+        Random random = new Random(42);
+        List<Long> delays = new ArrayList<>(List.of(1L, 63L, 64L, 65L, 4_095L, 4_096L, 262_144L, 20_000_000L));
+        for (int i = 0; i < 2_000; i++) {
+            delays.add(1 + (long) random.nextInt(1 << 22));
+        }
+        delays.forEach(delay -> wheel.schedule(delay, START + delay));
+
+        // When - Turn the wheel in uneven steps, noting the time each one fired
+        List<long[]> fired = new ArrayList<>();
+        long now = START;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(5_000);
+            long at = now;
+            wheel.advance(now, delay -> fired.add(new long[]{delay, at}));
+        }
+
+        // Then - Each fired in the step that passed its deadline
+        assertEquals(delays.size(), fired.size());
+        for (long[] firing : fired) {
+            long due = START + firing[0];
+            assertTrue(firing[1] >= due, "fired early: " + firing[0]);
+            assertTrue(firing[1] - due < 5_000, "fired late: " + firing[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("🛑 Cancelled timeouts never fire")
+    void shouldNotFireCancelled() {
+        // Given - Two timeouts already in their slots
+        TimingWheel<String> wheel = new TimingWheel<>(10, START);
+        TimingWheel.Timeout<String> linked = wheel.schedule("linked", START + 5_000);
+        TimingWheel.Timeout<String> kept = wheel.schedule("kept", START + 5_000);
+        wheel.advance(START + 10, item -> fail("nothing is due yet"));
+
+        // When - One cancelled in its slot, one before the wheel took it in
+        assertTrue(linked.cancel());
+        assertFalse(linked.cancel());
+        TimingWheel.Timeout<String> queued = wheel.schedule("queued", START + 50);
+        assertTrue(queued.cancel());
+
+        // Then
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 10_000, fired::add);
+        assertEquals(List.of("kept"), fired);
+        assertEquals(0, wheel.size());
+        assertFalse(kept.cancel());
+    }
+}
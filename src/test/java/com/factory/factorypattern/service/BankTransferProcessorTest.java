@@ -1,5 +1,6 @@
 package com.factory.factorypattern.service;
 
+import com.factory.factorypattern.model.Deadline;
 import com.factory.factorypattern.model.PayoutRequest;
 import com.factory.factorypattern.model.PayoutResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,7 +38,7 @@ class BankTransferProcessorTest {
     // 🏦 SUCCESSFUL PROCESSING TESTS
 
     @Test
-    @DisplayName("🏦 Bank Transfer processes valid request successfully")
+    @DisplayName("🏦 Bank Transfer accepts a valid request as PENDING until it settles")
     void shouldProcessValidBankTransferRequest() {
         // Given
         PayoutRequest request = createValidBankTransferRequest();
@@ -43,7 +47,7 @@ class BankTransferProcessorTest {
         PayoutResponse response = bankTransferProcessor.processTransfer(request);
 
         // Then
-        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response.getStatus());
         assertEquals("International Bank Transfer", response.getProviderName());
         assertTrue(response.getTransactionId().startsWith("BT"));
         assertEquals(request.getAmount(), response.getAmount());
@@ -63,7 +67,7 @@ class BankTransferProcessorTest {
         PayoutResponse response = bankTransferProcessor.processTransfer(request);
 
         // Then
-        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response.getStatus());
         assertEquals("International Bank Transfer", response.getProviderName());
         assertTrue(response.getTransactionId().startsWith("BT"));
     }
@@ -80,7 +84,7 @@ class BankTransferProcessorTest {
         PayoutResponse response = bankTransferProcessor.processTransfer(request);
 
         // Then
-        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response.getStatus());
         assertEquals("International Bank Transfer", response.getProviderName());
     }
 
@@ -175,7 +179,7 @@ class BankTransferProcessorTest {
         PayoutResponse response = bankTransferProcessor.processTransfer(request);
 
         // Then
-        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response.getStatus());
         assertEquals(new BigDecimal("10.00"), response.getAmount());
     }
 
@@ -205,7 +209,7 @@ class BankTransferProcessorTest {
         PayoutResponse response = bankTransferProcessor.processTransfer(request);
 
         // Then
-        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response.getStatus());
         assertEquals(new BigDecimal("500000"), response.getAmount());
     }
 
@@ -221,7 +225,7 @@ class BankTransferProcessorTest {
         PayoutResponse response = bankTransferProcessor.processTransfer(request);
 
         // Then
-        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response.getStatus());
         assertEquals(new BigDecimal(amountStr), response.getAmount());
     }
 
@@ -332,9 +336,9 @@ class BankTransferProcessorTest {
         PayoutResponse response3 = bankTransferProcessor.processTransfer(request);
 
         // All should be successful
-        assertEquals(PayoutResponse.Status.SUCCESS, response1.getStatus());
-        assertEquals(PayoutResponse.Status.SUCCESS, response2.getStatus());
-        assertEquals(PayoutResponse.Status.SUCCESS, response3.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response1.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response2.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response3.getStatus());
 
         // Transaction IDs should be unique
         assertNotEquals(response1.getTransactionId(), response2.getTransactionId());
@@ -366,7 +370,7 @@ class BankTransferProcessorTest {
         long endTime = System.currentTimeMillis();
 
         // Then
-        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertEquals(PayoutResponse.Status.PENDING, response.getStatus());
 
         // Should take at least 1 second (1000ms) due to Thread.sleep(1500)
         long processingTime = endTime - startTime;
@@ -376,8 +380,80 @@ class BankTransferProcessorTest {
         assertTrue(processingTime < 3000, "Processing should not take more than 3 seconds, took: " + processingTime + "ms");
     }
 
+    @Test
+    @DisplayName("🏦 Bank async transfer releases the caller before the provider answers")
+    void shouldProcessTransferAsynchronously() {
+        // Given
+        PayoutRequest request = createValidBankTransferRequest();
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<PayoutResponse> future = bankTransferProcessor.processTransferAsync(request);
+        long callMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - The call returns immediately, the response arrives after the simulated delay
+        assertTrue(callMillis < 750, "Async call blocked for " + callMillis + "ms");
+        assertFalse(future.isDone());
+
+        PayoutResponse response = future.join();
+        assertEquals(PayoutResponse.Status.PENDING, response.getStatus());
+        assertTrue(response.getTransactionId().startsWith("BT"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 1450);
+    }
+
+    @Test
+    @DisplayName("⏳ Bank Transfer gives up at the request deadline with TIMEOUT")
+    void shouldTimeOutAtDeadline() {
+        // Given - 100ms left for a call that takes 1.5s
+        PayoutRequest request = createValidBankTransferRequest();
+        request.setDeadline(Deadline.afterMillis(100));
+
+        // When
+        long start = System.nanoTime();
+        PayoutResponse response = bankTransferProcessor.processTransfer(request);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertEquals(PayoutResponse.Status.TIMEOUT, response.getStatus());
+        assertEquals("DEADLINE_EXCEEDED", response.getErrorCode());
+        assertTrue(elapsedMillis < 750, "Timed out after " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("🔄 One status call answers many transfers; settled ones come back SUCCESS")
+    void shouldCheckStatusInOneCall() {
+        // Given - A transfer issued a minute ago, one just now, and an ID the bank never issued
+        PayoutResponse old = pending(new TransactionIdGenerator(0, () -> System.currentTimeMillis() - 60_000)
+                .next(TransactionIdGenerator.Provider.BANK_TRANSFER));
+        PayoutResponse fresh = pending(TransactionIdGenerator.local().next(TransactionIdGenerator.Provider.BANK_TRANSFER));
+        PayoutResponse foreign = pending("GC1712345678901ABCDEF12");
+
+        // When
+        long start = System.nanoTime();
+        List<PayoutResponse> statuses = bankTransferProcessor.checkStatusAsync(List.of(old, fresh, foreign)).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - One ~300ms round trip for all three
+        assertTrue(elapsedMillis < 900, "Status call took " + elapsedMillis + "ms");
+        assertEquals(PayoutResponse.Status.SUCCESS, statuses.get(0).getStatus());
+        assertEquals(old.getTransactionId(), statuses.get(0).getTransactionId());
+        assertEquals(new BigDecimal("10000"), statuses.get(0).getAmount());
+        assertEquals(PayoutResponse.Status.PENDING, statuses.get(1).getStatus());
+        assertEquals("BANK_UNKNOWN_TRANSACTION", statuses.get(2).getErrorCode());
+    }
+
     // 🔧 HELPER METHODS
 
+    /**
+     * A transfer the bank answered PENDING
+     */
+    private static PayoutResponse pending(String transactionId) {
+        PayoutResponse response = PayoutResponse.success(transactionId, "International Bank Transfer",
+                new BigDecimal("10000"));
+        response.setStatus(PayoutResponse.Status.PENDING);
+        return response;
+    }
+
     /**
      * Creates a valid bank transfer request for testing
      */
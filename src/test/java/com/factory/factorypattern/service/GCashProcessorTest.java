@@ -1,5 +1,6 @@
 package com.factory.factorypattern.service;
 
+import com.factory.factorypattern.model.Deadline;
 import com.factory.factorypattern.model.PayoutRequest;
 import com.factory.factorypattern.model.PayoutResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -208,6 +213,72 @@ class GCashProcessorTest {
         assertTrue(response3.getTransactionId().startsWith("GC"));
     }
 
+    @Test
+    @DisplayName("🇵🇭 GCash async transfer releases the caller before the provider answers")
+    void shouldProcessTransferAsynchronously() {
+        // Given
+        PayoutRequest request = createValidGCashRequest();
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<PayoutResponse> future = gCashProcessor.processTransferAsync(request);
+        long callMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - The call returns immediately, the response arrives after the simulated delay
+        assertTrue(callMillis < 500, "Async call blocked for " + callMillis + "ms");
+        assertFalse(future.isDone());
+
+        PayoutResponse response = future.join();
+        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertTrue(response.getTransactionId().startsWith("GC"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 950);
+    }
+
+    @Test
+    @DisplayName("📦 GCash bulk call answers every item in one round trip, in request order")
+    void shouldProcessBatchInOneRoundTrip() {
+        // Given - 20 valid requests and one with a bad phone in the middle
+        List<PayoutRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(createValidGCashRequest());
+        }
+        PayoutRequest badPhone = createValidGCashRequest();
+        badPhone.setRecipientPhone("12345");
+        requests.add(10, badPhone);
+
+        // When
+        long start = System.nanoTime();
+        List<PayoutResponse> responses = gCashProcessor.processBatch(requests);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - One simulated delay for the whole batch, not one per item
+        assertEquals(21, responses.size());
+        assertEquals("GCASH_VALIDATION_ERROR", responses.get(10).getErrorCode());
+        assertEquals(20, responses.stream().filter(response -> response.getStatus() == PayoutResponse.Status.SUCCESS).count());
+        assertEquals(20, responses.stream().map(PayoutResponse::getTransactionId).filter(id -> id != null).distinct().count());
+        assertTrue(elapsedMillis < 3_000, "Batch took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("⌛ GCash bulk call is cut short at the earliest deadline and pays nobody")
+    void shouldBoundBatchByEarliestDeadline() {
+        // Given - The provider needs 1s; one item only has 200ms, the other 5s
+        PayoutRequest hurried = createValidGCashRequest();
+        hurried.setDeadline(Deadline.afterMillis(200));
+        PayoutRequest patient = createValidGCashRequest();
+        patient.setDeadline(Deadline.afterMillis(5_000));
+
+        // When
+        long start = System.nanoTime();
+        List<PayoutResponse> responses = gCashProcessor.processBatch(List.of(hurried, patient));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - Answered at the first deadline, and no item was sent on past it
+        assertTrue(responses.stream().allMatch(response -> response.getStatus() == PayoutResponse.Status.TIMEOUT));
+        assertTrue(responses.stream().allMatch(response -> response.getTransactionId() == null));
+        assertTrue(elapsedMillis < 900, "Batch took " + elapsedMillis + "ms");
+    }
+
     // Helper method to create valid GCash request
     private PayoutRequest createValidGCashRequest() {
         PayoutRequest request = new PayoutRequest();
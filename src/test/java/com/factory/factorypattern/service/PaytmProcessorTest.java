@@ -8,6 +8,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -106,6 +108,27 @@ class PaytmProcessorTest {
         assertTrue(hasMobileWallet, "Should support mobile_wallet");
     }
 
+    @Test
+    @DisplayName("🇮🇳 Paytm async transfer releases the caller before the provider answers")
+    void shouldProcessTransferAsynchronously() {
+        // Given
+        PayoutRequest request = createValidPaytmRequest();
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<PayoutResponse> future = paytmProcessor.processTransferAsync(request);
+        long callMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - The call returns immediately, the response arrives after the simulated delay
+        assertTrue(callMillis < 400, "Async call blocked for " + callMillis + "ms");
+        assertFalse(future.isDone());
+
+        PayoutResponse response = future.join();
+        assertEquals(PayoutResponse.Status.SUCCESS, response.getStatus());
+        assertTrue(response.getTransactionId().startsWith("PTM"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 750);
+    }
+
     // 🔧 Helper method
     private PayoutRequest createValidPaytmRequest() {
         PayoutRequest request = new PayoutRequest();
@@ -0,0 +1,120 @@
+package com.factory.factorypattern.service;
+
+import com.factory.factorypattern.service.TransactionIdGenerator.Provider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🆔 Transaction ID generator tests
+ */
+class TransactionIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T10:15:30.123Z").toEpochMilli();
+
+    @Test
+    @DisplayName("🆔 IDs keep the provider prefix and decode to provider, node and timestamp")
+    void shouldDecodeGeneratedIds() {
+        // Given
+        TransactionIdGenerator generator = new TransactionIdGenerator(42, () -> NOW);
+
+        // When
+        String gcash = generator.next(Provider.GCASH);
+        String paytm = generator.next(Provider.PAYTM);
+        String bank = generator.next(Provider.BANK_TRANSFER);
+
+        // Then
+        assertTrue(gcash.startsWith("GC"));
+        assertTrue(paytm.startsWith("PTM"));
+        assertTrue(bank.startsWith("BT"));
+        TransactionIdGenerator.Decoded decoded = TransactionIdGenerator.decode(paytm);
+        assertEquals(Provider.PAYTM, decoded.provider());
+        assertEquals(42, decoded.nodeId());
+        assertEquals(Instant.ofEpochMilli(NOW), decoded.timestamp());
+        assertEquals(Provider.BANK_TRANSFER, TransactionIdGenerator.decode(bank).provider());
+    }
+
+    @Test
+    @DisplayName("❓ Foreign or tampered IDs do not decode")
+    void shouldRejectForeignIds() {
+        // Given
+        String id = new TransactionIdGenerator(1, () -> NOW).next(Provider.GCASH);
+
+        // Then
+        assertNull(TransactionIdGenerator.decode(null));
+        assertNull(TransactionIdGenerator.decode("GC1712345678901ABCDEF12"));
+        assertNull(TransactionIdGenerator.decode("BT" + id.substring(2)));
+        assertNull(TransactionIdGenerator.decode(id.substring(0, id.length() - 1) + "U"));
+        assertNull(TransactionIdGenerator.decode("GCZ" + id.substring(3)));
+    }
+
+    @Test
+    @DisplayName("⏪ A clock stepping back or a full millisecond never repeats or reorders IDs")
+    void shouldStayMonotonic() {
+        // Given - The clock jumps back a second half-way through
+        AtomicLong clock = new AtomicLong(NOW);
+        TransactionIdGenerator generator = new TransactionIdGenerator(0, clock::get);
+
+        // When - 3,000 IDs: more than one millisecond's sequence space
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            if (i == 1_500) {
+                clock.addAndGet(-1_000);
+            }
+            ids.add(generator.next(Provider.GCASH));
+        }
+
+        // Then - Text order is generation order; the overflow borrowed later milliseconds
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " !< " + ids.get(i));
+        }
+        assertEquals(Instant.ofEpochMilli(NOW + 2), TransactionIdGenerator.decode(ids.get(2_999)).timestamp());
+        assertEquals(951, TransactionIdGenerator.decode(ids.get(2_999)).sequence());
+    }
+
+    @Test
+    @DisplayName("🚀 Concurrent callers on two nodes never get the same ID")
+    void shouldBeUniqueAcrossThreadsAndNodes() throws Exception {
+        // Given - Two nodes sharing a frozen clock, so only node and sequence tell IDs apart
+        List<TransactionIdGenerator> nodes = List.of(
+                new TransactionIdGenerator(1, () -> NOW), new TransactionIdGenerator(2, () -> NOW));
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+
+        // When - 8 threads x 5,000 IDs
+        List<Future<List<String>>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            TransactionIdGenerator generator = nodes.get(t % 2);
+            workers.add(threads.submit(() -> {
+                List<String> mine = new ArrayList<>();
+                for (int i = 0; i < 5_000; i++) {
+                    mine.add(generator.next(Provider.BANK_TRANSFER));
+                }
+                return mine;
+            }));
+        }
+        Set<String> unique = new HashSet<>();
+        for (Future<List<String>> worker : workers) {
+            List<String> mine = worker.get();
+            // Each thread sees its own IDs increase
+            for (int i = 1; i < mine.size(); i++) {
+                assertTrue(mine.get(i - 1).compareTo(mine.get(i)) < 0);
+            }
+            unique.addAll(mine);
+        }
+        threads.shutdown();
+
+        // Then
+        assertEquals(40_000, unique.size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.factory.factorypattern.config;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.PaytmProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧵 Load test: platform-thread pool vs virtual threads (mvn -Pjava21 verify)
+ *
+ * Every payout makes the blocking processTransfer call, i.e. the worst case
+ * for a thread-per-request server. The platform pool is sized like Tomcat's
+ * default (200 threads).
+ */
+class VirtualThreadLoadIT {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final int PAYOUTS = 2_000;
+    private static final int IN_FLIGHT = 20_000;
+
+    private final PayoutProcessor processor = new PaytmProcessor();
+    private final PayoutRequest request = createPaytmRequest();
+
+    @Test
+    @DisplayName("🧵 Virtual threads outperform the platform pool on blocking payouts")
+    void shouldOutperformPlatformPool() throws Exception {
+        // When
+        Run platform = run("platform", Executors.newFixedThreadPool(PLATFORM_POOL_SIZE));
+        Run virtual = run("virtual", Executors.newVirtualThreadPerTaskExecutor());
+
+        // Then
+        System.out.printf("%-9s %10s %12s %12s%n", "mode", "payouts/s", "heap MB", "peak threads");
+        for (Run run : List.of(platform, virtual)) {
+            System.out.printf("%-9s %10.0f %12.1f %12d%n",
+                    run.mode, run.throughput, run.heapBytes / 1_048_576.0, run.peakThreads);
+        }
+        assertTrue(virtual.throughput > platform.throughput * 3,
+                "Virtual " + virtual.throughput + "/s vs platform " + platform.throughput + "/s");
+        assertTrue(virtual.peakThreads < platform.peakThreads);
+    }
+
+    @Test
+    @DisplayName("🪶 Tens of thousands of in-flight payouts cost little heap each")
+    void shouldKeepInFlightPayoutsCheap() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeapAfterGc(memory);
+
+        // When - Every payout parks a virtual thread for the simulated provider delay
+        List<Future<PayoutResponse>> inFlight = new ArrayList<>(IN_FLIGHT);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < IN_FLIGHT; i++) {
+                inFlight.add(executor.submit(() -> processor.processTransfer(request)));
+            }
+            long perPayout = (usedHeapAfterGc(memory) - before) / IN_FLIGHT;
+            System.out.println("🪶 Heap per in-flight payout: " + perPayout + " bytes");
+
+            // Then
+            assertTrue(perPayout < 32 * 1024, "Heap per in-flight payout: " + perPayout + " bytes");
+            for (Future<PayoutResponse> payout : inFlight) {
+                assertEquals(PayoutResponse.Status.SUCCESS, payout.get(30, TimeUnit.SECONDS).getStatus());
+            }
+        }
+    }
+
+    private Run run(String mode, ExecutorService executor) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+        long heapBefore = usedHeapAfterGc(memory);
+
+        long start = System.nanoTime();
+        List<Future<PayoutResponse>> payouts = new ArrayList<>(PAYOUTS);
+        for (int i = 0; i < PAYOUTS; i++) {
+            payouts.add(executor.submit(() -> processor.processTransfer(request)));
+        }
+        long heapInFlight = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+        for (Future<PayoutResponse> payout : payouts) {
+            assertEquals(PayoutResponse.Status.SUCCESS, payout.get(60, TimeUnit.SECONDS).getStatus());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        return new Run(mode, PAYOUTS / seconds, heapInFlight,
+                ManagementFactory.getThreadMXBean().getPeakThreadCount());
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static PayoutRequest createPaytmRequest() {
+        PayoutRequest request = new PayoutRequest();
+        request.setPayoutMethod("mobile_wallet");
+        request.setDestinationCountry("india");
+        request.setAmount(new BigDecimal("1000"));
+        request.setCurrency("INR");
+        request.setRecipientName("Load Test");
+        request.setRecipientPhone("+919876543210");
+        return request;
+    }
+
+    private record Run(String mode, double throughput, long heapBytes, int peakThreads) {}
+}
@@ -0,0 +1,82 @@
+package com.factory.factorypattern.reactive;
+
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.GCashProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🔌 Mono adapter tests
+ */
+class ReactiveProcessorsTest {
+
+    @Test
+    @DisplayName("⏱️ Async processors are adapted without blocking the subscriber")
+    void shouldAdaptAsyncProcessorWithoutBlocking() {
+        // Given
+        PayoutRequest request = createGCashRequest();
+
+        // When
+        long start = System.nanoTime();
+        Mono<PayoutResponse> mono = ReactiveProcessors.processTransfer(new GCashProcessor(), request);
+        AtomicReference<PayoutResponse> result = new AtomicReference<>();
+        mono.subscribe(result::set);
+        long subscribeMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then - Subscribing returns at once, the response arrives later
+        assertTrue(subscribeMillis < 500, "Subscribe blocked for " + subscribeMillis + "ms");
+        assertNull(result.get());
+        assertEquals(PayoutResponse.Status.SUCCESS, mono.block().getStatus());
+    }
+
+    @Test
+    @DisplayName("🧱 Blocking-only processors run off the subscribing thread")
+    void shouldMoveBlockingProcessorOffCallerThread() {
+        // Given - A processor with only the blocking processTransfer
+        AtomicReference<Thread> processingThread = new AtomicReference<>();
+        PayoutProcessor blocking = new PayoutProcessor() {
+            @Override
+            public PayoutResponse processTransfer(PayoutRequest request) {
+                processingThread.set(Thread.currentThread());
+                return PayoutResponse.success("BLK1", "Blocking Provider", request.getAmount());
+            }
+
+            @Override
+            public boolean isSupported(String country, String method) {
+                return true;
+            }
+
+            @Override
+            public String getProviderName() {
+                return "Blocking Provider";
+            }
+        };
+
+        // When
+        PayoutResponse response = ReactiveProcessors.processTransfer(blocking, createGCashRequest()).block();
+
+        // Then
+        assertEquals("BLK1", response.getTransactionId());
+        assertNotSame(Thread.currentThread(), processingThread.get());
+        assertTrue(processingThread.get().getName().startsWith("boundedElastic"));
+    }
+
+    private PayoutRequest createGCashRequest() {
+        PayoutRequest request = new PayoutRequest();
+        request.setPayoutMethod("mobile_wallet");
+        request.setDestinationCountry("philippines");
+        request.setAmount(new BigDecimal("1000"));
+        request.setCurrency("PHP");
+        request.setRecipientName("Test User");
+        request.setRecipientPhone("+639123456789");
+        return request;
+    }
+}
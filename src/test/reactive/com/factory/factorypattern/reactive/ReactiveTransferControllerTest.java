@@ -0,0 +1,187 @@
+package com.factory.factorypattern.reactive;
+
+import com.factory.factorypattern.dispatch.PayoutDispatcher;
+import com.factory.factorypattern.factory.PayoutMethodFactory;
+import com.factory.factorypattern.factory.RouteResolution;
+import com.factory.factorypattern.model.Country;
+import com.factory.factorypattern.model.PayoutMethod;
+import com.factory.factorypattern.model.PayoutProcessor;
+import com.factory.factorypattern.model.PayoutRequest;
+import com.factory.factorypattern.model.PayoutResponse;
+import com.factory.factorypattern.service.TransactionIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 🎯 Reactive controller tests (mvn -Preactive test)
+ */
+@WebFluxTest(ReactiveTransferController.class)
+class ReactiveTransferControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private PayoutMethodFactory payoutMethodFactory;
+
+    private PayoutProcessor mockProcessor;
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        public PayoutDispatcher payoutDispatcher(PayoutMethodFactory payoutMethodFactory) {
+            return new PayoutDispatcher(payoutMethodFactory, 8);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockProcessor = mock(PayoutProcessor.class);
+    }
+
+    @Test
+    @DisplayName("🎯 Reactive controller processes transfer through the factory")
+    void shouldProcessTransfer() {
+        // Given
+        PayoutRequest request = createValidRequest();
+        PayoutResponse response = PayoutResponse.success("GC123", "GCash Philippines", request.getAmount());
+        when(payoutMethodFactory.resolve(anyString(), anyString()))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        // When & Then
+        webTestClient.post().uri("/api/transfer/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("SUCCESS")
+                .jsonPath("$.transactionId").isEqualTo("GC123")
+                .jsonPath("$.providerName").isEqualTo("GCash Philippines");
+
+        verify(payoutMethodFactory).recordOutcome(eq(mockProcessor), anyLong(), eq(response));
+    }
+
+    @Test
+    @DisplayName("❌ Reactive controller rejects unsupported combinations")
+    void shouldRejectUnsupportedCombination() {
+        // Given
+        PayoutRequest request = createValidRequest();
+        request.setDestinationCountry("mars");
+        when(payoutMethodFactory.resolve(anyString(), anyString())).thenReturn(RouteResolution.UNKNOWN_COUNTRY);
+
+        // When & Then
+        webTestClient.post().uri("/api/transfer/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("FAILED")
+                .jsonPath("$.errorCode").isEqualTo("UNSUPPORTED_COMBINATION")
+                .jsonPath("$.message").isEqualTo("Unknown destination country");
+    }
+
+    @Test
+    @DisplayName("💥 Reactive controller maps processor errors to INTERNAL_ERROR")
+    void shouldMapProcessorErrors() {
+        // Given
+        when(payoutMethodFactory.resolve(anyString(), anyString()))
+                .thenReturn(RouteResolution.resolved(PayoutMethod.MOBILE_WALLET, Country.PH, mockProcessor));
+        when(mockProcessor.processTransferAsync(any(PayoutRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+
+        // When & Then
+        webTestClient.post().uri("/api/transfer/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createValidRequest())
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("INTERNAL_ERROR");
+    }
+
+    @Test
+    @DisplayName("🛡️ Reactive controller validates request parameters")
+    void shouldValidateRequestParameters() {
+        webTestClient.post().uri("/api/transfer/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PayoutRequest())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(payoutMethodFactory);
+    }
+
+    @Test
+    @DisplayName("🔎 Reactive controller answers 404 for unknown transactions, 400 for paths that are not IDs")
+    void shouldAnswerNotFoundForUnknownTransaction() {
+        webTestClient.get().uri("/api/transfer/" + TransactionIdGenerator.local().next(TransactionIdGenerator.Provider.GCASH))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("TRANSACTION_NOT_FOUND");
+
+        webTestClient.get().uri("/api/transfer/GC404")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("INVALID_TRANSACTION_ID");
+    }
+
+    @Test
+    @DisplayName("✅ Reactive controller validates combinations")
+    void shouldValidateCombination() {
+        when(payoutMethodFactory.isSupported("mobile_wallet", "philippines")).thenReturn(true);
+
+        webTestClient.get().uri("/api/transfer/validate?method=mobile_wallet&country=philippines")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.supported").isEqualTo(true)
+                .jsonPath("$.message").isEqualTo("Combination is supported");
+    }
+
+    @Test
+    @DisplayName("🔍 Reactive controller exposes supported methods")
+    void shouldExposeSupportedMethods() {
+        when(payoutMethodFactory.getSupportedCombinations())
+                .thenReturn(Map.of("mobile_wallet_philippines", "GCash Philippines"));
+
+        webTestClient.get().uri("/api/transfer/supported-methods")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.mobile_wallet_philippines").isEqualTo("GCash Philippines");
+    }
+
+    private PayoutRequest createValidRequest() {
+        PayoutRequest request = new PayoutRequest();
+        request.setPayoutMethod("mobile_wallet");
+        request.setDestinationCountry("philippines");
+        request.setAmount(new BigDecimal("1000"));
+        request.setCurrency("PHP");
+        request.setRecipientName("Test User");
+        request.setRecipientPhone("+639123456789");
+        return request;
+    }
+}